@@ -0,0 +1,132 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.advisor;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.service.LlmMetrics;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records latency, time to first token and token usage of every chat model call.
+ * The latency is what the endpoint sees, including waiting for a provider permit and any fallback
+ * attempt; per-model attempts are timed by {@link in.connectwithsandeepan.interviewgenius.aiservice.service.RoutedChatModel}.
+ * The endpoint comes from the {@link LlmMetrics#ENDPOINT} advisor parameter.
+ */
+public class LlmMetricsAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String OTHER_ENDPOINT = "other";
+
+    private final LlmMetrics llmMetrics;
+
+    public LlmMetricsAdvisor(LlmMetrics llmMetrics) {
+        this.llmMetrics = llmMetrics;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        String endpoint = endpoint(request);
+        long start = System.nanoTime();
+        try {
+            ChatClientResponse response = chain.nextCall(request);
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            String model = model(request, response.chatResponse());
+            llmMetrics.recordCall(endpoint, model, false, LlmMetrics.OUTCOME_SUCCESS, latency);
+            llmMetrics.recordUsage(endpoint, model, usage(response.chatResponse()), latency);
+            return response;
+        } catch (RuntimeException e) {
+            llmMetrics.recordCall(endpoint, model(request, null), false, LlmMetrics.OUTCOME_ERROR,
+                    Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        return Flux.defer(() -> {
+            String endpoint = endpoint(request);
+            long start = System.nanoTime();
+            AtomicLong firstChunkNanos = new AtomicLong();
+            AtomicReference<String> model = new AtomicReference<>(model(request, null));
+            AtomicReference<Usage> usage = new AtomicReference<>();
+
+            return chain.nextStream(request)
+                    .doOnNext(response -> {
+                        ChatResponse chatResponse = response.chatResponse();
+                        String responseModel = model(request, chatResponse);
+                        if (responseModel != null) {
+                            model.set(responseModel);
+                        }
+                        if (firstChunkNanos.compareAndSet(0, System.nanoTime())) {
+                            llmMetrics.recordTimeToFirstToken(endpoint, model.get(), Duration.ofNanos(firstChunkNanos.get() - start));
+                        }
+                        Usage chunkUsage = usage(chatResponse);
+                        if (chunkUsage != null && chunkUsage.getTotalTokens() != null && chunkUsage.getTotalTokens() > 0) {
+                            usage.set(chunkUsage);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        long end = System.nanoTime();
+                        String outcome = switch (signal) {
+                            case ON_COMPLETE -> LlmMetrics.OUTCOME_SUCCESS;
+                            case CANCEL -> LlmMetrics.OUTCOME_CANCELLED;
+                            default -> LlmMetrics.OUTCOME_ERROR;
+                        };
+                        llmMetrics.recordCall(endpoint, model.get(), true, outcome, Duration.ofNanos(end - start));
+                        if (signal == SignalType.ON_COMPLETE) {
+                            long generationStart = firstChunkNanos.get() == 0 ? start : firstChunkNanos.get();
+                            llmMetrics.recordUsage(endpoint, model.get(), usage.get(), Duration.ofNanos(end - generationStart));
+                        }
+                    });
+        });
+    }
+
+    private String endpoint(ChatClientRequest request) {
+        Object endpoint = request.context().get(LlmMetrics.ENDPOINT);
+        return endpoint == null ? OTHER_ENDPOINT : endpoint.toString();
+    }
+
+    /**
+     * The model reported by the provider, falling back to the one requested
+     */
+    private String model(ChatClientRequest request, ChatResponse response) {
+        if (response != null && response.getMetadata() != null) {
+            String model = response.getMetadata().getModel();
+            if (model != null && !model.isBlank()) {
+                return model;
+            }
+        }
+        ChatOptions options = request.prompt().getOptions();
+        return options == null ? null : options.getModel();
+    }
+
+    private Usage usage(ChatResponse response) {
+        if (response == null) {
+            return null;
+        }
+        ChatResponseMetadata metadata = response.getMetadata();
+        return metadata == null ? null : metadata.getUsage();
+    }
+
+    @Override
+    public String getName() {
+        return "LlmMetricsAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 50;
+    }
+}
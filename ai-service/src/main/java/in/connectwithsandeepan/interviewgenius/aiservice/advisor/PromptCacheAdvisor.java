@@ -0,0 +1,47 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.advisor;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AnthropicPromptCache;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.LlmMetrics;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+/**
+ * Requests Anthropic prompt caching for every call made through the chat client it is added to.
+ * The breakpoints themselves are added to the outgoing request by {@link AnthropicPromptCache}.
+ */
+public class PromptCacheAdvisor implements CallAdvisor, StreamAdvisor {
+
+    private static final String OTHER_ENDPOINT = "other";
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        return AnthropicPromptCache.cached(endpoint(request), () -> chain.nextCall(request));
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        return chain.nextStream(request)
+                .contextWrite(AnthropicPromptCache.cachedContext(endpoint(request)));
+    }
+
+    private String endpoint(ChatClientRequest request) {
+        Object endpoint = request.context().get(LlmMetrics.ENDPOINT);
+        return endpoint == null ? OTHER_ENDPOINT : endpoint.toString();
+    }
+
+    @Override
+    public String getName() {
+        return "PromptCacheAdvisor";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 100;
+    }
+}
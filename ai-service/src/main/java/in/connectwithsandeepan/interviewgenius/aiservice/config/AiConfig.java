@@ -1,15 +1,23 @@
 package in.connectwithsandeepan.interviewgenius.aiservice.config;
 
+import in.connectwithsandeepan.interviewgenius.aiservice.advisor.LlmMetricsAdvisor;
+import in.connectwithsandeepan.interviewgenius.aiservice.advisor.PromptCacheAdvisor;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.WriteBehindChatMemoryRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.LlmMetrics;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.ModelRouter;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.SummarizingChatMemory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
 import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
-import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @RequiredArgsConstructor
@@ -18,35 +26,83 @@ public class AiConfig {
 
     private final JdbcChatMemoryRepository chatMemoryRepository;
 
+    private final WriteBehindChatMemoryRepository writeBehindChatMemoryRepository;
+
+    private final ModelRouter modelRouter;
+
+    private final LlmMetrics llmMetrics;
+
+    @Value("${chat-memory.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
+
+    @Value("${chat-memory.summarization.enabled:true}")
+    private boolean summarizationEnabled;
+
+    @Value("${chat-memory.summarization.token-threshold:3000}")
+    private int summarizationTokenThreshold;
+
+    @Value("${chat-memory.summarization.keep-recent-messages:6}")
+    private int summarizationKeepRecentMessages;
+
+    /**
+     * Stateless client for question generation. It has no chat memory, so calls from
+     * different users never share (or grow) a conversation; see QuestionHistory for repeats.
+     */
     @Bean
-    public ChatClient chatClient(AnthropicChatModel chatModel, ChatMemory chatMemory) {
-        MessageChatMemoryAdvisor memoryAdvisor = MessageChatMemoryAdvisor.builder(chatMemory).build();
-        return ChatClient.builder(chatModel)
-                .defaultAdvisors(memoryAdvisor)
+    public ChatClient chatClient() {
+        return ChatClient.builder(modelRouter.chatModel(ModelRouter.QUESTION_GENERATION))
+                .defaultAdvisors(new LlmMetricsAdvisor(llmMetrics))
                 .build();
     }
 
     @Bean
-    public ChatClient inteviewChatClient(AnthropicChatModel chatModel) {
-        MessageChatMemoryAdvisor memoryAdvisor = MessageChatMemoryAdvisor.builder(inteviewChatClientChatMemory()).build();
-        return ChatClient.builder(chatModel)
-                .defaultAdvisors(memoryAdvisor)
+    public ChatClient inteviewChatClient(ChatMemory inteviewChatClientChatMemory) {
+        MessageChatMemoryAdvisor memoryAdvisor = MessageChatMemoryAdvisor.builder(inteviewChatClientChatMemory).build();
+        return ChatClient.builder(modelRouter.chatModel(ModelRouter.INTERVIEW_TURN))
+                .defaultAdvisors(memoryAdvisor, new PromptCacheAdvisor(), new LlmMetricsAdvisor(llmMetrics))
                 .build();
     }
 
+    /**
+     * Stateless client that scores a single answer, off the interview turn's critical path
+     */
     @Bean
-    public ChatMemory inteviewChatClientChatMemory() {
-        return MessageWindowChatMemory.builder()
-                .chatMemoryRepository(chatMemoryRepository)
-                .maxMessages(40)
+    public ChatClient feedbackChatClient() {
+        return ChatClient.builder(modelRouter.chatModel(ModelRouter.FEEDBACK_SCORING))
+                .defaultAdvisors(new LlmMetricsAdvisor(llmMetrics))
                 .build();
     }
 
     @Bean
-    public ChatClient resumeParserChatClient(OpenAiChatModel openAiChatModel) {
-        return ChatClient.builder(openAiChatModel)
+    public ChatMemory inteviewChatClientChatMemory(ChatClient summaryChatClient,
+                                                   ThreadPoolTaskExecutor summaryExecutor,
+                                                   MeterRegistry meterRegistry) {
+        ChatMemoryRepository repository = writeBehindEnabled ? writeBehindChatMemoryRepository : chatMemoryRepository;
+        ChatMemory windowMemory = MessageWindowChatMemory.builder()
+                .chatMemoryRepository(repository)
+                .maxMessages(40)
                 .build();
+        if (!summarizationEnabled) {
+            return windowMemory;
+        }
+        return new SummarizingChatMemory(windowMemory, repository, summaryChatClient, summaryExecutor,
+                meterRegistry, summarizationTokenThreshold, summarizationKeepRecentMessages);
     }
 
+    /**
+     * Stateless client used to compact long interview conversations into a running summary
+     */
+    @Bean
+    public ChatClient summaryChatClient() {
+        return ChatClient.builder(modelRouter.chatModel(ModelRouter.SUMMARIZATION))
+                .defaultAdvisors(new LlmMetricsAdvisor(llmMetrics))
+                .build();
+    }
 
+    @Bean
+    public ChatClient resumeParserChatClient() {
+        return ChatClient.builder(modelRouter.chatModel(ModelRouter.RESUME_PARSING))
+                .defaultAdvisors(new LlmMetricsAdvisor(llmMetrics))
+                .build();
+    }
 }
@@ -0,0 +1,42 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.config;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AnthropicPromptCache;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.model.anthropic.autoconfigure.AnthropicConnectionProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Builds the Anthropic API client in place of the auto-configured one, with prompt cache breakpoints
+ * added by its own HTTP clients: the blocking client for calls and the reactive one for streams.
+ * The builders are prototypes, so other clients (OpenAI, job callbacks) are left untouched.
+ */
+@Configuration
+@Profile("!fake-ai")
+public class AnthropicPromptCacheConfig {
+
+    @Bean
+    public AnthropicApi anthropicApi(AnthropicConnectionProperties connectionProperties,
+                                     ObjectProvider<RestClient.Builder> restClientBuilderProvider,
+                                     ObjectProvider<WebClient.Builder> webClientBuilderProvider,
+                                     ResponseErrorHandler responseErrorHandler,
+                                     AnthropicPromptCache promptCache) {
+        return AnthropicApi.builder()
+                .baseUrl(connectionProperties.getBaseUrl())
+                .completionsPath(connectionProperties.getCompletionsPath())
+                .apiKey(connectionProperties.getApiKey())
+                .anthropicVersion(connectionProperties.getVersion())
+                .anthropicBetaFeatures(connectionProperties.getBetaVersion())
+                .restClientBuilder(restClientBuilderProvider.getIfAvailable(RestClient::builder)
+                        .requestInterceptor(promptCache.interceptor()))
+                .webClientBuilder(webClientBuilderProvider.getIfAvailable(WebClient::builder)
+                        .filter(promptCache.filter()))
+                .responseErrorHandler(responseErrorHandler)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.config;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AnthropicPromptCache;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for background AI work
+ */
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor questionPoolExecutor(
+            @Value("${question-pool.refill-concurrency:4}") int refillConcurrency,
+            @Value("${question-pool.high-watermark:20}") int highWatermark) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("question-pool-");
+        executor.setCorePoolSize(refillConcurrency);
+        executor.setMaxPoolSize(refillConcurrency);
+        // One high watermark worth of work per question type
+        executor.setQueueCapacity(highWatermark * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor ttsExecutor(@Value("${tts.pipeline.pool-size:8}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("tts-");
+        // Runs work of a request, so provider calls keep its deadline
+        executor.setTaskDecorator(RequestDeadline::propagate);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor summaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("chat-summary-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor questionBatchExecutor(@Value("${question-batch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("question-batch-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor transcriptionExecutor(@Value("${transcription.chunking.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("transcription-");
+        executor.setTaskDecorator(RequestDeadline::propagate);
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor resumeSectionExecutor(@Value("${resume-parsing.hierarchical.parallelism:6}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("resume-section-");
+        executor.setTaskDecorator(RequestDeadline::propagate);
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor resumeJobExecutor(@Value("${resume-jobs.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("resume-job-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // Jobs are only claimed for free workers, so the queue stays empty; unfinished jobs are reclaimed after their lease
+        executor.setQueueCapacity(workers);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor hedgeExecutor(@Value("${model-routing.hedging.pool-size:64}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("llm-hedge-");
+        // Both attempts of a hedged call run here, with the caller's deadline and prompt caching
+        executor.setTaskDecorator(task -> RequestDeadline.propagate(AnthropicPromptCache.propagate(task)));
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // No queue: when the pool is full, calls run unhedged on the caller's thread
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,100 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.CassetteReplay;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeChatModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeSpeechModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeTranscriptionModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.LatencyDistribution;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.SchemaSampleGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replaces the Anthropic and OpenAI models with local fakes for load testing without network
+ * access or API spend. The provider auto-configurations are switched off in application-fake-ai.yml;
+ * the beans here take their names so the rest of the wiring is unchanged.
+ */
+@Slf4j
+@Configuration
+@Profile("fake-ai")
+public class FakeAiConfig {
+
+    @Value("${fake-ai.chat.stream-chunk-delay:20ms}")
+    private Duration streamChunkDelay;
+
+    @Value("${fake-ai.chat.stream-chunk-chars:16}")
+    private int streamChunkChars;
+
+    @Value("${fake-ai.chat.call-includes-stream-time:false}")
+    private boolean callIncludesStreamTime;
+
+    @Value("${fake-ai.chat.array-size:5}")
+    private int arraySize;
+
+    @Value("${fake-ai.chat.string-chars:0}")
+    private int stringChars;
+
+    @Value("${fake-ai.cassette.path:}")
+    private String cassettePath;
+
+    @Bean
+    public SchemaSampleGenerator fakeSchemaSampleGenerator(ObjectMapper objectMapper) {
+        return new SchemaSampleGenerator(objectMapper, arraySize, stringChars);
+    }
+
+    @Bean
+    public CassetteReplay fakeCassetteReplay(ObjectMapper objectMapper) throws IOException {
+        if (cassettePath.isBlank()) {
+            return CassetteReplay.empty();
+        }
+        return CassetteReplay.load(Paths.get(cassettePath), objectMapper);
+    }
+
+    @Bean
+    public FakeChatModel anthropicChatModel(@Value("${fake-ai.anthropic.latency:lognormal:median=1500ms,sigma=0.5}") String latency,
+                                            SchemaSampleGenerator fakeSchemaSampleGenerator,
+                                            CassetteReplay fakeCassetteReplay) {
+        log.warn("fake-ai profile is active: Anthropic calls are served locally with latency {}", latency);
+        return new FakeChatModel("fake-anthropic", LatencyDistribution.parse(latency), streamChunkDelay, streamChunkChars,
+                callIncludesStreamTime, fakeSchemaSampleGenerator, fakeCassetteReplay);
+    }
+
+    @Bean
+    public FakeChatModel openAiChatModel(@Value("${fake-ai.openai.latency:lognormal:median=900ms,sigma=0.4}") String latency,
+                                         SchemaSampleGenerator fakeSchemaSampleGenerator,
+                                         CassetteReplay fakeCassetteReplay) {
+        log.warn("fake-ai profile is active: OpenAI chat calls are served locally with latency {}", latency);
+        return new FakeChatModel("fake-openai", LatencyDistribution.parse(latency), streamChunkDelay, streamChunkChars,
+                callIncludesStreamTime, fakeSchemaSampleGenerator, fakeCassetteReplay);
+    }
+
+    @Bean
+    public FakeTranscriptionModel openAiAudioTranscriptionModel(
+            @Value("${fake-ai.transcription.latency:fixed:700ms}") String latency,
+            @Value("${fake-ai.transcription.latency-per-audio-second:0ms}") Duration latencyPerAudioSecond,
+            @Value("${fake-ai.transcription.transcripts-file:}") String transcriptsFile) throws IOException {
+        // One transcript per line
+        List<String> transcripts = transcriptsFile.isBlank()
+                ? List.of(FakeTranscriptionModel.DEFAULT_TRANSCRIPT)
+                : Files.readAllLines(Paths.get(transcriptsFile), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        return new FakeTranscriptionModel(LatencyDistribution.parse(latency), latencyPerAudioSecond, transcripts);
+    }
+
+    @Bean
+    public FakeSpeechModel openAiAudioSpeechModel(@Value("${fake-ai.speech.latency:fixed:400ms}") String latency) {
+        return new FakeSpeechModel(LatencyDistribution.parse(latency));
+    }
+}
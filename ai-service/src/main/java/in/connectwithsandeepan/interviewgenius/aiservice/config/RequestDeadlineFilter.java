@@ -0,0 +1,55 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.config;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Makes the {@value RequestDeadline#HEADER} header the deadline of the request's provider calls.
+ * A request that arrives after its deadline is answered with 504 without doing any work.
+ */
+@Slf4j
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final Counter expiredOnArrival;
+
+    public RequestDeadlineFilter(MeterRegistry meterRegistry) {
+        this.expiredOnArrival = Counter.builder("ai.request.deadline.expired-on-arrival")
+                .description("Requests rejected because their deadline had passed before they arrived")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant deadline = RequestDeadline.parse(request.getHeader(RequestDeadline.HEADER));
+        if (deadline == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (RequestDeadline.expired(deadline)) {
+            expiredOnArrival.increment();
+            log.warn("Rejecting {} {}: request deadline already passed", request.getMethod(), request.getRequestURI());
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded");
+            return;
+        }
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
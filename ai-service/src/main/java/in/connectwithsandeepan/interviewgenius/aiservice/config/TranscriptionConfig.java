@@ -0,0 +1,26 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.config;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.service.StreamingWhisperTranscriptionModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Speech-to-text model; the fake-ai profile supplies its own
+ */
+@Configuration
+@Profile("!fake-ai")
+public class TranscriptionConfig {
+
+    @Bean
+    public StreamingWhisperTranscriptionModel openAiAudioTranscriptionModel(
+            @Value("${spring.ai.openai.base-url:https://api.openai.com}") String baseUrl,
+            @Value("${spring.ai.openai.audio.transcription.api-key}") String apiKey,
+            @Value("${transcription.model:whisper-1}") String model,
+            @Value("${transcription.read-timeout:PT2M}") Duration readTimeout) {
+        return new StreamingWhisperTranscriptionModel(baseUrl, apiKey, model, readTimeout);
+    }
+}
@@ -0,0 +1,74 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.controller;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.ResumeParseRequest;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.PromptRegistry;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.ResumeParseCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operational endpoints for the AI service caches
+ */
+@Slf4j
+@RestController
+@RequestMapping("/ai/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    private final ResumeParseCache resumeParseCache;
+    private final PromptRegistry promptRegistry;
+
+    @PostMapping("/resume-cache/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidateResume(
+            @RequestHeader(value = "X-User-Role", required = false) String role,
+            @RequestBody ResumeParseRequest request) {
+        if (!isAdmin(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (request.getResumeText() == null || request.getResumeText().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean removed = resumeParseCache.invalidate(request.getResumeText());
+        log.info("Invalidated cached resume parse for userId {}: {}", request.getUserId(), removed);
+        return ResponseEntity.ok(Map.of("removed", removed ? 1 : 0));
+    }
+
+    @DeleteMapping("/resume-cache")
+    public ResponseEntity<Map<String, Object>> invalidateAllResumes(
+            @RequestHeader(value = "X-User-Role", required = false) String role) {
+        if (!isAdmin(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int removed = resumeParseCache.invalidateAll();
+        log.info("Cleared resume parse cache, {} entries removed", removed);
+        return ResponseEntity.ok(Map.of("removed", removed));
+    }
+
+    /**
+     * Loaded prompt templates with their version and estimated token count
+     */
+    @GetMapping("/prompts")
+    public ResponseEntity<List<Map<String, Object>>> prompts(
+            @RequestHeader(value = "X-User-Role", required = false) String role) {
+        if (!isAdmin(role)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(promptRegistry.templates().stream()
+                .map(template -> Map.<String, Object>of(
+                        "name", template.name(),
+                        "version", template.version(),
+                        "tokens", template.tokens(),
+                        "loadedAt", template.loadedAt().toString()))
+                .toList());
+    }
+
+    // Role header is set by the gateway from the validated JWT
+    private boolean isAdmin(String role) {
+        return "ADMIN".equals(role);
+    }
+}
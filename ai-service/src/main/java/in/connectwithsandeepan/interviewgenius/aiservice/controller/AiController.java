@@ -3,12 +3,27 @@ package in.connectwithsandeepan.interviewgenius.aiservice.controller;
 import in.connectwithsandeepan.interviewgenius.aiservice.dto.*;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Question;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
 import in.connectwithsandeepan.interviewgenius.aiservice.service.AiService;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.QuestionBatchService;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.ResumeParseJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.List;
 
 
 @Slf4j
@@ -17,6 +32,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AiController {
     private final AiService aiService;
+    private final QuestionBatchService questionBatchService;
+    private final ResumeParseJobService resumeParseJobService;
 
     @GetMapping("/question")
     public Question question() {
@@ -39,6 +56,23 @@ public class AiController {
         return aiService.genarateInputTypeDsaQuestion();
     }
 
+    @GetMapping("/questions/batch")
+    public ResponseEntity<List<?>> questionBatch(
+            @RequestParam(defaultValue = "MCQ") QuestionType type,
+            @RequestParam(defaultValue = "Java") String language,
+            @RequestParam(defaultValue = "Intermediate") String difficulty,
+            @RequestParam(defaultValue = "10") int count) {
+        try {
+            QuestionBatchService.Batch batch = questionBatchService.generateBatch(type, language, difficulty, count);
+            return ResponseEntity.ok()
+                    .header(QuestionBatchService.SHORTFALL_HEADER, String.valueOf(batch.shortfall()))
+                    .body(batch.questions());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid batch request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/transcribe")
     public ResponseEntity<String> transcribeAudio(@RequestParam String filePath) {
         try {
@@ -46,11 +80,45 @@ public class AiController {
             return ResponseEntity.ok(transcription);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error processing audio file: " + e.getMessage());
         }
     }
 
+    /**
+     * Transcribe audio sent as the raw request body; the body is spooled to disk, never held on heap
+     */
+    @PostMapping(value = "/transcribe", consumes = {"audio/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<String> transcribeAudioStream(
+            @RequestParam(required = false) String filename,
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            InputStream audio) {
+        try {
+            return ResponseEntity.ok(aiService.transcribeAudio(audio, filename, contentType));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error processing audio: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/transcribe", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<String> transcribeAudioUpload(@RequestParam("file") MultipartFile file) {
+        try (InputStream audio = file.getInputStream()) {
+            return ResponseEntity.ok(aiService.transcribeAudio(audio, file.getOriginalFilename(), file.getContentType()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error processing audio: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/text-to-speech")
     public TextToSpeechResponse textToSpeech(
             @RequestHeader("X-User-Id") String userId,
@@ -58,6 +126,23 @@ public class AiController {
         return aiService.textToSpeech(request.getText(), request.getVoice(), userId);
     }
 
+    /**
+     * Streaming variant of /text-to-speech: the text is split into sentences that are
+     * synthesized concurrently and written back in order as chunked MP3 segments,
+     * so playback can start after the first sentence
+     */
+    @PostMapping(value = "/text-to-speech/stream", produces = "audio/mpeg")
+    public ResponseEntity<StreamingResponseBody> streamTextToSpeech(@RequestBody TextToSpeechRequest request) {
+        if (request.getText() == null || request.getText().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = outputStream ->
+                aiService.streamTextToSpeech(request.getText(), request.getVoice(), outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf("audio/mpeg"))
+                .body(body);
+    }
+
     @PostMapping("/interview/start")
     public ResponseEntity<InterviewStartResponse> startInterview(
             @RequestParam String conversationId,
@@ -69,14 +154,65 @@ public class AiController {
                 .build());
     }
 
+    /**
+     * Next interview question for an answer. With deferFeedback the response carries only the question,
+     * and the caller scores the answer separately through /interview/feedback.
+     */
     @PostMapping("/interview/answer")
     public ResponseEntity<InterviewResponse> submitAnswer(
             @RequestParam String conversationId,
-            @RequestParam String answer) {
+            @RequestParam String answer,
+            @RequestParam(defaultValue = "false") boolean deferFeedback) {
+        if (deferFeedback) {
+            return ResponseEntity.ok(InterviewResponse.builder()
+                    .question(aiService.nextQuestion(conversationId, answer))
+                    .build());
+        }
         InterviewResponse response = aiService.submitAnswerAndGetNextQuestion(conversationId, answer);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/interview/feedback")
+    public ResponseEntity<InterviewFeedback> scoreAnswer(@RequestBody FeedbackRequest request) {
+        return ResponseEntity.ok(aiService.scoreAnswer(request.getQuestion(), request.getAnswer()));
+    }
+
+    @PostMapping(value = "/interview/start/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamStartInterview(
+            @RequestParam String conversationId,
+            @RequestParam String experienceLevel,
+            @RequestParam String language) {
+        StringBuilder question = new StringBuilder();
+        return aiService.streamStartInterview(conversationId, experienceLevel, language)
+                .doOnNext(question::append)
+                .map(this::tokenEvent)
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(InterviewStartResponse.builder()
+                                .question(question.toString())
+                                .build())
+                        .event("response")
+                        .build()));
+    }
+
+    @PostMapping(value = "/interview/answer/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSubmitAnswer(
+            @RequestParam String conversationId,
+            @RequestParam String answer) {
+        StringBuilder content = new StringBuilder();
+        return aiService.streamAnswerAndNextQuestion(conversationId, answer)
+                .doOnNext(content::append)
+                .map(this::tokenEvent)
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(
+                                aiService.toInterviewResponse(content.toString()))
+                        .event("response")
+                        .build()));
+    }
+
+    private ServerSentEvent<Object> tokenEvent(String token) {
+        return ServerSentEvent.<Object>builder(InterviewTokenEvent.builder().text(token).build())
+                .event("token")
+                .build();
+    }
+
     @PostMapping("/parse-resume")
     public ResponseEntity<Resume> parseResume(@RequestBody ResumeParseRequest request) {
         log.info("Received resume parse request for userId: {}", request.getUserId());
@@ -95,9 +231,34 @@ public class AiController {
         } catch (IllegalArgumentException e) {
             log.error("Invalid request: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing resume: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Queue a resume for parsing and return the job id at once; poll the job or pass a callback URL
+     */
+    @PostMapping("/resume-jobs")
+    public ResponseEntity<ResumeParseJobResponse> submitResumeJob(@RequestBody ResumeParseJobRequest request) {
+        log.info("Received resume parse job for userId: {}", request.getUserId());
+        try {
+            String jobId = resumeParseJobService.submit(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(resumeParseJobService.find(jobId).orElseThrow());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid resume parse job: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/resume-jobs/{jobId}")
+    public ResponseEntity<ResumeParseJobResponse> getResumeJob(@PathVariable String jobId) {
+        return resumeParseJobService.find(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,19 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ErrorResponseDto {
+    private int status;
+    private String error;
+    private String message;
+    private String path;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
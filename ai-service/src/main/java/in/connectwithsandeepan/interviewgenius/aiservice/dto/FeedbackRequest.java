@@ -0,0 +1,18 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for scoring one interview answer outside the interview conversation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRequest {
+    private String question;
+    private String answer;
+}
@@ -0,0 +1,17 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A chunk of model output sent as a server-sent event while an interview response streams
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewTokenEvent {
+    private String text;
+}
@@ -0,0 +1,19 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for queueing a resume parse job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeParseJobRequest {
+    private String resumeText;
+    private Long userId;
+    private String callbackUrl; // Optional: the job status is POSTed here when the job finishes
+}
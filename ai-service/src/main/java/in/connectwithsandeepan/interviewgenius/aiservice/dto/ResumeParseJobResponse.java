@@ -0,0 +1,28 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.dto;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Status of a resume parse job; the parsed resume is set once the job has succeeded
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeParseJobResponse {
+    private String jobId;
+    private Long userId;
+    private String status; // QUEUED, RUNNING, SUCCEEDED or FAILED
+    private int attempts;
+    private String error;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Resume resume;
+}
@@ -0,0 +1,11 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.entity;
+
+/**
+ * Kinds of questions the AI service can generate
+ */
+public enum QuestionType {
+    MCQ,
+    SHORT_INPUT,
+    DESCRIPTIVE_INPUT,
+    DSA_INPUT
+}
@@ -26,4 +26,8 @@ public class Resume {
     @Builder.Default
     private List<String> skills = new ArrayList<>();
 
+    private String email;
+
+    private String phone;
+
 }
@@ -0,0 +1,16 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.exception;
+
+/**
+ * Thrown when the request's deadline passes before or during an AI provider call, so the work
+ * is abandoned instead of finishing for a caller that has stopped waiting
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String stage) {
+        super(String.format("Request deadline exceeded before %s", stage));
+    }
+
+    public DeadlineExceededException(String stage, Throwable cause) {
+        super(String.format("Request deadline exceeded during %s", stage), cause);
+    }
+}
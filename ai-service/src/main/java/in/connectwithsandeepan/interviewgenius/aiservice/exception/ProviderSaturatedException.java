@@ -0,0 +1,19 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an AI provider's concurrency limit is reached and the wait queue is full
+ * or the caller waited longer than allowed
+ */
+@Getter
+public class ProviderSaturatedException extends RuntimeException {
+    private final String provider;
+    private final long retryAfterSeconds;
+
+    public ProviderSaturatedException(String provider, String reason, long retryAfterSeconds) {
+        super(String.format("AI provider %s is saturated: %s", provider, reason));
+        this.provider = provider;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
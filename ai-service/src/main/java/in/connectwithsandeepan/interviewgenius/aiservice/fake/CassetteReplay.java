@@ -0,0 +1,71 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorded chat responses replayed by the fake chat models.
+ * The cassette is a JSON-lines file; each line is
+ * {@code {"match": "...", "content": "...", "latencyMs": 1234}}.
+ * A prompt replays the entries whose match text it contains, round-robin; latencyMs is optional
+ * and overrides the configured latency distribution for that entry.
+ */
+@Slf4j
+public class CassetteReplay {
+
+    public record Entry(String match, String content, Long latencyMs) {
+
+        public Optional<Duration> latency() {
+            return latencyMs == null ? Optional.empty() : Optional.of(Duration.ofMillis(latencyMs));
+        }
+    }
+
+    private final List<Entry> entries;
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    private CassetteReplay(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static CassetteReplay empty() {
+        return new CassetteReplay(List.of());
+    }
+
+    public static CassetteReplay load(Path path, ObjectMapper objectMapper) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                entries.add(objectMapper.readValue(line, Entry.class));
+            }
+        }
+        log.info("Loaded {} fake AI cassette entries from {}", entries.size(), path);
+        return new CassetteReplay(List.copyOf(entries));
+    }
+
+    public Optional<Entry> find(String promptText) {
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Entry> matching = entries.stream()
+                .filter(entry -> entry.match() == null || promptText.contains(entry.match()))
+                .toList();
+        if (matching.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = matching.get(0).match() == null ? "" : matching.get(0).match();
+        int index = cursors.computeIfAbsent(key, ignored -> new AtomicInteger()).getAndIncrement();
+        return Optional.of(matching.get(Math.floorMod(index, matching.size())));
+    }
+}
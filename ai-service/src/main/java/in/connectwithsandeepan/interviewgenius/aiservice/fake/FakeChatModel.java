@@ -0,0 +1,131 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.TokenEstimator;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local stand-in for a chat model. Structured output prompts get a JSON instance of the
+ * requested schema, other prompts get canned interviewer text; cassette entries take precedence.
+ * Each call waits for a latency drawn from the configured distribution; optionally, non-streaming
+ * calls also wait for the time streaming the reply would take.
+ */
+public class FakeChatModel implements ChatModel {
+
+    static final String CANNED_TEXT = "Thanks, that makes sense. Let's move on: can you explain how a HashMap "
+            + "handles collisions, and what changes when a bucket grows large?";
+
+    private final String modelName;
+    private final LatencyDistribution latency;
+    private final Duration streamChunkDelay;
+    private final int streamChunkChars;
+    private final boolean callIncludesStreamTime;
+    private final SchemaSampleGenerator sampleGenerator;
+    private final CassetteReplay cassette;
+
+    public FakeChatModel(String modelName,
+                         LatencyDistribution latency,
+                         Duration streamChunkDelay,
+                         int streamChunkChars,
+                         boolean callIncludesStreamTime,
+                         SchemaSampleGenerator sampleGenerator,
+                         CassetteReplay cassette) {
+        this.modelName = modelName;
+        this.latency = latency;
+        this.streamChunkDelay = streamChunkDelay;
+        this.streamChunkChars = streamChunkChars;
+        this.callIncludesStreamTime = callIncludesStreamTime;
+        this.sampleGenerator = sampleGenerator;
+        this.cassette = cassette;
+    }
+
+    /**
+     * Waits for the sampled latency, plus the chunk delays streaming the same reply would take
+     * when that is enabled, so longer replies take longer
+     */
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Reply reply = reply(prompt);
+        Duration latency = reply.latency();
+        if (callIncludesStreamTime) {
+            latency = latency.plus(streamChunkDelay.multipliedBy(chunks(reply.content()).size() - 1));
+        }
+        LatencyDistribution.sleep(latency);
+        return response(reply.content(), TokenEstimator.estimate(prompt.getContents()), TokenEstimator.estimate(reply.content()));
+    }
+
+    /**
+     * The sampled latency is the time to first token; the rest of the text follows in
+     * fixed-size chunks, so the total time grows with the response length like a real model
+     */
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Reply reply = reply(prompt);
+            List<String> chunks = chunks(reply.content());
+
+            // Usage is reported once, on the last chunk, like the providers do
+            List<ChatResponse> responses = new ArrayList<>();
+            for (int i = 0; i < chunks.size() - 1; i++) {
+                responses.add(response(chunks.get(i), null, null));
+            }
+            responses.add(response(chunks.get(chunks.size() - 1),
+                    TokenEstimator.estimate(prompt.getContents()), TokenEstimator.estimate(reply.content())));
+
+            Flux<ChatResponse> stream = Flux.fromIterable(responses);
+            if (!streamChunkDelay.isZero()) {
+                stream = Flux.concat(Flux.just(responses.get(0)),
+                        Flux.fromIterable(responses.subList(1, responses.size())).delayElements(streamChunkDelay));
+            }
+            return stream.delaySubscription(reply.latency());
+        });
+    }
+
+    private Reply reply(Prompt prompt) {
+        String promptText = prompt.getContents();
+        return cassette.find(promptText)
+                .map(entry -> new Reply(entry.content(), entry.latency().orElseGet(latency::sample)))
+                .orElseGet(() -> new Reply(generate(promptText), latency.sample()));
+    }
+
+    private String generate(String promptText) {
+        JsonNode schema = sampleGenerator.findSchema(promptText);
+        return schema == null ? CANNED_TEXT : sampleGenerator.sample(schema);
+    }
+
+    private List<String> chunks(String content) {
+        List<String> chunks = new ArrayList<>();
+        for (int start = 0; start < content.length(); start += streamChunkChars) {
+            chunks.add(content.substring(start, Math.min(content.length(), start + streamChunkChars)));
+        }
+        if (chunks.isEmpty()) {
+            chunks.add("");
+        }
+        return chunks;
+    }
+
+    private ChatResponse response(String content, Integer promptTokens, Integer completionTokens) {
+        ChatResponseMetadata.Builder metadata = ChatResponseMetadata.builder()
+                .id(UUID.randomUUID().toString())
+                .model(modelName);
+        if (promptTokens != null) {
+            metadata.usage(new DefaultUsage(promptTokens, completionTokens));
+        }
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(content))), metadata.build());
+    }
+
+    private record Reply(String content, Duration latency) {
+    }
+}
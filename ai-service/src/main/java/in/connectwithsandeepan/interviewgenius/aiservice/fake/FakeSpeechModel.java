@@ -0,0 +1,45 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import org.springframework.ai.openai.audio.speech.Speech;
+import org.springframework.ai.openai.audio.speech.SpeechModel;
+import org.springframework.ai.openai.audio.speech.SpeechPrompt;
+import org.springframework.ai.openai.audio.speech.SpeechResponse;
+
+/**
+ * Local stand-in for text-to-speech that returns silent MP3 audio.
+ * The clip length follows the text length, so downstream file sizes and caching behave realistically.
+ */
+public class FakeSpeechModel implements SpeechModel {
+
+    // MPEG-1 Layer III, 128 kbps, 44.1 kHz, no padding, stereo
+    private static final byte[] FRAME_HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, (byte) 0x00};
+    private static final int FRAME_BYTES = 417;
+    private static final double FRAME_SECONDS = 1152.0 / 44100;
+    private static final double CHARACTERS_PER_SECOND = 15;
+
+    private final LatencyDistribution latency;
+
+    public FakeSpeechModel(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public SpeechResponse call(SpeechPrompt prompt) {
+        LatencyDistribution.sleep(latency.sample());
+        String text = prompt.getInstructions().getText();
+        double seconds = Math.max(1, text == null ? 0 : text.length()) / CHARACTERS_PER_SECOND;
+        return new SpeechResponse(new Speech(silence(seconds)));
+    }
+
+    /**
+     * Frames with an all-zero side info block decode as silence
+     */
+    static byte[] silence(double seconds) {
+        int frames = Math.max(1, (int) Math.ceil(seconds / FRAME_SECONDS));
+        byte[] audio = new byte[frames * FRAME_BYTES];
+        for (int frame = 0; frame < frames; frame++) {
+            System.arraycopy(FRAME_HEADER, 0, audio, frame * FRAME_BYTES, FRAME_HEADER.length);
+        }
+        return audio;
+    }
+}
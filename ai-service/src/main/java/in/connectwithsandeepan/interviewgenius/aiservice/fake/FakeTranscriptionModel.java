@@ -0,0 +1,67 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import org.springframework.ai.audio.transcription.AudioTranscription;
+import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
+import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
+import org.springframework.ai.model.Model;
+import org.springframework.core.io.Resource;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for speech-to-text that cycles through canned transcripts.
+ * Latency is the sampled base latency plus a per-audio-second cost, so longer recordings take longer
+ * as they do with Whisper.
+ */
+public class FakeTranscriptionModel implements Model<AudioTranscriptionPrompt, AudioTranscriptionResponse> {
+
+    public static final String DEFAULT_TRANSCRIPT = "I would use a hash map to count the occurrences, which keeps it "
+            + "linear in time, and then sort the entries by count to pick the top results.";
+
+    // Duration estimate for compressed formats, assuming 128 kbit/s
+    private static final long COMPRESSED_BYTES_PER_SECOND = 16_000;
+
+    private final LatencyDistribution latency;
+    private final Duration latencyPerAudioSecond;
+    private final List<String> transcripts;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public FakeTranscriptionModel(LatencyDistribution latency, Duration latencyPerAudioSecond, List<String> transcripts) {
+        if (transcripts.isEmpty()) {
+            throw new IllegalArgumentException("At least one canned transcript is required");
+        }
+        this.latency = latency;
+        this.latencyPerAudioSecond = latencyPerAudioSecond;
+        this.transcripts = List.copyOf(transcripts);
+    }
+
+    @Override
+    public AudioTranscriptionResponse call(AudioTranscriptionPrompt prompt) {
+        double audioSeconds = latencyPerAudioSecond.isZero() ? 0 : audioSeconds(prompt.getInstructions());
+        LatencyDistribution.sleep(latency.sample().plusNanos((long) (latencyPerAudioSecond.toNanos() * audioSeconds)));
+        String transcript = transcripts.get(Math.floorMod(next.getAndIncrement(), transcripts.size()));
+        return new AudioTranscriptionResponse(new AudioTranscription(transcript));
+    }
+
+    private double audioSeconds(Resource audio) {
+        try (InputStream in = new BufferedInputStream(audio.getInputStream())) {
+            AudioFileFormat format = AudioSystem.getAudioFileFormat(in);
+            if (format.getFrameLength() > 0) {
+                return format.getFrameLength() / format.getFormat().getFrameRate();
+            }
+        } catch (Exception ignored) {
+            // not a format the JDK reads, estimate from the size
+        }
+        try {
+            return (double) audio.contentLength() / COMPRESSED_BYTES_PER_SECOND;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulated provider latency, parsed from a compact spec:
+ * <ul>
+ *     <li>{@code fixed:300ms}</li>
+ *     <li>{@code lognormal:median=1200ms,sigma=0.5}</li>
+ *     <li>{@code percentiles:p50=800ms,p90=2s,p99=5s} (linear interpolation between the points;
+ *     p0 defaults to half the lowest point and the highest point is the maximum)</li>
+ * </ul>
+ */
+public interface LatencyDistribution {
+
+    Duration sample();
+
+    /**
+     * Block the calling thread for the given latency, like a synchronous provider call would
+     */
+    static void sleep(Duration latency) {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis(), latency.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating provider latency", e);
+        }
+    }
+
+    static LatencyDistribution parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.equals("none")) {
+            return () -> Duration.ZERO;
+        }
+
+        int colon = spec.indexOf(':');
+        String type = colon < 0 ? spec.trim() : spec.substring(0, colon).trim();
+        String args = colon < 0 ? "" : spec.substring(colon + 1).trim();
+
+        return switch (type) {
+            case "fixed" -> {
+                Duration latency = DurationStyle.detectAndParse(args);
+                yield () -> latency;
+            }
+            case "lognormal" -> lognormal(keyValues(args));
+            case "percentiles" -> percentiles(keyValues(args));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static LatencyDistribution lognormal(Map<String, String> args) {
+        if (!args.containsKey("median")) {
+            throw new IllegalArgumentException("lognormal latency requires a median");
+        }
+        long medianNanos = DurationStyle.detectAndParse(args.get("median")).toNanos();
+        double sigma = Double.parseDouble(args.getOrDefault("sigma", "0.5"));
+        return () -> Duration.ofNanos((long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+    }
+
+    private static LatencyDistribution percentiles(Map<String, String> args) {
+        TreeMap<Double, Long> points = new TreeMap<>();
+        args.forEach((key, value) -> {
+            if (!key.startsWith("p")) {
+                throw new IllegalArgumentException("Expected a percentile like p50, got " + key);
+            }
+            points.put(Double.parseDouble(key.substring(1)) / 100, DurationStyle.detectAndParse(value).toNanos());
+        });
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("percentiles latency requires at least one point");
+        }
+        points.putIfAbsent(0.0, points.firstEntry().getValue() / 2);
+
+        return () -> {
+            double quantile = ThreadLocalRandom.current().nextDouble();
+            Map.Entry<Double, Long> lower = points.floorEntry(quantile);
+            Map.Entry<Double, Long> upper = points.ceilingEntry(quantile);
+            if (upper == null || upper.getKey().equals(lower.getKey())) {
+                return Duration.ofNanos(lower.getValue());
+            }
+            double fraction = (quantile - lower.getKey()) / (upper.getKey() - lower.getKey());
+            return Duration.ofNanos(lower.getValue() + (long) (fraction * (upper.getValue() - lower.getValue())));
+        };
+    }
+
+    private static Map<String, String> keyValues(String args) {
+        Map<String, String> values = new TreeMap<>();
+        for (String pair : args.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected key=value, got " + pair);
+            }
+            values.put(parts[0].trim(), parts[1].trim());
+        }
+        return values;
+    }
+}
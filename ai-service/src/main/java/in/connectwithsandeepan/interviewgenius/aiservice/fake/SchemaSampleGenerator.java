@@ -0,0 +1,140 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds a JSON instance that satisfies the JSON schema the structured output converters
+ * put in the prompt, so fake responses deserialize into Question, InterviewResponse, Resume, etc.
+ * Strings carry a sequence number so generated questions are not all duplicates of each other,
+ * and are padded to a realistic length so response sizes (and generation times) are plausible.
+ */
+public class SchemaSampleGenerator {
+
+    private static final String SCHEMA_MARKER = "JSON Schema instance your output must adhere to:";
+    private static final String CODE_FENCE = "```";
+    private static final int MAX_DEPTH = 8;
+    private static final String FILLER = " covering the trade-offs, the edge cases and how it behaves under load";
+
+    private final ObjectMapper objectMapper;
+    private final int arraySize;
+    private final int stringChars;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SchemaSampleGenerator(ObjectMapper objectMapper, int arraySize, int stringChars) {
+        this.objectMapper = objectMapper;
+        this.arraySize = arraySize;
+        this.stringChars = stringChars;
+    }
+
+    /**
+     * Extract the JSON schema from prompt text, or null if the prompt does not ask for structured output
+     */
+    public JsonNode findSchema(String promptText) {
+        int marker = promptText.lastIndexOf(SCHEMA_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        int start = promptText.indexOf(CODE_FENCE, marker);
+        int end = start < 0 ? -1 : promptText.indexOf(CODE_FENCE, start + CODE_FENCE.length());
+        if (end < 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(promptText.substring(start + CODE_FENCE.length(), end));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public String sample(JsonNode schema) {
+        try {
+            return objectMapper.writeValueAsString(sample(schema, schema, null, 0));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build a sample for the schema", e);
+        }
+    }
+
+    private JsonNode sample(JsonNode root, JsonNode schema, String name, int depth) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        if (schema.has("$ref")) {
+            schema = resolve(root, schema.get("$ref").asText());
+        }
+        if (schema == null || depth > MAX_DEPTH) {
+            return nodes.nullNode();
+        }
+        if (schema.has("enum") && schema.get("enum").size() > 0) {
+            return schema.get("enum").get(0);
+        }
+        if (schema.has("anyOf") && schema.get("anyOf").size() > 0) {
+            return sample(root, schema.get("anyOf").get(0), name, depth);
+        }
+
+        return switch (type(schema)) {
+            case "object" -> {
+                ObjectNode object = nodes.objectNode();
+                JsonNode properties = schema.path("properties");
+                Iterator<Map.Entry<String, JsonNode>> fields = properties.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    object.set(field.getKey(), sample(root, field.getValue(), field.getKey(), depth + 1));
+                }
+                yield object;
+            }
+            case "array" -> {
+                ArrayNode array = nodes.arrayNode();
+                JsonNode items = schema.path("items");
+                int size = Math.max(arraySize, schema.path("minItems").asInt(0));
+                for (int i = 0; i < size; i++) {
+                    array.add(items.isMissingNode() ? nodes.textNode(text(name)) : sample(root, items, name, depth + 1));
+                }
+                yield array;
+            }
+            case "integer" -> nodes.numberNode(Math.max(1, schema.path("minimum").asInt(1)));
+            case "number" -> nodes.numberNode(Math.max(1.0, schema.path("minimum").asDouble(1.0)));
+            case "boolean" -> nodes.booleanNode(true);
+            case "null" -> nodes.nullNode();
+            default -> nodes.textNode(text(name));
+        };
+    }
+
+    private String type(JsonNode schema) {
+        JsonNode type = schema.get("type");
+        if (type == null) {
+            return schema.has("properties") ? "object" : "string";
+        }
+        if (type.isArray()) {
+            for (JsonNode candidate : type) {
+                if (!"null".equals(candidate.asText())) {
+                    return candidate.asText();
+                }
+            }
+            return "null";
+        }
+        return type.asText();
+    }
+
+    private JsonNode resolve(JsonNode root, String ref) {
+        if (!ref.startsWith("#")) {
+            return null;
+        }
+        JsonNode target = root.at(ref.substring(1));
+        return target.isMissingNode() ? null : target;
+    }
+
+    private String text(String name) {
+        StringBuilder text = new StringBuilder("Sample ").append(name == null ? "value" : name)
+                .append(' ').append(sequence.incrementAndGet());
+        while (text.length() < stringChars) {
+            text.append(FILLER);
+        }
+        return text.toString();
+    }
+}
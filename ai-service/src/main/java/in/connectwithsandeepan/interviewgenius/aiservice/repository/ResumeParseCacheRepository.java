@@ -0,0 +1,50 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MySQL storage for parsed resumes, see schema.sql
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResumeParseCacheRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> findValid(String cacheKey, Instant now) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT resume_json FROM resume_parse_cache WHERE cache_key = ? AND expires_at > ?",
+                String.class, cacheKey, Timestamp.from(now));
+        return rows.stream().findFirst();
+    }
+
+    public void upsert(String cacheKey, String resumeJson, Instant createdAt, Instant expiresAt) {
+        jdbcTemplate.update("""
+                        INSERT INTO resume_parse_cache (cache_key, resume_json, created_at, expires_at)
+                        VALUES (?, ?, ?, ?)
+                        ON DUPLICATE KEY UPDATE resume_json = VALUES(resume_json),
+                                                created_at = VALUES(created_at),
+                                                expires_at = VALUES(expires_at)
+                        """,
+                cacheKey, resumeJson, Timestamp.from(createdAt), Timestamp.from(expiresAt));
+    }
+
+    public int delete(String cacheKey) {
+        return jdbcTemplate.update("DELETE FROM resume_parse_cache WHERE cache_key = ?", cacheKey);
+    }
+
+    public int deleteAll() {
+        return jdbcTemplate.update("DELETE FROM resume_parse_cache");
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM resume_parse_cache WHERE expires_at <= ?", Timestamp.from(now));
+    }
+}
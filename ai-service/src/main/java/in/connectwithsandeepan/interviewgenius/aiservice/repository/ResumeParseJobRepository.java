@@ -0,0 +1,146 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MySQL queue of resume parse jobs, see schema.sql. Workers claim jobs with
+ * {@code FOR UPDATE SKIP LOCKED}, so several ai-service instances can share the table, and a claim
+ * is a lease: a job whose worker died is claimed again once its lease has expired. Results are only
+ * stored while the claim's lease is still held, so a worker that overran its lease cannot overwrite
+ * the attempt that claimed the job after it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResumeParseJobRepository {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    public record Job(String id, Long userId, String resumeText, String callbackUrl, String status, int attempts,
+                      String resultJson, String error, Instant createdAt, Instant startedAt, Instant finishedAt,
+                      Instant lockedUntil) {
+    }
+
+    private static final String COLUMNS = "id, user_id, resume_text, callback_url, status, attempts, result_json, "
+            + "error, created_at, started_at, finished_at, locked_until";
+
+    private static final RowMapper<Job> JOB = (rs, rowNum) -> new Job(
+            rs.getString("id"),
+            rs.getObject("user_id", Long.class),
+            rs.getString("resume_text"),
+            rs.getString("callback_url"),
+            rs.getString("status"),
+            rs.getInt("attempts"),
+            rs.getString("result_json"),
+            rs.getString("error"),
+            instant(rs, "created_at"),
+            instant(rs, "started_at"),
+            instant(rs, "finished_at"),
+            instant(rs, "locked_until"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String id, Long userId, String resumeText, String callbackUrl, Instant now) {
+        jdbcTemplate.update("""
+                        INSERT INTO resume_parse_job (id, user_id, resume_text, callback_url, status, attempts,
+                                                      next_attempt_at, created_at)
+                        VALUES (?, ?, ?, ?, ?, 0, ?, ?)
+                        """,
+                id, userId, resumeText, callbackUrl, QUEUED, Timestamp.from(now), Timestamp.from(now));
+    }
+
+    /**
+     * Claim up to {@code limit} jobs that are due, or whose previous claim has expired, until {@code leaseUntil}
+     * @return The claimed jobs with their attempt count already incremented
+     */
+    @Transactional
+    public List<Job> claim(int limit, Instant now, Instant leaseUntil) {
+        List<String> ids = jdbcTemplate.queryForList("""
+                        SELECT id FROM resume_parse_job
+                        WHERE (status = ? AND next_attempt_at <= ?) OR (status = ? AND locked_until <= ?)
+                        ORDER BY next_attempt_at
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                        """,
+                String.class, QUEUED, Timestamp.from(now), RUNNING, Timestamp.from(now), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] params = new Object[ids.size() + 3];
+        params[0] = RUNNING;
+        params[1] = Timestamp.from(leaseUntil);
+        params[2] = Timestamp.from(now);
+        for (int i = 0; i < ids.size(); i++) {
+            params[i + 3] = ids.get(i);
+        }
+        jdbcTemplate.update("UPDATE resume_parse_job SET status = ?, attempts = attempts + 1, locked_until = ?, "
+                + "started_at = COALESCE(started_at, ?) WHERE id IN (" + in + ")", params);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM resume_parse_job WHERE id IN (" + in + ")",
+                JOB, ids.toArray());
+    }
+
+    public Optional<Job> find(String id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM resume_parse_job WHERE id = ?", JOB, id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Store the result of the attempt holding the lease {@code leaseUntil}
+     * @return false if the lease has been lost to another attempt, which then owns the job
+     */
+    public boolean succeed(String id, Instant leaseUntil, String resultJson, Instant now) {
+        return jdbcTemplate.update("UPDATE resume_parse_job SET status = ?, result_json = ?, error = NULL, "
+                        + "locked_until = NULL, finished_at = ? WHERE id = ? AND status = ? AND locked_until = ?",
+                SUCCEEDED, resultJson, Timestamp.from(now), id, RUNNING, Timestamp.from(leaseUntil)) > 0;
+    }
+
+    /**
+     * @return false if the lease has been lost to another attempt
+     */
+    public boolean retry(String id, Instant leaseUntil, String error, Instant nextAttemptAt) {
+        return jdbcTemplate.update("UPDATE resume_parse_job SET status = ?, error = ?, locked_until = NULL, "
+                        + "next_attempt_at = ? WHERE id = ? AND status = ? AND locked_until = ?",
+                QUEUED, error, Timestamp.from(nextAttemptAt), id, RUNNING, Timestamp.from(leaseUntil)) > 0;
+    }
+
+    /**
+     * @return false if the lease has been lost to another attempt
+     */
+    public boolean fail(String id, Instant leaseUntil, String error, Instant now) {
+        return jdbcTemplate.update("UPDATE resume_parse_job SET status = ?, error = ?, locked_until = NULL, "
+                        + "finished_at = ? WHERE id = ? AND status = ? AND locked_until = ?",
+                FAILED, error, Timestamp.from(now), id, RUNNING, Timestamp.from(leaseUntil)) > 0;
+    }
+
+    public int countQueued(Instant now) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM resume_parse_job WHERE status = ? AND next_attempt_at <= ?",
+                Integer.class, QUEUED, Timestamp.from(now));
+        return count == null ? 0 : count;
+    }
+
+    public int deleteFinishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM resume_parse_job WHERE finished_at <= ?", Timestamp.from(cutoff));
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,167 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process tier in front of {@link JdbcChatMemoryRepository}.
+ * Active conversations are served from a bounded LRU cache and rehydrated from MySQL on a miss.
+ * Writes only update the cache and mark the conversation dirty; a background flush persists
+ * the latest snapshot of every dirty conversation, so several turns collapse into one write.
+ * At most {@code chat-memory.write-behind.flush-interval-ms} of messages can be lost on a crash,
+ * and everything pending is flushed on shutdown.
+ */
+@Slf4j
+@Component
+public class WriteBehindChatMemoryRepository implements ChatMemoryRepository {
+
+    private final JdbcChatMemoryRepository delegate;
+
+    private final Map<String, List<Message>> cache;
+    // Latest snapshot per conversation that has not reached MySQL yet
+    private final Map<String, List<Message>> dirty = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter flushFailureCounter;
+    private final Timer flushTimer;
+
+    public WriteBehindChatMemoryRepository(JdbcChatMemoryRepository delegate,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${chat-memory.write-behind.max-conversations:1000}") int maxConversations) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Message>> eldest) {
+                // Evicted conversations stay in the dirty map until flushed, so nothing is lost
+                return size() > maxConversations;
+            }
+        };
+
+        this.hitCounter = Counter.builder("ai.chat.memory.cache.hits")
+                .description("Chat memory reads served from the in-process cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.chat.memory.cache.misses")
+                .description("Chat memory reads rehydrated from MySQL")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("ai.chat.memory.flush.failures")
+                .description("Conversation snapshots that failed to persist and will be retried")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("ai.chat.memory.flush")
+                .description("Time spent persisting dirty conversations")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.memory.dirty", dirty, Map::size)
+                .description("Conversations with changes not yet written to MySQL")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        Set<String> ids = new LinkedHashSet<>(delegate.findConversationIds());
+        ids.addAll(dirty.keySet());
+        return List.copyOf(ids);
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        synchronized (cache) {
+            List<Message> cached = cache.get(conversationId);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+
+        List<Message> pending = dirty.get(conversationId);
+        if (pending != null) {
+            hitCounter.increment();
+            return pending;
+        }
+
+        missCounter.increment();
+        List<Message> messages = List.copyOf(delegate.findByConversationId(conversationId));
+        synchronized (cache) {
+            cache.putIfAbsent(conversationId, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * The conversation as held in process, without reading MySQL or counting as a cache read
+     * @return null when the conversation is neither cached nor waiting to be flushed
+     */
+    public List<Message> findCached(String conversationId) {
+        synchronized (cache) {
+            List<Message> cached = cache.get(conversationId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return dirty.get(conversationId);
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        List<Message> snapshot = List.copyOf(messages);
+        synchronized (cache) {
+            cache.put(conversationId, snapshot);
+        }
+        dirty.put(conversationId, snapshot);
+    }
+
+    @Override
+    public synchronized void deleteByConversationId(String conversationId) {
+        synchronized (cache) {
+            cache.remove(conversationId);
+        }
+        dirty.remove(conversationId);
+        delegate.deleteByConversationId(conversationId);
+    }
+
+    /**
+     * Persist the latest snapshot of every dirty conversation
+     */
+    @Scheduled(fixedDelayString = "${chat-memory.write-behind.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            for (Map.Entry<String, List<Message>> entry : dirty.entrySet()) {
+                String conversationId = entry.getKey();
+                List<Message> snapshot = entry.getValue();
+                try {
+                    delegate.saveAll(conversationId, snapshot);
+                    // Only clear the flag if no newer snapshot arrived while writing
+                    dirty.remove(conversationId, snapshot);
+                } catch (Exception e) {
+                    flushFailureCounter.increment();
+                    log.warn("Failed to persist chat memory for conversation {}: {}", conversationId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending chat memory conversations before shutdown", dirty.size());
+        flush();
+    }
+}
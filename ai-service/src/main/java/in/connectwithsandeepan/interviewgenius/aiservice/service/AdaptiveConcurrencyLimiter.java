@@ -0,0 +1,182 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limiter for one AI provider.
+ * The limit grows by roughly one per limit's worth of successful calls and is cut
+ * multiplicatively when a call fails. Latency is not a signal: one provider serves calls that
+ * differ in length by orders of magnitude (a short question, a resume parse, a whole stream), so a
+ * slow call says more about what was asked than about the provider.
+ * Callers over the limit wait in a bounded queue with a deadline; when the queue is full, or calls
+ * in flight and waiting together reach the capacity, they are rejected immediately.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    private static final double LATENCY_SMOOTHING = 0.05;
+
+    private final String provider;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final int capacity;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double smoothedLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(String provider,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      int maxQueue,
+                                      double backoffRatio) {
+        this(provider, initialLimit, minLimit, maxLimit, maxQueue, maxLimit + maxQueue, backoffRatio);
+    }
+
+    /**
+     * @param capacity Most callers that may hold or wait for a permit at once; the limit never grows past it
+     */
+    public AdaptiveConcurrencyLimiter(String provider,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      int maxQueue,
+                                      int capacity,
+                                      double backoffRatio) {
+        this.provider = provider;
+        this.minLimit = Math.min(minLimit, capacity);
+        this.maxLimit = Math.min(maxLimit, capacity);
+        this.limit = Math.min(initialLimit, this.maxLimit);
+        this.maxQueue = maxQueue;
+        this.capacity = capacity;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Wait for a permit for up to maxWait
+     * @throws ProviderSaturatedException if the queue or the capacity is full, or the wait timed out
+     */
+    public Permit acquire(Duration maxWait) {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit();
+            }
+            if (waiting >= maxQueue || inFlight + waiting >= capacity) {
+                throw new ProviderSaturatedException(provider, "wait queue is full", retryAfterSeconds());
+            }
+
+            waiting++;
+            try {
+                long remainingNanos = maxWait.toNanos();
+                while (inFlight >= currentLimit()) {
+                    if (remainingNanos <= 0) {
+                        throw new ProviderSaturatedException(provider, "timed out waiting for capacity", retryAfterSeconds());
+                    }
+                    remainingNanos = permitAvailable.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProviderSaturatedException(provider, "interrupted while waiting for capacity", retryAfterSeconds());
+            } finally {
+                waiting--;
+            }
+
+            inFlight++;
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> {
+                    // Only a hint for Retry-After
+                    smoothedLatencyNanos = smoothedLatencyNanos == 0
+                            ? latencyNanos
+                            : smoothedLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - smoothedLatencyNanos);
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+                case DROPPED -> limit = Math.max(minLimit, limit * backoffRatio);
+                case IGNORED -> {
+                }
+            }
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    // A typical call's duration is a reasonable hint for when capacity frees up
+    private long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds((long) smoothedLatencyNanos));
+    }
+
+    /**
+     * A granted slot; must be released exactly once
+     */
+    public class Permit {
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startNanos, outcome);
+            }
+        }
+    }
+}
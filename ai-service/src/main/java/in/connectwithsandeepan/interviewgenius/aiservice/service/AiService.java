@@ -1,10 +1,16 @@
 package in.connectwithsandeepan.interviewgenius.aiservice.service;
 
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.InterviewFeedback;
 import in.connectwithsandeepan.interviewgenius.aiservice.dto.InterviewResponse;
 import in.connectwithsandeepan.interviewgenius.aiservice.dto.TextToSpeechResponse;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Question;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 public interface AiService {
     Question genarateQuestion();
@@ -17,11 +23,25 @@ public interface AiService {
 
     String transcribeAudio(String filePath);
 
+    String transcribeAudio(InputStream audio, String filename, String contentType);
+
     TextToSpeechResponse textToSpeech(String text, String voice, String userId);
 
+    void streamTextToSpeech(String text, String voice, OutputStream outputStream) throws IOException;
+
     String startInterview(String conversationId, String experienceLevel, String language);
 
     InterviewResponse submitAnswerAndGetNextQuestion(String conversationId, String answer);
 
+    String nextQuestion(String conversationId, String answer);
+
+    InterviewFeedback scoreAnswer(String question, String answer);
+
+    Flux<String> streamStartInterview(String conversationId, String experienceLevel, String language);
+
+    Flux<String> streamAnswerAndNextQuestion(String conversationId, String answer);
+
+    InterviewResponse toInterviewResponse(String streamedContent);
+
     Resume parseResumeText(String resumeText, Long userId);
 }
@@ -1,43 +1,81 @@
 package in.connectwithsandeepan.interviewgenius.aiservice.service;
 
 
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.InterviewFeedback;
 import in.connectwithsandeepan.interviewgenius.aiservice.dto.InterviewResponse;
 import in.connectwithsandeepan.interviewgenius.aiservice.dto.TextToSpeechResponse;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Question;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
 import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.HashUtil;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.SentenceSplitter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
 import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.openai.OpenAiAudioSpeechModel;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.ai.model.Model;
 import org.springframework.ai.openai.OpenAiAudioSpeechOptions;
-import org.springframework.ai.openai.OpenAiAudioTranscriptionModel;
 import org.springframework.ai.openai.OpenAiAudioTranscriptionOptions;
 import org.springframework.ai.openai.api.OpenAiAudioApi;
+import org.springframework.ai.openai.audio.speech.SpeechModel;
 import org.springframework.ai.openai.audio.speech.SpeechPrompt;
 import org.springframework.ai.openai.audio.speech.SpeechResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AiServiceImpl implements AiService {
 
-    private final ChatClient chatClient;
-    private final OpenAiAudioTranscriptionModel openAiTranscriptionModel;
-    private final OpenAiAudioSpeechModel openAiAudioSpeechModel;
+    private static final float TTS_SPEED = 1.0f;
+
+    private static final List<String> AUDIO_EXTENSIONS = List.of("mp3", "mp4", "mpeg", "mpga", "m4a", "wav", "webm", "ogg", "flac");
+
+    private static final Map<String, String> AUDIO_CONTENT_TYPES = Map.of(
+            "mpeg", "mp3",
+            "mp3", "mp3",
+            "mp4", "m4a",
+            "x-m4a", "m4a",
+            "wav", "wav",
+            "x-wav", "wav",
+            "webm", "webm",
+            "ogg", "ogg",
+            "flac", "flac");
+
+    private final QuestionPoolService questionPoolService;
+    private final Model<AudioTranscriptionPrompt, AudioTranscriptionResponse> openAiTranscriptionModel;
+    private final SpeechModel openAiAudioSpeechModel;
 
     // testing with system prompt
     private final ChatClient inteviewChatClient;
@@ -45,57 +83,62 @@ public class AiServiceImpl implements AiService {
     // OpenAI ChatClient for resume parsing (better JSON generation)
     private final ChatClient resumeParserChatClient;
 
-    @Value("${interview.prompt.file-path.for-interview}")
-    private Resource resource;
+    private final ChatClient feedbackChatClient;
 
-    @Value("${interview.prompt.file-path.for-resume}")
-    private Resource resumeParserPromptResource;
+    private final ThreadPoolTaskExecutor ttsExecutor;
+    private final TtsAudioCache ttsAudioCache;
+    private final ResumeParseCache resumeParseCache;
+    private final ResumeSectionParser resumeSectionParser;
+    private final SkillMatcher skillMatcher;
+    private final LlmConcurrencyLimiters llmConcurrencyLimiters;
+    private final LlmMetrics llmMetrics;
+    private final RequestCoalescer requestCoalescer;
+    private final AudioPreprocessor audioPreprocessor;
+    private final ChunkedTranscriber chunkedTranscriber;
+    private final PromptRegistry promptRegistry;
+
+    private final BeanOutputConverter<InterviewResponse> interviewResponseConverter =
+            new BeanOutputConverter<>(InterviewResponse.class);
 
     @Value("${tts.output.directory:./uploads/audio}")
     private String ttsOutputDirectory;
 
+    @Value("${tts.model:tts-1}")
+    private String ttsModel;
+
+    @Value("${transcription.model:whisper-1}")
+    private String transcriptionModel;
+
+    @Value("${transcription.max-upload-bytes:10485760}")
+    private long transcriptionMaxUploadBytes;
+
+    @Value("${transcription.upload-directory:./uploads/transcription}")
+    private String transcriptionUploadDirectory;
+
+    @Value("${tts.pipeline.parallelism:3}")
+    private int ttsParallelism;
+
+    @Value("${tts.pipeline.min-segment-length:40}")
+    private int ttsMinSegmentLength;
+
     @Override
     public Question genarateQuestion() {
-        Question question = chatClient.prompt()
-                .user("Give java mcq question with 4 options and answer")
-                .call()
-                .entity(Question.class);
-
-        assert question != null;
-        return question;
+        return questionPoolService.take(QuestionType.MCQ, Question.class);
     }
 
     @Override
     public InputTypeQuestion generateShortInputTypeQuestion() {
-        InputTypeQuestion question = chatClient.prompt()
-                .user("Give java a question that can be answered in one character or in couple of words or sentence")
-                .call()
-                .entity(InputTypeQuestion.class);
-
-        assert question != null;
-        return question;
+        return questionPoolService.take(QuestionType.SHORT_INPUT, InputTypeQuestion.class);
     }
 
     @Override
     public InputTypeQuestion generateDescriptiveInputTypeQuestion() {
-        InputTypeQuestion question = chatClient.prompt()
-                .user("Give Java a question that can be answered in couple of sentences, theory and conceptual questions, and add the last question if you asked previously.")
-                .call()
-                .entity(InputTypeQuestion.class);
-
-        assert question != null;
-        return question;
+        return questionPoolService.take(QuestionType.DESCRIPTIVE_INPUT, InputTypeQuestion.class);
     }
 
     @Override
     public InputTypeQuestion genarateInputTypeDsaQuestion() {
-        InputTypeQuestion question = chatClient.prompt()
-                .user("Give DSA(Data Structure and Algorithm) a question that can be answered in one character or in couple of words or sentence")
-                .call()
-                .entity(InputTypeQuestion.class);
-
-        assert question != null;
-        return question;
+        return questionPoolService.take(QuestionType.DSA_INPUT, InputTypeQuestion.class);
     }
 
     @Override
@@ -114,21 +157,123 @@ public class AiServiceImpl implements AiService {
         }
 
         try {
-            FileSystemResource audioFile = new FileSystemResource(filePath);
-            OpenAiAudioApi.TranscriptResponseFormat responseFormat = OpenAiAudioApi.TranscriptResponseFormat.JSON;
-            OpenAiAudioTranscriptionOptions options = OpenAiAudioTranscriptionOptions.builder()
-                    .responseFormat(responseFormat)
-                    .prompt("Transcribe the following audio to English text only. if not english audio return empty string")
-                    .build();
-            AudioTranscriptionPrompt transcriptionPrompt = new AudioTranscriptionPrompt(audioFile, options);
-            AudioTranscriptionResponse response = openAiTranscriptionModel.call(transcriptionPrompt);
-
-            return response.getResult().getOutput();
+            long audioBytes = Files.size(path);
+            // Same file, same size and modification time: a retry of a transcription already in flight
+            String coalescingKey = HashUtil.sha256(path.toAbsolutePath().normalize().toString(),
+                    Long.toString(audioBytes), Long.toString(Files.getLastModifiedTime(path).toMillis()));
+            return transcribe(path, coalescingKey);
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error processing audio file: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public String transcribeAudio(InputStream audio, String filename, String contentType) {
+        String extension = audioExtension(filename, contentType);
+
+        Path spooled = null;
+        try {
+            Path uploadDir = Paths.get(transcriptionUploadDirectory);
+            Files.createDirectories(uploadDir);
+            spooled = Files.createTempFile(uploadDir, "transcribe-", "." + extension);
+
+            // Copy through a fixed-size buffer, hashing on the way so identical uploads can be coalesced
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long copied = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream out = Files.newOutputStream(spooled)) {
+                int read;
+                while ((read = audio.read(buffer)) != -1) {
+                    copied += read;
+                    if (copied > transcriptionMaxUploadBytes) {
+                        throw new IllegalArgumentException("Audio exceeds the maximum size of " + transcriptionMaxUploadBytes + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (copied == 0) {
+                throw new IllegalArgumentException("Audio is empty");
+            }
+
+            return transcribe(spooled, HexFormat.of().formatHex(digest.digest()) + "." + extension);
+        } catch (IllegalArgumentException | ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error processing audio stream: " + e.getMessage(), e);
+        } finally {
+            if (spooled != null) {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    log.warn("Failed to delete spooled audio {}: {}", spooled, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private String transcribe(Path path, String coalescingKey) {
+        return requestCoalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, coalescingKey, () -> {
+            // Trim silence and downsample WAV answers; the preprocessed copy only lives for this call
+            AudioPreprocessor.Result preprocessed = audioPreprocessor.process(path, Paths.get(transcriptionUploadDirectory));
+            try {
+                return chunkedTranscriber.transcribe(preprocessed.audio(), Paths.get(transcriptionUploadDirectory),
+                        this::callTranscriptionModel);
+            } finally {
+                if (preprocessed.processed()) {
+                    try {
+                        Files.deleteIfExists(preprocessed.audio());
+                    } catch (IOException e) {
+                        log.warn("Failed to delete preprocessed audio {}: {}", preprocessed.audio(), e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private String callTranscriptionModel(Path audio) {
+        FileSystemResource audioFile = new FileSystemResource(audio);
+        OpenAiAudioApi.TranscriptResponseFormat responseFormat = OpenAiAudioApi.TranscriptResponseFormat.JSON;
+        OpenAiAudioTranscriptionOptions options = OpenAiAudioTranscriptionOptions.builder()
+                .responseFormat(responseFormat)
+                .prompt("Transcribe the following audio to English text only. if not english audio return empty string")
+                .build();
+        AudioTranscriptionPrompt transcriptionPrompt = new AudioTranscriptionPrompt(audioFile, options);
+        long audioBytes;
+        try {
+            audioBytes = Files.size(audio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return llmConcurrencyLimiters.execute(LlmConcurrencyLimiters.OPENAI_TRANSCRIPTION,
+                        () -> llmMetrics.recordAudio(LlmMetrics.TRANSCRIBE_AUDIO, transcriptionModel, audioBytes,
+                                () -> openAiTranscriptionModel.call(transcriptionPrompt), result -> 0L))
+                .getResult()
+                .getOutput();
+    }
+
+    /**
+     * File extension Whisper uses to detect the audio format
+     */
+    private String audioExtension(String filename, String contentType) {
+        if (filename != null && filename.lastIndexOf('.') > 0) {
+            String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+            if (AUDIO_EXTENSIONS.contains(extension)) {
+                return extension;
+            }
+        }
+        if (contentType != null) {
+            String extension = AUDIO_CONTENT_TYPES.get(MediaType.parseMediaType(contentType).getSubtype().toLowerCase());
+            if (extension != null) {
+                return extension;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported audio format. Supported formats: " + String.join(", ", AUDIO_EXTENSIONS));
+    }
+
     @Override
     public TextToSpeechResponse textToSpeech(String text, String voice, String userId) {
         if (text == null || text.trim().isEmpty()) {
@@ -146,18 +291,24 @@ public class AiServiceImpl implements AiService {
             String filename = "tts_" + UUID.randomUUID() + ".mp3";
             Path outputPath = userDir.resolve(filename);
 
-            // Build speech options
-            OpenAiAudioSpeechOptions speechOptions = OpenAiAudioSpeechOptions.builder()
-                    .responseFormat(OpenAiAudioApi.SpeechRequest.AudioResponseFormat.MP3)
-                    .speed(1.0f)
-                    .build();
+            // Identical requests share one content-addressed clip; the caller gets its own link to it,
+            // which eviction cannot delete
+            String cacheKey = ttsAudioCache.key(text, selectedVoice, TTS_SPEED, ttsModel);
+            if (ttsAudioCache.isEnabled() && ttsAudioCache.linkTo(cacheKey, outputPath)) {
+                return TextToSpeechResponse.builder()
+                        .filePath(outputPath.toString())
+                        .fileSizeBytes(Files.size(outputPath))
+                        .build();
+            }
 
             // Generate and save audio
-            SpeechResponse response = openAiAudioSpeechModel.call(new SpeechPrompt(text, speechOptions));
-            byte[] audioBytes = response.getResult().getOutput();
+            byte[] audioBytes = synthesize(text, selectedVoice);
             try (FileOutputStream fos = new FileOutputStream(outputPath.toFile())) {
                 fos.write(audioBytes);
             }
+            if (ttsAudioCache.isEnabled()) {
+                cache(cacheKey, audioBytes);
+            }
 
             return TextToSpeechResponse.builder()
                     .filePath(outputPath.toString())
@@ -169,31 +320,181 @@ public class AiServiceImpl implements AiService {
         }
     }
 
+    @Override
+    public void streamTextToSpeech(String text, String voice, OutputStream outputStream) throws IOException {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("Text is required");
+        }
+
+        String selectedVoice = (voice == null || voice.trim().isEmpty()) ? "alloy" : voice;
+        List<String> sentences = SentenceSplitter.split(text, ttsMinSegmentLength);
+
+        // Keep at most ttsParallelism sentences in flight, but write them strictly in order
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        try {
+            while (next < sentences.size() || !inFlight.isEmpty()) {
+                while (next < sentences.size() && inFlight.size() < ttsParallelism) {
+                    String sentence = sentences.get(next++);
+                    inFlight.addLast(CompletableFuture.supplyAsync(() -> synthesizeCached(sentence, selectedVoice), ttsExecutor));
+                }
+                byte[] segment = inFlight.removeFirst().join();
+                outputStream.write(segment);
+                outputStream.flush();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+                throw deadlineExceeded;
+            }
+            throw new RuntimeException("Error synthesizing speech: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private byte[] synthesizeCached(String text, String voice) {
+        if (!ttsAudioCache.isEnabled()) {
+            return synthesize(text, voice);
+        }
+
+        String cacheKey = ttsAudioCache.key(text, voice, TTS_SPEED, ttsModel);
+        try {
+            byte[] cached = ttsAudioCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read cached speech {}: {}", cacheKey, e.getMessage());
+        }
+
+        byte[] audioBytes = synthesize(text, voice);
+        cache(cacheKey, audioBytes);
+        return audioBytes;
+    }
+
+    private void cache(String cacheKey, byte[] audioBytes) {
+        try {
+            ttsAudioCache.put(cacheKey, audioBytes);
+        } catch (IOException e) {
+            log.warn("Failed to cache synthesized speech: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Identical concurrent synthesis requests share one provider call
+     */
+    private byte[] synthesize(String text, String voice) {
+        return requestCoalescer.execute(RequestCoalescer.TEXT_TO_SPEECH, ttsAudioCache.key(text, voice, TTS_SPEED, ttsModel),
+                () -> synthesizeUncoalesced(text, voice));
+    }
+
+    private byte[] synthesizeUncoalesced(String text, String voice) {
+        OpenAiAudioSpeechOptions speechOptions = OpenAiAudioSpeechOptions.builder()
+                .model(ttsModel)
+                .voice(voice)
+                .responseFormat(OpenAiAudioApi.SpeechRequest.AudioResponseFormat.MP3)
+                .speed(TTS_SPEED)
+                .build();
+
+        SpeechResponse response = llmConcurrencyLimiters.execute(LlmConcurrencyLimiters.OPENAI_SPEECH,
+                () -> llmMetrics.recordAudio(LlmMetrics.TEXT_TO_SPEECH, ttsModel, 0L,
+                        () -> openAiAudioSpeechModel.call(new SpeechPrompt(text, speechOptions)),
+                        result -> result.getResult().getOutput().length));
+        return response.getResult().getOutput();
+    }
+
     @Override
     public String startInterview(String conversationId, String experienceLevel, String language) {
         return inteviewChatClient.prompt()
-                .system(resource)
-                .system(s -> s.param("experience_level", experienceLevel).param("language", language))
+                .system(interviewPrompt(experienceLevel, language))
                 .user("Start the interview by asking the first question.")
-                .advisors(a -> a.param("chat_memory_conversation_id", conversationId))
+                .advisors(a -> a.param("chat_memory_conversation_id", conversationId)
+                        .param(LlmMetrics.ENDPOINT, LlmMetrics.START_INTERVIEW))
                 .call()
                 .content();
     }
 
     @Override
     public InterviewResponse submitAnswerAndGetNextQuestion(String conversationId, String answer) {
-        String promptText = String.format(
+        return inteviewChatClient.prompt()
+                .user(answerPrompt(answer))
+                .advisors(a -> a.param("chat_memory_conversation_id", conversationId)
+                        .param(LlmMetrics.ENDPOINT, LlmMetrics.SUBMIT_ANSWER))
+                .call()
+                .entity(InterviewResponse.class);
+    }
+
+    @Override
+    public String nextQuestion(String conversationId, String answer) {
+        // Only the next question is generated here; feedback is scored separately by scoreAnswer
+        return inteviewChatClient.prompt()
+                .user(answerPrompt(answer) + "Reply with the next question only, without feedback on the answer.\n")
+                .advisors(a -> a.param("chat_memory_conversation_id", conversationId)
+                        .param(LlmMetrics.ENDPOINT, LlmMetrics.NEXT_QUESTION))
+                .call()
+                .content();
+    }
+
+    @Override
+    public InterviewFeedback scoreAnswer(String question, String answer) {
+        if (question == null || question.isBlank()) {
+            throw new IllegalArgumentException("Question is required");
+        }
+
+        return feedbackChatClient.prompt()
+                .system(promptRegistry.render(PromptRegistry.FEEDBACK))
+                .user("""
+                        Question: %s
+
+                        Candidate's answer: %s
+                        """.formatted(question, answer == null ? "" : answer))
+                .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.SCORE_ANSWER))
+                .call()
+                .entity(InterviewFeedback.class);
+    }
+
+    @Override
+    public Flux<String> streamStartInterview(String conversationId, String experienceLevel, String language) {
+        // The memory advisor aggregates the streamed tokens and stores the full reply once the stream completes
+        return inteviewChatClient.prompt()
+                .system(interviewPrompt(experienceLevel, language))
+                .user("Start the interview by asking the first question.")
+                .advisors(a -> a.param("chat_memory_conversation_id", conversationId)
+                        .param(LlmMetrics.ENDPOINT, LlmMetrics.START_INTERVIEW))
+                .stream()
+                .content()
+                .contextWrite(RequestDeadline.context());
+    }
+
+    @Override
+    public Flux<String> streamAnswerAndNextQuestion(String conversationId, String answer) {
+        // Same format instructions .entity() would add, so the streamed text can be converted at the end
+        return inteviewChatClient.prompt()
+                .user(answerPrompt(answer) + "\n" + interviewResponseConverter.getFormat())
+                .advisors(a -> a.param("chat_memory_conversation_id", conversationId)
+                        .param(LlmMetrics.ENDPOINT, LlmMetrics.SUBMIT_ANSWER))
+                .stream()
+                .content()
+                .contextWrite(RequestDeadline.context());
+    }
+
+    @Override
+    public InterviewResponse toInterviewResponse(String streamedContent) {
+        return interviewResponseConverter.convert(streamedContent);
+    }
+
+    private String interviewPrompt(String experienceLevel, String language) {
+        return promptRegistry.render(PromptRegistry.INTERVIEW,
+                Map.of("experience_level", experienceLevel, "language", language));
+    }
+
+    private String answerPrompt(String answer) {
+        return String.format(
                 "Candidate's answer: %s\n\n" +
                         "Based on this answer, provide:\n" +
                         "1. Ask the next relevant question\n",
                 answer
         );
-
-        return inteviewChatClient.prompt()
-                .user(promptText)
-                .advisors(a -> a.param("chat_memory_conversation_id", conversationId))
-                .call()
-                .entity(InterviewResponse.class);
     }
 
     @Override
@@ -204,24 +505,24 @@ public class AiServiceImpl implements AiService {
             throw new IllegalArgumentException("Resume text cannot be null or empty");
         }
 
-        try {
-            log.debug("Resume text length: {} characters", resumeText.length());
+        // A double-submitted resume waits for the parse already in flight
+        return requestCoalescer.execute(RequestCoalescer.PARSE_RESUME, resumeParseCache.key(resumeText),
+                () -> parseResumeTextCached(resumeText, userId));
+    }
 
-            // Create user prompt with the full resume text
-            String userPrompt = """
-                    Resume Text to Parse:
-                    
-                    %s
-                    """.formatted(resumeText);
+    private Resume parseResumeTextCached(String resumeText, Long userId) {
+        Optional<Resume> cached = resumeParseCache.get(resumeText);
+        if (cached.isPresent()) {
+            log.info("Returning cached resume parse for userId: {}", userId);
+            return cached.get();
+        }
 
-            log.debug("Sending resume parse request to OpenAI with system prompt from template");
+        try {
+            log.debug("Resume text length: {} characters", resumeText.length());
 
-            // Call OpenAI with system prompt from template file
-            Resume resume = resumeParserChatClient.prompt()
-                    .system(resumeParserPromptResource)  // System prompt from .st file
-                    .user(userPrompt)                     // User prompt with full resume text
-                    .call()
-                    .entity(Resume.class);
+            // Long resumes are parsed section by section in parallel; the rest in one call
+            Resume resume = resumeSectionParser.parse(resumeText)
+                    .orElseGet(() -> parseWholeResume(resumeText));
 
             if (resume != null) {
 
@@ -240,13 +541,52 @@ public class AiServiceImpl implements AiService {
                         resume.getWorkExperiences().size(),
                         resume.getEducations().size(),
                         resume.getSkills().size());
+
+                resumeParseCache.put(resumeText, resume);
             }
 
             return resume;
 
+        } catch (ProviderSaturatedException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing resume text: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to parse resume text: " + e.getMessage(), e);
         }
     }
+
+    private Resume parseWholeResume(String resumeText) {
+        // Create user prompt with the full resume text
+        String userPrompt = """
+                Resume Text to Parse:
+                
+                %s
+                """.formatted(resumeText);
+
+        // Skills are matched against the dictionary first; the model is only asked for them when
+        // the dictionary accounts for too little of the resume's own skill list
+        ResumeSections sections = ResumeSections.split(resumeText);
+        SkillMatcher.Extraction localSkills = skillMatcher.extract(resumeText, sections.text(ResumeSections.Section.SKILLS));
+        String systemPrompt = localSkills.sufficient() ? PromptRegistry.RESUME_NO_SKILLS : PromptRegistry.RESUME;
+
+        log.debug("Sending resume parse request to OpenAI with system prompt {}", systemPrompt);
+
+        // Call OpenAI with system prompt from template file
+        Resume resume = resumeParserChatClient.prompt()
+                .system(promptRegistry.render(systemPrompt))  // System prompt from .st file
+                .user(userPrompt)                     // User prompt with full resume text
+                .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.PARSE_RESUME))
+                .call()
+                .entity(Resume.class);
+
+        // Contact details are read from the text rather than trusted to the model, and the model's
+        // skills are normalized to the dictionary's names alongside the ones matched locally
+        if (resume != null) {
+            sections.email().ifPresent(resume::setEmail);
+            sections.phone().ifPresent(resume::setPhone);
+            resume.setSkills(skillMatcher.merge(localSkills.skills(),
+                    localSkills.sufficient() || resume.getSkills() == null ? List.of() : resume.getSkills()));
+        }
+        return resume;
+    }
 }
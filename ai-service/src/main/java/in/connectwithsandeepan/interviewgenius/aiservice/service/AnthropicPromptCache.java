@@ -0,0 +1,268 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Anthropic prompt caching for chat clients that opt in through
+ * {@link in.connectwithsandeepan.interviewgenius.aiservice.advisor.PromptCacheAdvisor}.
+ * Spring AI 1.0 has no cache_control option, so the Messages API request body is rewritten on its way
+ * out: the system prompt and the stable conversation prefix (everything before the newest message)
+ * get cache breakpoints. Cache read and write token counts are read from the response's usage.
+ */
+@Slf4j
+@Component
+public class AnthropicPromptCache {
+
+    private static final String MESSAGES_PATH = "/v1/messages";
+    private static final String CONTEXT_KEY = AnthropicPromptCache.class.getName();
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+    // message_start, which carries the cache usage, is the first event of a stream
+    private static final int MAX_STREAM_SCAN_CHARS = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final LlmMetrics llmMetrics;
+    private final boolean enabled;
+
+    public AnthropicPromptCache(ObjectMapper objectMapper, LlmMetrics llmMetrics,
+                                @Value("${anthropic-prompt-cache.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.llmMetrics = llmMetrics;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Run a blocking call with caching requested for the Anthropic request it makes on this thread
+     */
+    public static <T> T cached(String endpoint, Supplier<T> call) {
+        String previous = CURRENT_ENDPOINT.get();
+        CURRENT_ENDPOINT.set(endpoint);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_ENDPOINT.remove();
+            } else {
+                CURRENT_ENDPOINT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Task that keeps the caching requested on the submitting thread, for calls handed to another thread
+     */
+    public static Runnable propagate(Runnable task) {
+        String endpoint = CURRENT_ENDPOINT.get();
+        if (endpoint == null) {
+            return task;
+        }
+        return () -> cached(endpoint, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reactor context that requests caching for the Anthropic request a stream makes
+     */
+    public static Context cachedContext(String endpoint) {
+        return Context.of(CONTEXT_KEY, endpoint);
+    }
+
+    /**
+     * Interceptor for the blocking client used by non-streaming calls
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            String endpoint = CURRENT_ENDPOINT.get();
+            if (!enabled || endpoint == null || !request.getURI().getPath().endsWith(MESSAGES_PATH)) {
+                return execution.execute(request, body);
+            }
+            byte[] marked = markBreakpoints(body);
+            request.getHeaders().setContentLength(marked.length);
+            ClientHttpResponse response = execution.execute(request, marked);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return response;
+            }
+            byte[] responseBody = response.getBody().readAllBytes();
+            recordUsage(endpoint, responseBody);
+            return new BufferedResponse(response, responseBody);
+        };
+    }
+
+    /**
+     * Filter for the reactive client used by streaming calls
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            String endpoint = context.getOrDefault(CONTEXT_KEY, null);
+            if (!enabled || endpoint == null || !request.url().getPath().endsWith(MESSAGES_PATH)) {
+                return next.exchange(request);
+            }
+            ClientRequest marked = ClientRequest.from(request)
+                    .body((outputMessage, insertContext) -> request.body().insert(new ClientHttpRequestDecorator(outputMessage) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return DataBufferUtils.join(body).flatMap(buffer -> {
+                                byte[] bytes = new byte[buffer.readableByteCount()];
+                                buffer.read(bytes);
+                                DataBufferUtils.release(buffer);
+                                byte[] rewritten = markBreakpoints(bytes);
+                                getHeaders().setContentLength(rewritten.length);
+                                return super.writeWith(Mono.just(bufferFactory().wrap(rewritten)));
+                            });
+                        }
+                    }, insertContext))
+                    .build();
+
+            return next.exchange(marked).map(response -> {
+                StringBuilder scanned = new StringBuilder();
+                AtomicBoolean done = new AtomicBoolean();
+                return response.mutate()
+                        .body(body -> body.doOnNext(buffer -> {
+                            if (!done.get()) {
+                                scanned.append(buffer.toString(buffer.readPosition(), buffer.readableByteCount(),
+                                        StandardCharsets.UTF_8));
+                                done.set(recordStreamUsage(endpoint, scanned.toString()) || scanned.length() > MAX_STREAM_SCAN_CHARS);
+                            }
+                        }))
+                        .build();
+            });
+        });
+    }
+
+    /**
+     * Add cache breakpoints to a Messages API request: on the system prompt, and on the last block of
+     * the message before the newest one, so the next turn reads the conversation so far from the cache.
+     * The newest message is left unmarked because structured-output calls append format instructions
+     * to it that chat memory does not replay. The body is returned unchanged when it cannot be parsed.
+     */
+    byte[] markBreakpoints(byte[] body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            if (!(root instanceof ObjectNode request)) {
+                return body;
+            }
+            JsonNode system = request.get("system");
+            if (system != null && system.isTextual() && !system.asText().isBlank()) {
+                ArrayNode blocks = request.putArray("system");
+                blocks.add(cacheControl(textBlock(system.asText())));
+            } else if (system instanceof ArrayNode blocks && !blocks.isEmpty() && blocks.get(blocks.size() - 1) instanceof ObjectNode last) {
+                cacheControl(last);
+            }
+
+            JsonNode messages = request.get("messages");
+            if (messages instanceof ArrayNode list && list.size() >= 2 && list.get(list.size() - 2) instanceof ObjectNode prefixEnd) {
+                JsonNode content = prefixEnd.get("content");
+                if (content != null && content.isTextual()) {
+                    prefixEnd.putArray("content").add(cacheControl(textBlock(content.asText())));
+                } else if (content instanceof ArrayNode blocks && !blocks.isEmpty() && blocks.get(blocks.size() - 1) instanceof ObjectNode last) {
+                    cacheControl(last);
+                }
+            }
+            return objectMapper.writeValueAsBytes(request);
+        } catch (IOException e) {
+            log.warn("Could not add prompt cache breakpoints, sending the request unchanged: {}", e.getMessage());
+            return body;
+        }
+    }
+
+    private ObjectNode textBlock(String text) {
+        return objectMapper.createObjectNode().put("type", "text").put("text", text);
+    }
+
+    private ObjectNode cacheControl(ObjectNode block) {
+        block.putObject("cache_control").put("type", "ephemeral");
+        return block;
+    }
+
+    private void recordUsage(String endpoint, byte[] responseBody) {
+        try {
+            JsonNode response = objectMapper.readTree(responseBody);
+            record(endpoint, response.path("model").asText(null), response.path("usage"));
+        } catch (IOException e) {
+            log.debug("Could not read prompt cache usage: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Record the usage of the stream's message_start event once its data line has been received
+     * @return true once recorded
+     */
+    private boolean recordStreamUsage(String endpoint, String scanned) {
+        int event = scanned.indexOf("\"message_start\"");
+        int lineEnd = event < 0 ? -1 : scanned.indexOf('\n', event);
+        if (lineEnd < 0) {
+            return false;
+        }
+        int data = scanned.lastIndexOf("data:", event);
+        try {
+            JsonNode message = objectMapper.readTree(scanned.substring(data + "data:".length(), lineEnd)).path("message");
+            record(endpoint, message.path("model").asText(null), message.path("usage"));
+        } catch (IOException | StringIndexOutOfBoundsException e) {
+            log.debug("Could not read prompt cache usage from stream: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    private void record(String endpoint, String model, JsonNode usage) {
+        llmMetrics.recordCacheTokens(endpoint, model,
+                usage.path("cache_read_input_tokens").asLong(0),
+                usage.path("cache_creation_input_tokens").asLong(0));
+    }
+
+    /**
+     * Response whose body has already been read, so it can be read again by the caller
+     */
+    private record BufferedResponse(ClientHttpResponse delegate, byte[] body) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Shrinks PCM WAV answers before they are sent to Whisper: energy-based voice activity detection
+ * trims leading and trailing silence, and the remaining audio is mixed to mono and downsampled
+ * to 16 kHz 16-bit, which is what Whisper works at internally anyway.
+ * Other formats (and WAV files the JDK cannot decode) pass through unchanged.
+ */
+@Slf4j
+@Component
+public class AudioPreprocessor {
+
+    /**
+     * Audio to send, and whether it is a new temp file the caller must delete
+     */
+    public record Result(Path audio, boolean processed) {
+    }
+
+    private static final int OUTPUT_BITS = 16;
+    private static final int WAV_HEADER_BYTES = 44;
+    // Quietest windows used to estimate the noise floor
+    private static final double NOISE_FLOOR_PERCENTILE = 0.1;
+
+    private final boolean enabled;
+    private final int targetSampleRate;
+    private final int windowMillis;
+    private final int paddingMillis;
+    private final double thresholdRatio;
+    private final double minThreshold;
+
+    private final Counter trimmedCounter;
+    private final Counter passthroughCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary bytesRemoved;
+    private final DistributionSummary secondsRemoved;
+
+    public AudioPreprocessor(MeterRegistry meterRegistry,
+                             @Value("${transcription.preprocess.enabled:true}") boolean enabled,
+                             @Value("${transcription.preprocess.target-sample-rate:16000}") int targetSampleRate,
+                             @Value("${transcription.preprocess.window-ms:20}") int windowMillis,
+                             @Value("${transcription.preprocess.padding-ms:250}") int paddingMillis,
+                             @Value("${transcription.preprocess.threshold-ratio:4.0}") double thresholdRatio,
+                             @Value("${transcription.preprocess.min-threshold-dbfs:-50}") double minThresholdDbfs) {
+        this.enabled = enabled;
+        this.targetSampleRate = targetSampleRate;
+        this.windowMillis = windowMillis;
+        this.paddingMillis = paddingMillis;
+        this.thresholdRatio = thresholdRatio;
+        this.minThreshold = Math.pow(10, minThresholdDbfs / 20);
+
+        this.trimmedCounter = Counter.builder("ai.audio.preprocess")
+                .description("Audio files considered for silence trimming and downsampling")
+                .tag("result", "processed")
+                .register(meterRegistry);
+        this.passthroughCounter = Counter.builder("ai.audio.preprocess")
+                .description("Audio files considered for silence trimming and downsampling")
+                .tag("result", "passthrough")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("ai.audio.preprocess")
+                .description("Audio files considered for silence trimming and downsampling")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.bytesRemoved = DistributionSummary.builder("ai.audio.preprocess.bytes.removed")
+                .description("Bytes removed from an audio file before transcription")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.secondsRemoved = DistributionSummary.builder("ai.audio.preprocess.seconds.removed")
+                .description("Seconds of silence trimmed from an audio file before transcription")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Trim and downsample a WAV file into a new file in workDir; anything else is returned as is
+     */
+    public Result process(Path audio, Path workDir) {
+        if (!enabled || !audio.getFileName().toString().toLowerCase().endsWith(".wav")) {
+            passthroughCounter.increment();
+            return new Result(audio, false);
+        }
+
+        Path output = null;
+        try {
+            AudioFormat format;
+            try (AudioInputStream stream = AudioSystem.getAudioInputStream(audio.toFile())) {
+                format = stream.getFormat();
+            }
+            if (!WavEnergy.isSupportedPcm(format)) {
+                passthroughCounter.increment();
+                return new Result(audio, false);
+            }
+
+            int windowFrames = Math.max(1, (int) (format.getFrameRate() * windowMillis / 1000));
+            double[] energies = WavEnergy.windowEnergies(audio, format, windowFrames);
+            long totalFrames = (long) energies.length * windowFrames;
+
+            int firstVoiced = -1;
+            int lastVoiced = -1;
+            double threshold = threshold(energies);
+            for (int i = 0; i < energies.length; i++) {
+                if (energies[i] > threshold) {
+                    if (firstVoiced < 0) {
+                        firstVoiced = i;
+                    }
+                    lastVoiced = i;
+                }
+            }
+            // All silence: leave it to Whisper rather than send an empty file
+            if (firstVoiced < 0) {
+                passthroughCounter.increment();
+                return new Result(audio, false);
+            }
+
+            long paddingFrames = (long) (format.getFrameRate() * paddingMillis / 1000);
+            long startFrame = Math.max(0, (long) firstVoiced * windowFrames - paddingFrames);
+            long endFrame = Math.min(totalFrames, (long) (lastVoiced + 1) * windowFrames + paddingFrames);
+
+            int outputRate = Math.min(targetSampleRate, (int) format.getSampleRate());
+            Files.createDirectories(workDir);
+            output = Files.createTempFile(workDir, "preprocessed-", ".wav");
+            writeMonoPcm(audio, format, startFrame, endFrame, outputRate, output);
+
+            long before = Files.size(audio);
+            long after = Files.size(output);
+            if (after >= before) {
+                Files.deleteIfExists(output);
+                passthroughCounter.increment();
+                return new Result(audio, false);
+            }
+
+            trimmedCounter.increment();
+            bytesRemoved.record(before - after);
+            secondsRemoved.record((totalFrames - (endFrame - startFrame)) / format.getFrameRate());
+            log.debug("Preprocessed {}: {} -> {} bytes, kept frames {}-{} of {}", audio.getFileName(), before, after,
+                    startFrame, endFrame, totalFrames);
+            return new Result(output, true);
+        } catch (UnsupportedAudioFileException e) {
+            passthroughCounter.increment();
+            return new Result(audio, false);
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Audio preprocessing failed for {}, sending it unchanged: {}", audio.getFileName(), e.getMessage());
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+            return new Result(audio, false);
+        }
+    }
+
+    private double threshold(double[] energies) {
+        if (energies.length == 0) {
+            return Double.MAX_VALUE;
+        }
+        double[] sorted = energies.clone();
+        Arrays.sort(sorted);
+        double noiseFloor = sorted[(int) (NOISE_FLOOR_PERCENTILE * (sorted.length - 1))];
+        return Math.max(minThreshold, noiseFloor * thresholdRatio);
+    }
+
+    /**
+     * Second pass: copy frames [startFrame, endFrame) as 16-bit mono, averaging source samples
+     * into each output sample (a box filter that also keeps aliasing down)
+     */
+    private void writeMonoPcm(Path audio, AudioFormat format, long startFrame, long endFrame, int outputRate, Path output)
+            throws IOException, UnsupportedAudioFileException {
+        double ratio = format.getSampleRate() / outputRate;
+        int frameSize = format.getFrameSize();
+        long dataBytes = 0;
+
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(audio.toFile());
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            out.write(new byte[WAV_HEADER_BYTES]);
+            skipFully(stream, startFrame * frameSize);
+
+            byte[] buffer = new byte[4096 * frameSize];
+            long frame = 0;
+            long framesToCopy = endFrame - startFrame;
+            long currentBucket = 0;
+            double sum = 0;
+            int samplesInBucket = 0;
+
+            while (frame < framesToCopy) {
+                int framesToRead = (int) Math.min(buffer.length / frameSize, framesToCopy - frame);
+                int read = readFully(stream, buffer, framesToRead * frameSize) / frameSize;
+                if (read == 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++, frame++) {
+                    long bucket = (long) (frame / ratio);
+                    if (bucket != currentBucket && samplesInBucket > 0) {
+                        writeSample(out, sum / samplesInBucket);
+                        dataBytes += 2;
+                        sum = 0;
+                        samplesInBucket = 0;
+                    }
+                    currentBucket = bucket;
+                    sum += WavEnergy.monoSample(buffer, i * frameSize, format);
+                    samplesInBucket++;
+                }
+            }
+            if (samplesInBucket > 0) {
+                writeSample(out, sum / samplesInBucket);
+                dataBytes += 2;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+            channel.write(wavHeader(outputRate, dataBytes), 0);
+        }
+    }
+
+    private void writeSample(OutputStream out, double sample) throws IOException {
+        int value = (int) Math.round(Math.max(-1.0, Math.min(1.0, sample)) * Short.MAX_VALUE);
+        out.write(value & 0xFF);
+        out.write((value >> 8) & 0xFF);
+    }
+
+    private ByteBuffer wavHeader(int sampleRate, long dataBytes) {
+        int blockAlign = OUTPUT_BITS / 8;
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'});
+        header.putInt((int) (36 + dataBytes));
+        header.put(new byte[]{'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        header.putInt(16);
+        header.putShort((short) 1);
+        header.putShort((short) 1);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * blockAlign);
+        header.putShort((short) blockAlign);
+        header.putShort((short) OUTPUT_BITS);
+        header.put(new byte[]{'d', 'a', 't', 'a'});
+        header.putInt((int) dataBytes);
+        header.flip();
+        return header;
+    }
+
+    private int readFully(AudioInputStream stream, byte[] buffer, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = stream.read(buffer, total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private void skipFully(AudioInputStream stream, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = stream.skip(remaining);
+            if (skipped <= 0) {
+                break;
+            }
+            remaining -= skipped;
+        }
+    }
+}
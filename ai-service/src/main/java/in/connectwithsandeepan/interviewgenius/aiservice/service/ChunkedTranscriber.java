@@ -0,0 +1,245 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Transcribes long PCM WAV recordings as several overlapping segments in parallel.
+ * Cut points are placed at the quietest window near each even split, segments are transcribed
+ * concurrently on a bounded executor and the transcripts are stitched back in order, dropping
+ * words repeated across the overlap. Short recordings and other formats are transcribed whole.
+ */
+@Slf4j
+@Component
+public class ChunkedTranscriber {
+
+    private static final int WINDOW_MILLIS = 20;
+
+    private final ThreadPoolTaskExecutor transcriptionExecutor;
+    private final boolean enabled;
+    private final double minDurationSeconds;
+    private final double segmentSeconds;
+    private final int maxSegments;
+    private final int overlapMillis;
+    private final int searchWindowMillis;
+    private final int maxOverlapWords;
+    private final DistributionSummary segmentCounts;
+
+    public ChunkedTranscriber(@Qualifier("transcriptionExecutor") ThreadPoolTaskExecutor transcriptionExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${transcription.chunking.enabled:false}") boolean enabled,
+                              @Value("${transcription.chunking.min-duration-seconds:60}") double minDurationSeconds,
+                              @Value("${transcription.chunking.segment-seconds:30}") double segmentSeconds,
+                              @Value("${transcription.chunking.max-segments:8}") int maxSegments,
+                              @Value("${transcription.chunking.overlap-ms:1000}") int overlapMillis,
+                              @Value("${transcription.chunking.search-window-ms:5000}") int searchWindowMillis,
+                              @Value("${transcription.chunking.max-overlap-words:12}") int maxOverlapWords) {
+        this.transcriptionExecutor = transcriptionExecutor;
+        this.enabled = enabled;
+        this.minDurationSeconds = minDurationSeconds;
+        this.segmentSeconds = segmentSeconds;
+        this.maxSegments = maxSegments;
+        this.overlapMillis = overlapMillis;
+        this.searchWindowMillis = searchWindowMillis;
+        this.maxOverlapWords = maxOverlapWords;
+        this.segmentCounts = DistributionSummary.builder("ai.audio.transcription.segments")
+                .description("Segments each recording was transcribed in")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Transcribe the audio whole, or in parallel segments when it is a long WAV recording
+     * @param audio Audio file to transcribe
+     * @param workDir Directory for the temporary segment files
+     * @param transcribeFile Transcription of a single file
+     */
+    public String transcribe(Path audio, Path workDir, Function<Path, String> transcribeFile) {
+        List<Path> segments = enabled ? split(audio, workDir) : List.of();
+        if (segments.size() < 2) {
+            segmentCounts.record(1);
+            return transcribeFile.apply(audio);
+        }
+        segmentCounts.record(segments.size());
+
+        List<CompletableFuture<String>> transcripts = new ArrayList<>(segments.size());
+        try {
+            for (Path segment : segments) {
+                transcripts.add(CompletableFuture.supplyAsync(() -> transcribeFile.apply(segment), transcriptionExecutor));
+            }
+            List<String> parts = new ArrayList<>(segments.size());
+            for (CompletableFuture<String> transcript : transcripts) {
+                parts.add(transcript.join());
+            }
+            return stitch(parts, maxOverlapWords);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        } finally {
+            transcripts.forEach(future -> future.cancel(true));
+            for (Path segment : segments) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    log.warn("Failed to delete audio segment {}: {}", segment, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Split a PCM WAV file at quiet points into overlapping segment files, in the source format.
+     * Returns an empty list when the file is not PCM WAV or is too short to be worth splitting.
+     */
+    List<Path> split(Path audio, Path workDir) {
+        if (!audio.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            return List.of();
+        }
+
+        List<Path> segments = new ArrayList<>();
+        try {
+            AudioFormat format;
+            try (AudioInputStream stream = AudioSystem.getAudioInputStream(audio.toFile())) {
+                format = stream.getFormat();
+            }
+            if (!WavEnergy.isSupportedPcm(format)) {
+                return List.of();
+            }
+
+            int windowFrames = Math.max(1, (int) (format.getFrameRate() * WINDOW_MILLIS / 1000));
+            double[] energies = WavEnergy.windowEnergies(audio, format, windowFrames);
+            double seconds = (double) energies.length * windowFrames / format.getFrameRate();
+            int count = Math.min(maxSegments, (int) Math.ceil(seconds / segmentSeconds));
+            if (seconds < minDurationSeconds || count < 2) {
+                return List.of();
+            }
+
+            long totalFrames = (long) energies.length * windowFrames;
+            long overlapFrames = (long) (format.getFrameRate() * overlapMillis / 1000);
+            long[] cuts = cutFrames(energies, count, windowFrames);
+
+            Files.createDirectories(workDir);
+            long previousCut = 0;
+            for (int i = 0; i <= cuts.length; i++) {
+                long cut = i < cuts.length ? cuts[i] : totalFrames;
+                long start = Math.max(0, previousCut - overlapFrames);
+                long end = Math.min(totalFrames, cut + overlapFrames);
+                Path segment = Files.createTempFile(workDir, "segment-" + i + "-", ".wav");
+                segments.add(segment);
+                writeSegment(audio, format, start, end, segment);
+                previousCut = cut;
+            }
+            return segments;
+        } catch (Exception e) {
+            log.warn("Could not split {} for parallel transcription, transcribing it whole: {}",
+                    audio.getFileName(), e.getMessage());
+            for (Path segment : segments) {
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+            return List.of();
+        }
+    }
+
+    /**
+     * One cut per boundary: the quietest window within the search window around each even split
+     */
+    private long[] cutFrames(double[] energies, int count, int windowFrames) {
+        int searchWindows = searchWindowMillis / WINDOW_MILLIS;
+        long[] cuts = new long[count - 1];
+        int previous = 0;
+        for (int k = 1; k < count; k++) {
+            int target = (int) ((long) energies.length * k / count);
+            int from = Math.max(previous + 1, target - searchWindows);
+            int to = Math.min(energies.length - 1, target + searchWindows);
+            int quietest = Math.max(from, Math.min(target, to));
+            for (int i = from; i <= to; i++) {
+                if (energies[i] < energies[quietest]) {
+                    quietest = i;
+                }
+            }
+            previous = quietest;
+            // Cut in the middle of the quiet window
+            cuts[k - 1] = (long) quietest * windowFrames + windowFrames / 2;
+        }
+        return cuts;
+    }
+
+    private void writeSegment(Path audio, AudioFormat format, long startFrame, long endFrame, Path segment) throws Exception {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(audio.toFile())) {
+            long toSkip = startFrame * format.getFrameSize();
+            while (toSkip > 0) {
+                long skipped = source.skip(toSkip);
+                if (skipped <= 0) {
+                    break;
+                }
+                toSkip -= skipped;
+            }
+            // Copied straight from the source stream; the frame length bounds the segment
+            try (AudioInputStream range = new AudioInputStream(source, format, endFrame - startFrame)) {
+                AudioSystem.write(range, AudioFileFormat.Type.WAVE, segment.toFile());
+            }
+        }
+    }
+
+    /**
+     * Join segment transcripts in order, dropping the longest run of words at the start of each
+     * transcript that repeats the end of the previous one (case and punctuation ignored)
+     */
+    static String stitch(List<String> parts, int maxOverlapWords) {
+        List<String> words = new ArrayList<>();
+        for (String part : parts) {
+            if (part == null || part.isBlank()) {
+                continue;
+            }
+            List<String> next = Arrays.asList(part.trim().split("\\s+"));
+            int overlap = 0;
+            for (int k = Math.min(maxOverlapWords, Math.min(words.size(), next.size())); k > 0; k--) {
+                if (sameWords(words.subList(words.size() - k, words.size()), next.subList(0, k))) {
+                    overlap = k;
+                    break;
+                }
+            }
+            words.addAll(next.subList(overlap, next.size()));
+        }
+        return String.join(" ", words);
+    }
+
+    private static boolean sameWords(List<String> left, List<String> right) {
+        for (int i = 0; i < left.size(); i++) {
+            String a = normalize(left.get(i));
+            if (a.isEmpty() || !a.equals(normalize(right.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String word) {
+        return word.replaceAll("[^\\p{L}\\p{N}']", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,186 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AdaptiveConcurrencyLimiter.Outcome;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per outbound AI provider, so a burst of calls
+ * queues (or is rejected with 503) instead of tying up every servlet thread.
+ * Calls made for a request with a {@link RequestDeadline} wait for a permit no longer than the time left,
+ * and are interrupted when the deadline passes, so abandoned requests give their permit back.
+ * Calls in flight and waiting block servlet threads, so across all providers they are capped at a share of
+ * {@code server.tomcat.threads.max}, split evenly per provider; the rest stay free for health checks and
+ * requests that do not call a provider.
+ */
+@Component
+public class LlmConcurrencyLimiters {
+
+    public static final String ANTHROPIC = "anthropic";
+    public static final String OPENAI_CHAT = "openai-chat";
+    public static final String OPENAI_TRANSCRIPTION = "openai-transcription";
+    public static final String OPENAI_SPEECH = "openai-speech";
+
+    private static final int PROVIDERS = 4;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deadlineCounters = new ConcurrentHashMap<>();
+
+    @Value("${llm-limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm-limiter.initial-limit:8}")
+    private int initialLimit;
+
+    @Value("${llm-limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${llm-limiter.max-limit:16}")
+    private int maxLimit;
+
+    @Value("${llm-limiter.max-queue:9}")
+    private int maxQueue;
+
+    @Value("${llm-limiter.max-wait:PT10S}")
+    private Duration maxWait;
+
+    @Value("${llm-limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int servletThreads;
+
+    @Value("${llm-limiter.servlet-thread-share:0.5}")
+    private double servletThreadShare;
+
+    public LlmConcurrencyLimiters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a blocking provider call under the provider's limit and the current request's deadline
+     */
+    public <T> T execute(String provider, Supplier<T> call) {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire(provider);
+        try {
+            T result = RequestDeadline.call(provider, call);
+            if (permit != null) {
+                permit.release(Outcome.SUCCESS);
+            }
+            return result;
+        } catch (DeadlineExceededException e) {
+            // Cut short by the caller's deadline, which says nothing about the provider
+            if (permit != null) {
+                permit.release(Outcome.IGNORED);
+            }
+            deadlineExceeded(provider);
+            throw e;
+        } catch (RuntimeException e) {
+            if (permit != null) {
+                // An interrupted call was cancelled by its caller, e.g. the losing attempt of a hedged call
+                permit.release(Thread.currentThread().isInterrupted() ? Outcome.IGNORED : Outcome.DROPPED);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Acquire a permit directly, e.g. for streaming calls
+     * @return null when limiting is disabled
+     */
+    public AdaptiveConcurrencyLimiter.Permit acquire(String provider) {
+        return acquire(provider, RequestDeadline.current());
+    }
+
+    /**
+     * Acquire a permit, waiting no longer than the time left before the deadline
+     * @param deadline null for none
+     * @return null when limiting is disabled
+     */
+    public AdaptiveConcurrencyLimiter.Permit acquire(String provider, Instant deadline) {
+        Duration wait = maxWait;
+        if (deadline != null) {
+            Duration remaining = RequestDeadline.remaining(deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                deadlineExceeded(provider);
+                throw new DeadlineExceededException(provider);
+            }
+            if (remaining.compareTo(wait) < 0) {
+                wait = remaining;
+            }
+        }
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return limiter(provider).acquire(wait);
+        } catch (ProviderSaturatedException e) {
+            if (RequestDeadline.expired(deadline)) {
+                deadlineExceeded(provider);
+                throw new DeadlineExceededException(provider, e);
+            }
+            rejectionCounters.get(provider).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Count a call abandoned because its request deadline passed, e.g. a stream that timed out
+     */
+    public void deadlineExceeded(String provider) {
+        deadlineCounters.computeIfAbsent(provider, ignored -> Counter.builder("ai.llm.deadline.exceeded")
+                        .description("Provider calls abandoned because the request deadline passed")
+                        .tag("provider", provider)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(String provider) {
+        return limiters.computeIfAbsent(provider, this::register);
+    }
+
+    private AdaptiveConcurrencyLimiter register(String provider) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(provider, initialLimit, minLimit, maxLimit,
+                maxQueue, providerCapacity(), backoffRatio);
+
+        Gauge.builder("ai.llm.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Provider calls currently in flight")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("ai.llm.limiter.queue", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("Callers waiting for a permit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        rejectionCounters.put(provider, Counter.builder("ai.llm.limiter.rejections")
+                .description("Calls rejected because the provider was saturated")
+                .tag("provider", provider)
+                .register(meterRegistry));
+        return limiter;
+    }
+
+    /**
+     * Calls one provider may have in flight and waiting: its even share of the servlet threads set aside for
+     * provider calls, so all providers saturated together still leave the rest of the threads free
+     */
+    int providerCapacity() {
+        return Math.max(1, (int) (servletThreads * servletThreadShare) / PROVIDERS);
+    }
+}
@@ -0,0 +1,159 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Micrometer meters for outbound model calls, tagged by endpoint, model and outcome.
+ * Percentile histograms for the ai.llm and ai.audio meters are enabled in application.yml.
+ */
+@Component
+public class LlmMetrics {
+
+    /**
+     * ChatClient advisor parameter naming the endpoint a call is made for
+     */
+    public static final String ENDPOINT = "llm_metrics_endpoint";
+
+    public static final String GENERATE_QUESTION = "genarateQuestion";
+    public static final String GENERATE_QUESTION_BATCH = "generateQuestionBatch";
+    public static final String START_INTERVIEW = "startInterview";
+    public static final String SUBMIT_ANSWER = "submitAnswerAndGetNextQuestion";
+    public static final String NEXT_QUESTION = "nextQuestion";
+    public static final String SCORE_ANSWER = "scoreAnswer";
+    public static final String PARSE_RESUME = "parseResumeText";
+    public static final String PARSE_RESUME_SECTION = "parseResumeSection";
+    public static final String SUMMARIZE_CONVERSATION = "summarizeConversation";
+    public static final String TRANSCRIBE_AUDIO = "transcribeAudio";
+    public static final String TEXT_TO_SPEECH = "textToSpeech";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public LlmMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordCall(String endpoint, String model, boolean streaming, String outcome, Duration latency) {
+        Timer.builder("ai.llm.latency")
+                .description("Total duration of chat model calls")
+                .tag("endpoint", endpoint)
+                .tag("model", orUnknown(model))
+                .tag("streaming", Boolean.toString(streaming))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    public void recordTimeToFirstToken(String endpoint, String model, Duration latency) {
+        Timer.builder("ai.llm.time.to.first.token")
+                .description("Time until the first streamed chunk arrives")
+                .tag("endpoint", endpoint)
+                .tag("model", orUnknown(model))
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    /**
+     * Record token usage and, when generation time is known, completion throughput
+     * @param generationTime Time spent producing completion tokens (after the first token for streams)
+     */
+    public void recordUsage(String endpoint, String model, Usage usage, Duration generationTime) {
+        if (usage == null) {
+            return;
+        }
+        Integer promptTokens = usage.getPromptTokens();
+        Integer completionTokens = usage.getCompletionTokens();
+        if (promptTokens != null && promptTokens > 0) {
+            tokens(endpoint, model, "prompt").record(promptTokens);
+        }
+        if (completionTokens != null && completionTokens > 0) {
+            tokens(endpoint, model, "completion").record(completionTokens);
+            if (generationTime != null && generationTime.toMillis() > 0) {
+                DistributionSummary.builder("ai.llm.tokens.per.second")
+                        .description("Completion tokens generated per second")
+                        .tag("endpoint", endpoint)
+                        .tag("model", orUnknown(model))
+                        .register(meterRegistry)
+                        .record(completionTokens * 1000.0 / generationTime.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Record prompt tokens read from and written to the provider's prompt cache
+     */
+    public void recordCacheTokens(String endpoint, String model, long readTokens, long writeTokens) {
+        if (readTokens > 0) {
+            tokens(endpoint, model, "cache_read").record(readTokens);
+        }
+        if (writeTokens > 0) {
+            tokens(endpoint, model, "cache_write").record(writeTokens);
+        }
+    }
+
+    /**
+     * Time an audio model call and record the audio bytes sent and received
+     * @param bytesIn Audio bytes sent to the model (0 for speech synthesis)
+     * @param bytesOut Audio bytes in the result (0 for transcription)
+     */
+    public <T> T recordAudio(String endpoint, String model, long bytesIn, Supplier<T> call, ToLongFunction<T> bytesOut) {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.get();
+            outcome = OUTCOME_SUCCESS;
+            audioBytes(endpoint, model, "in", bytesIn);
+            audioBytes(endpoint, model, "out", bytesOut.applyAsLong(result));
+            return result;
+        } finally {
+            Timer.builder("ai.audio.latency")
+                    .description("Duration of transcription and speech synthesis calls")
+                    .tag("endpoint", endpoint)
+                    .tag("model", orUnknown(model))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private DistributionSummary tokens(String endpoint, String model, String type) {
+        return DistributionSummary.builder("ai.llm.tokens")
+                .description("Tokens per chat model call")
+                .baseUnit("tokens")
+                .tag("endpoint", endpoint)
+                .tag("model", orUnknown(model))
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private void audioBytes(String endpoint, String model, String direction, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        DistributionSummary.builder("ai.audio.bytes")
+                .description("Audio bytes per transcription or speech synthesis call")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .tag("model", orUnknown(model))
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private String orUnknown(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value;
+    }
+}
@@ -0,0 +1,112 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-task model routing. Each task is configured under {@code model-routing.tasks.<task>} with
+ * a primary and an optional fallback model, written as {@code provider:model}, and a latency budget.
+ * Moving a task to another model is a configuration change. Tasks whose calls can safely be sent twice
+ * opt in to hedging on the fallback with {@code hedge: true}, see {@link RoutedChatModel}.
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    public static final String QUESTION_GENERATION = "question-generation";
+    public static final String INTERVIEW_TURN = "interview-turn";
+    public static final String FEEDBACK_SCORING = "feedback-scoring";
+    public static final String RESUME_PARSING = "resume-parsing";
+    public static final String SUMMARIZATION = "summarization";
+
+    private static final String ANTHROPIC = "anthropic";
+    private static final String OPENAI = "openai";
+
+    private final ChatModel anthropicChatModel;
+    private final ChatModel openAiChatModel;
+    private final LlmConcurrencyLimiters limiters;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final ThreadPoolTaskExecutor hedgeExecutor;
+    private final Map<String, RoutedChatModel> routedModels = new ConcurrentHashMap<>();
+
+    @Value("${model-routing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${model-routing.window:PT1M}")
+    private Duration window;
+
+    @Value("${model-routing.min-samples:20}")
+    private int minSamples;
+
+    @Value("${model-routing.hedging.max-percent:5}")
+    private double hedgeMaxPercent;
+
+    @Value("${model-routing.hedging.min-delay:PT1S}")
+    private Duration hedgeMinDelay;
+
+    public ModelRouter(@Qualifier("anthropicChatModel") ChatModel anthropicChatModel,
+                       @Qualifier("openAiChatModel") ChatModel openAiChatModel,
+                       LlmConcurrencyLimiters limiters,
+                       MeterRegistry meterRegistry,
+                       Environment environment,
+                       @Qualifier("hedgeExecutor") ThreadPoolTaskExecutor hedgeExecutor) {
+        this.anthropicChatModel = anthropicChatModel;
+        this.openAiChatModel = openAiChatModel;
+        this.limiters = limiters;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+    /**
+     * The chat model for a task, to build the task's ChatClient on
+     */
+    public ChatModel chatModel(String task) {
+        return routedModels.computeIfAbsent(task, this::create);
+    }
+
+    private RoutedChatModel create(String task) {
+        String prefix = "model-routing.tasks." + task + ".";
+        String primarySpec = environment.getProperty(prefix + "primary");
+        if (primarySpec == null) {
+            throw new IllegalStateException("No primary model configured for task " + task + " (" + prefix + "primary)");
+        }
+        RoutedChatModel.Route primary = route(primarySpec);
+        String fallbackSpec = environment.getProperty(prefix + "fallback", "");
+        RoutedChatModel.Route fallback = !enabled || fallbackSpec.isBlank() ? null : route(fallbackSpec);
+        String budget = environment.getProperty(prefix + "latency-budget", "PT30S");
+        boolean hedge = fallback != null && environment.getProperty(prefix + "hedge", Boolean.class, false);
+
+        log.info("Model routing for {}: primary {}, fallback {}, latency budget {}, hedging {}", task, primary.label(),
+                fallback == null ? "none" : fallback.label(), budget, hedge ? "up to " + hedgeMaxPercent + "%" : "off");
+        return new RoutedChatModel(task, primary, fallback, DurationStyle.detectAndParse(budget),
+                window, minSamples, limiters, meterRegistry,
+                hedge ? new RoutedChatModel.Hedging(hedgeExecutor, hedgeMaxPercent, hedgeMinDelay) : null);
+    }
+
+    private RoutedChatModel.Route route(String spec) {
+        int separator = spec.indexOf(':');
+        if (separator <= 0 || separator == spec.length() - 1) {
+            throw new IllegalStateException("Model must be written as provider:model, got " + spec);
+        }
+        String provider = spec.substring(0, separator).trim();
+        String model = spec.substring(separator + 1).trim();
+        return switch (provider) {
+            case ANTHROPIC -> new RoutedChatModel.Route(provider, LlmConcurrencyLimiters.ANTHROPIC, anthropicChatModel, model);
+            case OPENAI -> new RoutedChatModel.Route(provider, LlmConcurrencyLimiters.OPENAI_CHAT, openAiChatModel, model);
+            default -> throw new IllegalStateException("Unknown model provider " + provider + " in " + spec);
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.util.HashUtil;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.TokenEstimator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * System prompt templates, read from their .st files once and reloaded when a file changes.
+ * Each template is versioned by a hash of its content, so caches keyed on the version miss after an
+ * edit. Templates with parameters are checked against them on load and each rendering is kept, so
+ * repeated calls with the same values reuse the rendered text instead of reading and rendering the file.
+ * <p>
+ * Rendered text is passed to the chat client without parameters, which the client sends as it is.
+ */
+@Slf4j
+@Component
+public class PromptRegistry {
+
+    public static final String INTERVIEW = "interview";
+    public static final String RESUME = "resume";
+    public static final String RESUME_NO_SKILLS = "resume-no-skills";
+    public static final String RESUME_SECTION = "resume-section";
+    public static final String FEEDBACK = "feedback";
+
+    /**
+     * A loaded template, with its content version and estimated token count
+     */
+    public record Template(String name, String text, String version, int tokens, Instant loadedAt) {
+    }
+
+    private record Loaded(Template template, long modified, Map<Map<String, Object>, String> rendered) {
+    }
+
+    // Parameters each template is rendered with; templates not listed are sent as they are
+    private static final Map<String, List<String>> PARAMETERS = Map.of(
+            INTERVIEW, List.of("experience_level", "language"),
+            RESUME_SECTION, List.of("section"));
+
+    // Parameter values come from requests (e.g. language), so the renderings kept per version are bounded
+    private static final int MAX_RENDERINGS = 256;
+
+    private final Map<String, Resource> resources = new LinkedHashMap<>();
+    private final Map<String, Loaded> templates = new ConcurrentHashMap<>();
+
+    public PromptRegistry(@Value("${interview.prompt.file-path.for-interview}") Resource interviewPrompt,
+                          @Value("${interview.prompt.file-path.for-resume}") Resource resumePrompt,
+                          @Value("${interview.prompt.file-path.for-resume-no-skills}") Resource resumeNoSkillsPrompt,
+                          @Value("${interview.prompt.file-path.for-resume-section}") Resource resumeSectionPrompt,
+                          @Value("${interview.prompt.file-path.for-feedback}") Resource feedbackPrompt,
+                          MeterRegistry meterRegistry) {
+        resources.put(INTERVIEW, interviewPrompt);
+        resources.put(RESUME, resumePrompt);
+        resources.put(RESUME_NO_SKILLS, resumeNoSkillsPrompt);
+        resources.put(RESUME_SECTION, resumeSectionPrompt);
+        resources.put(FEEDBACK, feedbackPrompt);
+        for (String name : resources.keySet()) {
+            Gauge.builder("ai.prompt.tokens", this, registry -> registry.get(name).tokens())
+                    .description("Estimated tokens in a system prompt template")
+                    .tag("template", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        for (Map.Entry<String, Resource> entry : resources.entrySet()) {
+            Loaded loaded = read(entry.getKey(), entry.getValue());
+            templates.put(entry.getKey(), loaded);
+            log.info("Loaded prompt template {} version {} (~{} tokens)",
+                    entry.getKey(), loaded.template().version(), loaded.template().tokens());
+        }
+    }
+
+    /**
+     * Reload templates whose file has changed. A template that fails to load or render is
+     * reported and the previous version stays in use.
+     */
+    @Scheduled(fixedDelayString = "${prompt-registry.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        for (Map.Entry<String, Resource> entry : resources.entrySet()) {
+            String name = entry.getKey();
+            Loaded current = templates.get(name);
+            if (lastModified(entry.getValue(), current.modified()) == current.modified()) {
+                continue;
+            }
+            try {
+                Loaded reloaded = read(name, entry.getValue());
+                if (reloaded.template().version().equals(current.template().version())) {
+                    templates.put(name, new Loaded(current.template(), reloaded.modified(), current.rendered()));
+                    continue;
+                }
+                templates.put(name, reloaded);
+                log.info("Reloaded prompt template {}: version {} -> {}",
+                        name, current.template().version(), reloaded.template().version());
+            } catch (Exception e) {
+                log.warn("Failed to reload prompt template {}, keeping version {}: {}",
+                        name, current.template().version(), e.getMessage());
+            }
+        }
+    }
+
+    public Template get(String name) {
+        Loaded loaded = templates.get(name);
+        if (loaded == null) {
+            throw new IllegalArgumentException("Unknown prompt template: " + name);
+        }
+        return loaded.template();
+    }
+
+    public String version(String name) {
+        return get(name).version();
+    }
+
+    public List<Template> templates() {
+        return resources.keySet().stream().map(this::get).toList();
+    }
+
+    /**
+     * The template's text, for templates without parameters
+     */
+    public String render(String name) {
+        return get(name).text();
+    }
+
+    /**
+     * The template rendered with the given parameters, reusing an earlier rendering of the same version
+     */
+    public String render(String name, Map<String, Object> params) {
+        Loaded loaded = templates.get(name);
+        if (loaded == null) {
+            throw new IllegalArgumentException("Unknown prompt template: " + name);
+        }
+        String rendered = loaded.rendered().get(params);
+        if (rendered != null) {
+            return rendered;
+        }
+        rendered = new PromptTemplate(loaded.template().text()).render(params);
+        if (loaded.rendered().size() < MAX_RENDERINGS) {
+            loaded.rendered().put(Map.copyOf(params), rendered);
+        }
+        return rendered;
+    }
+
+    private Loaded read(String name, Resource resource) throws IOException {
+        long modified = lastModified(resource, -1);
+        String text = resource.getContentAsString(StandardCharsets.UTF_8);
+        List<String> parameters = PARAMETERS.get(name);
+        if (parameters != null) {
+            // Fails on syntax errors and on placeholders the callers do not supply
+            Map<String, Object> sample = new HashMap<>();
+            parameters.forEach(parameter -> sample.put(parameter, parameter));
+            new PromptTemplate(text).render(sample);
+        }
+        Template template = new Template(name, text, HashUtil.sha256(text).substring(0, 12),
+                TokenEstimator.estimate(text), Instant.now());
+        return new Loaded(template, modified, new ConcurrentHashMap<>());
+    }
+
+    private static long lastModified(Resource resource, long fallback) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return fallback;
+        }
+    }
+}
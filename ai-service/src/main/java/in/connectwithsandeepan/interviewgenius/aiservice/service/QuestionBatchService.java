@@ -0,0 +1,167 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Question;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Generates many questions per LLM call using a single structured-output prompt.
+ * Large counts are split into chunks that are generated in parallel. Repeats within a request are
+ * dropped, and questions lost to repeats or failed chunks are topped up with a few more chunks;
+ * whatever is still missing is reported as the batch's shortfall.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionBatchService {
+
+    public static final String SHORTFALL_HEADER = "X-Question-Shortfall";
+
+    /**
+     * Generated questions, which may be fewer than requested
+     */
+    public record Batch(List<?> questions, int requested) {
+
+        public int shortfall() {
+            return requested - questions.size();
+        }
+    }
+
+    private final ChatClient chatClient;
+    private final ThreadPoolTaskExecutor questionBatchExecutor;
+
+    @Value("${question-batch.chunk-size:25}")
+    private int chunkSize;
+
+    @Value("${question-batch.max-count:1000}")
+    private int maxCount;
+
+    @Value("${question-batch.top-up-rounds:2}")
+    private int topUpRounds;
+
+    public Batch generateBatch(QuestionType type, String language, String difficulty, int count) {
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxCount);
+        }
+
+        String topic = type.name() + ":" + language;
+        List<?> questions = switch (type) {
+            case MCQ -> withDefaults(generate(topic, count,
+                    size -> mcqInstruction(language, difficulty, size),
+                    new ParameterizedTypeReference<List<Question>>() {},
+                    Question::getQuestion), language, difficulty);
+            case SHORT_INPUT -> generate(topic, count,
+                    size -> inputInstruction(size, difficulty, language,
+                            "that can be answered in one character or in couple of words or sentence"),
+                    new ParameterizedTypeReference<List<InputTypeQuestion>>() {},
+                    InputTypeQuestion::getQuestion);
+            case DESCRIPTIVE_INPUT -> generate(topic, count,
+                    size -> inputInstruction(size, difficulty, language,
+                            "that can be answered in couple of sentences, theory and conceptual questions"),
+                    new ParameterizedTypeReference<List<InputTypeQuestion>>() {},
+                    InputTypeQuestion::getQuestion);
+            case DSA_INPUT -> generate(topic, count,
+                    size -> inputInstruction(size, difficulty, "DSA(Data Structure and Algorithm)",
+                            "that can be answered in one character or in couple of words or sentence"),
+                    new ParameterizedTypeReference<List<InputTypeQuestion>>() {},
+                    InputTypeQuestion::getQuestion);
+        };
+        return new Batch(questions, count);
+    }
+
+    private <T> List<T> generate(String topic,
+                                 int count,
+                                 Function<Integer, String> instruction,
+                                 ParameterizedTypeReference<List<T>> listType,
+                                 Function<T, String> questionText) {
+        List<T> questions = new ArrayList<>(count);
+        Set<String> seen = new HashSet<>();
+        int calls = 0;
+        int failedChunks = 0;
+        for (int round = 0; round <= topUpRounds && questions.size() < count; round++) {
+            List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+            for (int remaining = count - questions.size(); remaining > 0; remaining -= chunkSize) {
+                int size = Math.min(chunkSize, remaining);
+                chunks.add(CompletableFuture.supplyAsync(() -> chatClient.prompt()
+                        .user(instruction.apply(size))
+                        .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.GENERATE_QUESTION_BATCH))
+                        .call()
+                        .entity(listType), questionBatchExecutor));
+            }
+            calls += chunks.size();
+
+            for (CompletableFuture<List<T>> chunk : chunks) {
+                List<T> generated;
+                try {
+                    generated = chunk.join();
+                } catch (CompletionException e) {
+                    failedChunks++;
+                    log.warn("Question batch chunk for {} failed: {}", topic, e.getCause().getMessage());
+                    continue;
+                }
+                if (generated == null) {
+                    continue;
+                }
+                for (T question : generated) {
+                    // Parallel chunks do not see each other, so drop repeats here
+                    String text = questionText.apply(question);
+                    if (questions.size() < count && text != null && seen.add(normalize(text))) {
+                        questions.add(question);
+                    }
+                }
+            }
+        }
+
+        if (questions.isEmpty() && failedChunks > 0) {
+            throw new RuntimeException("Failed to generate questions for " + topic);
+        }
+
+        log.info("Generated {} of {} requested questions for {} in {} calls ({} failed)",
+                questions.size(), count, topic, calls, failedChunks);
+        return questions;
+    }
+
+    /**
+     * Fill in the language and difficulty the model left out with the requested ones
+     */
+    private List<Question> withDefaults(List<Question> questions, String language, String difficulty) {
+        for (Question question : questions) {
+            if (question.getProgramingLanguage() == null) {
+                question.setProgramingLanguage(language);
+            }
+            if (question.getDifficulty() == null) {
+                question.setDifficulty(difficulty);
+            }
+        }
+        return questions;
+    }
+
+    private static String normalize(String question) {
+        return question.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private String mcqInstruction(String language, String difficulty, int size) {
+        return "Give " + size + " distinct " + difficulty + " level " + language
+                + " mcq questions, each with 4 options, the answer, the programing language and the difficulty";
+    }
+
+    private String inputInstruction(int size, String difficulty, String subject, String answerStyle) {
+        return "Give " + size + " distinct " + difficulty + " level " + subject + " questions " + answerStyle;
+    }
+}
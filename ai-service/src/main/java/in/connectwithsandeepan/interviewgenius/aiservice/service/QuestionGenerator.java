@@ -0,0 +1,136 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Question;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Issues the live LLM calls that produce a single question of each type.
+ * Calls are stateless; repeats are avoided with the bounded {@link QuestionHistory}. A question that
+ * repeats a recent one is regenerated a few times, then dropped, or served anyway when a caller is waiting for it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionGenerator {
+
+    private final ChatClient chatClient;
+    private final QuestionHistory questionHistory;
+
+    @Value("${question-history.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * @return null when every attempt repeated a recent question
+     */
+    public Object generate(QuestionType type) {
+        return generate(type, false);
+    }
+
+    /**
+     * @param repeatWhenExhausted Serve the last repeated question instead of null when every attempt
+     *                            repeated a recent one, for callers that are waiting for a question
+     */
+    public Object generate(QuestionType type, boolean repeatWhenExhausted) {
+        return switch (type) {
+            case MCQ -> generateMcqQuestion(repeatWhenExhausted);
+            case SHORT_INPUT -> generateShortInputTypeQuestion(repeatWhenExhausted);
+            case DESCRIPTIVE_INPUT -> generateDescriptiveInputTypeQuestion(repeatWhenExhausted);
+            case DSA_INPUT -> generateInputTypeDsaQuestion(repeatWhenExhausted);
+        };
+    }
+
+    public Question generateMcqQuestion() {
+        return generateMcqQuestion(false);
+    }
+
+    public InputTypeQuestion generateShortInputTypeQuestion() {
+        return generateShortInputTypeQuestion(false);
+    }
+
+    public InputTypeQuestion generateDescriptiveInputTypeQuestion() {
+        return generateDescriptiveInputTypeQuestion(false);
+    }
+
+    public InputTypeQuestion generateInputTypeDsaQuestion() {
+        return generateInputTypeDsaQuestion(false);
+    }
+
+    private Question generateMcqQuestion(boolean repeatWhenExhausted) {
+        return generateUnique(QuestionType.MCQ, "Give java mcq question with 4 options and answer",
+                Question.class, Question::getQuestion, repeatWhenExhausted);
+    }
+
+    private InputTypeQuestion generateShortInputTypeQuestion(boolean repeatWhenExhausted) {
+        return generateInputTypeQuestion(QuestionType.SHORT_INPUT,
+                "Give java a question that can be answered in one character or in couple of words or sentence",
+                repeatWhenExhausted);
+    }
+
+    private InputTypeQuestion generateDescriptiveInputTypeQuestion(boolean repeatWhenExhausted) {
+        return generateInputTypeQuestion(QuestionType.DESCRIPTIVE_INPUT,
+                "Give Java a question that can be answered in couple of sentences, theory and conceptual questions",
+                repeatWhenExhausted);
+    }
+
+    private InputTypeQuestion generateInputTypeDsaQuestion(boolean repeatWhenExhausted) {
+        return generateInputTypeQuestion(QuestionType.DSA_INPUT,
+                "Give DSA(Data Structure and Algorithm) a question that can be answered in one character or in couple of words or sentence",
+                repeatWhenExhausted);
+    }
+
+    private InputTypeQuestion generateInputTypeQuestion(QuestionType type, String instruction, boolean repeatWhenExhausted) {
+        return generateUnique(type, instruction, InputTypeQuestion.class, InputTypeQuestion::getQuestion,
+                repeatWhenExhausted);
+    }
+
+    private <T> T generateUnique(QuestionType type, String instruction, Class<T> questionClass,
+                                 Function<T, String> text, boolean repeatWhenExhausted) {
+        List<String> repeated = new ArrayList<>();
+        T last = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            T question = chatClient.prompt()
+                    .user(withRecentQuestions(type, instruction, repeated))
+                    .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.GENERATE_QUESTION))
+                    .call()
+                    .entity(questionClass);
+
+            assert question != null;
+            if (questionHistory.record(type.name(), text.apply(question))) {
+                return question;
+            }
+            // May be older than the recent questions in the prompt, so name it explicitly in the next attempt
+            repeated.add(text.apply(question));
+            last = question;
+            log.debug("Generated {} question repeated a recent one (attempt {} of {})", type, attempt, maxAttempts);
+        }
+        if (repeatWhenExhausted) {
+            // Already counted in ai.question.duplicates when the history rejected it
+            log.warn("Serving a repeated {} question: all {} attempts repeated a recent question", type, maxAttempts);
+            return last;
+        }
+        log.warn("Dropping {} question: all {} attempts repeated a recent question", type, maxAttempts);
+        return null;
+    }
+
+    private String withRecentQuestions(QuestionType type, String instruction, List<String> repeated) {
+        List<String> recent = new ArrayList<>(repeated);
+        recent.addAll(questionHistory.recent(type.name()));
+        if (recent.isEmpty()) {
+            return instruction;
+        }
+        StringBuilder prompt = new StringBuilder(instruction)
+                .append("\n\nDo not repeat any of these recently asked questions:\n");
+        recent.forEach(question -> prompt.append("- ").append(question).append('\n'));
+        return prompt.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded per-topic history of recently generated questions.
+ * Replaces chat memory for question generation: only the last few questions are
+ * sent back to the model, so the prompt stays the same size no matter how many
+ * questions have been generated.
+ */
+@Component
+public class QuestionHistory {
+
+    private final Map<String, Deque<String>> history = new ConcurrentHashMap<>();
+    private final Counter duplicateCounter;
+
+    @Value("${question-history.max-size:100}")
+    private int maxSize;
+
+    @Value("${question-history.prompt-size:10}")
+    private int promptSize;
+
+    public QuestionHistory(MeterRegistry meterRegistry) {
+        this.duplicateCounter = Counter.builder("ai.question.duplicates")
+                .description("Generated questions that repeated a recent question for the same topic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a generated question
+     * @return false if the question repeats one already in the topic history
+     */
+    public boolean record(String topic, String question) {
+        if (question == null || question.isBlank()) {
+            return true;
+        }
+        String normalized = normalize(question);
+        Deque<String> recent = history.computeIfAbsent(topic, key -> new ArrayDeque<>());
+        synchronized (recent) {
+            for (String previous : recent) {
+                if (normalize(previous).equals(normalized)) {
+                    duplicateCounter.increment();
+                    return false;
+                }
+            }
+            recent.addLast(question.trim());
+            while (recent.size() > maxSize) {
+                recent.removeFirst();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Most recent questions for a topic, newest first, capped at the prompt size
+     */
+    public List<String> recent(String topic) {
+        Deque<String> recent = history.get(topic);
+        if (recent == null) {
+            return List.of();
+        }
+        synchronized (recent) {
+            List<String> result = new ArrayList<>(Math.min(promptSize, recent.size()));
+            Iterator<String> iterator = recent.descendingIterator();
+            while (iterator.hasNext() && result.size() < promptSize) {
+                result.add(iterator.next());
+            }
+            return result;
+        }
+    }
+
+    private String normalize(String question) {
+        return question.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,163 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a pool of pre-generated questions per type so the question endpoints
+ * do not wait on a live LLM round trip.
+ * When a pool drops below the low watermark it is refilled up to the high watermark
+ * in the background; an empty pool falls back to a live call. Refills drop questions that keep
+ * repeating recent ones, while a live call serves the last one rather than failing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionPoolService {
+
+    private final QuestionGenerator questionGenerator;
+    private final ThreadPoolTaskExecutor questionPoolExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<QuestionType, ConcurrentLinkedQueue<Object>> pools = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, AtomicInteger> pendingRefills = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, Counter> hitCounters = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, Counter> missCounters = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, Counter> refillCounters = new EnumMap<>(QuestionType.class);
+    private final Map<QuestionType, Counter> refillFailureCounters = new EnumMap<>(QuestionType.class);
+
+    @Value("${question-pool.enabled:false}")
+    private boolean enabled;
+
+    @Value("${question-pool.low-watermark:5}")
+    private int lowWatermark;
+
+    @Value("${question-pool.high-watermark:20}")
+    private int highWatermark;
+
+    @PostConstruct
+    void registerPools() {
+        for (QuestionType type : QuestionType.values()) {
+            ConcurrentLinkedQueue<Object> pool = new ConcurrentLinkedQueue<>();
+            pools.put(type, pool);
+            pendingRefills.put(type, new AtomicInteger());
+
+            String tag = type.name().toLowerCase();
+            Gauge.builder("ai.question.pool.depth", pool, ConcurrentLinkedQueue::size)
+                    .description("Ready questions waiting in the pool")
+                    .tag("type", tag)
+                    .register(meterRegistry);
+            hitCounters.put(type, Counter.builder("ai.question.pool.hits")
+                    .description("Questions served from the pool")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            missCounters.put(type, Counter.builder("ai.question.pool.misses")
+                    .description("Requests that found the pool empty and fell back to a live call")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            refillCounters.put(type, Counter.builder("ai.question.pool.refills")
+                    .description("Questions generated by the background refiller")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            refillFailureCounters.put(type, Counter.builder("ai.question.pool.refill.failures")
+                    .description("Background generations that failed")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Take a ready question from the pool, falling back to a live generation when it is empty
+     */
+    public <T> T take(QuestionType type, Class<T> questionClass) {
+        if (!enabled) {
+            return generateLive(type, questionClass);
+        }
+
+        Object question = pools.get(type).poll();
+        scheduleRefill(type);
+
+        if (question != null) {
+            hitCounters.get(type).increment();
+            return questionClass.cast(question);
+        }
+
+        missCounters.get(type).increment();
+        log.debug("Question pool for {} is empty, generating live", type);
+        return generateLive(type, questionClass);
+    }
+
+    private <T> T generateLive(QuestionType type, Class<T> questionClass) {
+        // A caller is waiting, so a question that keeps repeating is served rather than failing the request
+        return questionClass.cast(questionGenerator.generate(type, true));
+    }
+
+    public int depth(QuestionType type) {
+        return pools.get(type).size();
+    }
+
+    @Scheduled(initialDelayString = "${question-pool.initial-delay-ms:5000}",
+            fixedDelayString = "${question-pool.refill-interval-ms:10000}")
+    public void refillAll() {
+        if (!enabled) {
+            return;
+        }
+        for (QuestionType type : QuestionType.values()) {
+            scheduleRefill(type);
+        }
+    }
+
+    private void scheduleRefill(QuestionType type) {
+        ConcurrentLinkedQueue<Object> pool = pools.get(type);
+        AtomicInteger pending = pendingRefills.get(type);
+
+        synchronized (pending) {
+            int available = pool.size() + pending.get();
+            if (available >= lowWatermark) {
+                return;
+            }
+
+            int needed = highWatermark - available;
+            for (int i = 0; i < needed; i++) {
+                pending.incrementAndGet();
+                try {
+                    questionPoolExecutor.execute(() -> refillOne(type));
+                } catch (TaskRejectedException e) {
+                    pending.decrementAndGet();
+                    log.debug("Question pool refill queue is full, deferring {} refill", type);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refillOne(QuestionType type) {
+        try {
+            Object question = questionGenerator.generate(type);
+            if (question != null) {
+                pools.get(type).offer(question);
+                refillCounters.get(type).increment();
+            }
+        } catch (Exception e) {
+            refillFailureCounters.get(type).increment();
+            log.warn("Failed to pre-generate {} question: {}", type, e.getMessage());
+        } finally {
+            pendingRefills.get(type).decrementAndGet();
+        }
+    }
+}
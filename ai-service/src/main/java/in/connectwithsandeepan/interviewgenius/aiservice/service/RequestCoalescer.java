@@ -0,0 +1,117 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical AI calls.
+ * The first caller for a key runs the call on its own thread; callers arriving with the same key
+ * while it is in flight wait for and share its result (or exception) instead of repeating it.
+ * Nothing is cached once the call completes. A joining caller waits no longer than its own request deadline.
+ */
+@Component
+public class RequestCoalescer {
+
+    public static final String PARSE_RESUME = "parseResumeText";
+    public static final String TEXT_TO_SPEECH = "textToSpeech";
+    public static final String TRANSCRIBE_AUDIO = "transcribeAudio";
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${request-coalescing.enabled:true}")
+    private boolean enabled;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.coalescing.inflight", inFlight, Map::size)
+                .description("Distinct coalescable AI calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the call, or join an identical one already in flight
+     * @param operation Operation name, part of the key and the metric tag
+     * @param key Canonical hash of the call inputs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        String flightKey = operation + ":" + key;
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, own);
+
+        if (existing != null) {
+            counter(coalescedCounters, "ai.coalescing.coalesced", "Calls that joined an identical in-flight call", operation)
+                    .increment();
+            try {
+                return (T) await(existing, operation);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+
+        counter(executedCounters, "ai.coalescing.executed", "Coalescable calls that were actually executed", operation)
+                .increment();
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, own);
+        }
+    }
+
+    /**
+     * Wait for the in-flight call, no longer than the current request's deadline allows
+     */
+    private static Object await(CompletableFuture<Object> call, String operation) {
+        Duration remaining = RequestDeadline.remaining(RequestDeadline.current());
+        if (remaining == null) {
+            return call.join();
+        }
+        try {
+            return call.get(Math.max(remaining.toNanos(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(operation, e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, e);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String operation) {
+        return counters.computeIfAbsent(operation, ignored -> Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,153 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseCacheRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persistent cache of parsed resumes, keyed by a fingerprint of the normalized resume text
+ * and the version of the resume parser prompts and skill dictionary. Re-uploading the same resume
+ * returns the stored result without calling the model; changing a prompt or the dictionary changes every key.
+ */
+@Slf4j
+@Component
+public class ResumeParseCache {
+
+    private final ResumeParseCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
+    private final SkillMatcher skillMatcher;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    @Value("${resume-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${resume-cache.ttl:P30D}")
+    private Duration ttl;
+
+    @Value("${resume-parsing.hierarchical.enabled:true}")
+    private boolean hierarchical;
+
+    public ResumeParseCache(ResumeParseCacheRepository repository, ObjectMapper objectMapper,
+                            PromptRegistry promptRegistry, SkillMatcher skillMatcher, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.promptRegistry = promptRegistry;
+        this.skillMatcher = skillMatcher;
+        this.hitCounter = Counter.builder("ai.resume.cache.hits")
+                .description("Resume parses served from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.resume.cache.misses")
+                .description("Resume parses that had to call the model")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("ai.resume.cache.invalidations")
+                .description("Cached resume parses removed through the admin endpoint")
+                .register(meterRegistry);
+    }
+
+    public Optional<Resume> get(String resumeText) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> json = repository.findValid(key(resumeText), Instant.now());
+            if (json.isPresent()) {
+                hitCounter.increment();
+                return Optional.of(objectMapper.readValue(json.get(), Resume.class));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read resume parse cache: {}", e.getMessage());
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    public void put(String resumeText, Resume resume) {
+        if (!enabled || resume == null) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            repository.upsert(key(resumeText), objectMapper.writeValueAsString(resume), now, now.plus(ttl));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize parsed resume for caching: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to write resume parse cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the cached parse of a single resume
+     * @return true if an entry was removed
+     */
+    public boolean invalidate(String resumeText) {
+        boolean removed = repository.delete(key(resumeText)) > 0;
+        if (removed) {
+            invalidationCounter.increment();
+        }
+        return removed;
+    }
+
+    /**
+     * Remove every cached parse
+     * @return Number of removed entries
+     */
+    public int invalidateAll() {
+        int removed = repository.deleteAll();
+        invalidationCounter.increment(removed);
+        return removed;
+    }
+
+    @Scheduled(fixedDelayString = "${resume-cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        int removed = repository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("Purged {} expired resume parse cache entries", removed);
+        }
+    }
+
+    /**
+     * Version of the resume parser prompts and skill dictionary as currently loaded, so reloading
+     * either changes every key
+     */
+    public String getPromptVersion() {
+        // Section-by-section parsing has its own prompt, so switching it on or editing it changes the version too
+        return HashUtil.sha256(promptRegistry.version(PromptRegistry.RESUME),
+                promptRegistry.version(PromptRegistry.RESUME_NO_SKILLS),
+                hierarchical ? promptRegistry.version(PromptRegistry.RESUME_SECTION) : "",
+                skillMatcher.dictionaryVersion())
+                .substring(0, 12);
+    }
+
+    String key(String resumeText) {
+        return HashUtil.sha256(getPromptVersion(), normalize(resumeText));
+    }
+
+    /**
+     * Collapse differences that PDF extraction introduces between uploads of the same file
+     */
+    private String normalize(String resumeText) {
+        return Normalizer.normalize(resumeText, Normalizer.Form.NFKC)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
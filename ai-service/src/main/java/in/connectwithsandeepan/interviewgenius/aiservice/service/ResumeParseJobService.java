@@ -0,0 +1,327 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.ResumeParseJobRequest;
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.ResumeParseJobResponse;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepository.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resume parsing as queued jobs. Submitting stores the job and returns its id at once; a bounded pool
+ * of workers claims due jobs from the queue table, parses them and stores the result. Failed attempts
+ * are retried with exponential backoff. Callers poll the job, or give a callback URL that is sent
+ * the job status when it finishes; callback URLs are limited to {@code resume-jobs.callback-hosts}.
+ * <p>
+ * Workers only claim as many jobs as they have free threads, so throughput scales with
+ * {@code resume-jobs.workers} (and with instances sharing the table), not with HTTP threads.
+ */
+@Slf4j
+@Service
+public class ResumeParseJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ResumeParseJobRepository repository;
+    private final AiService aiService;
+    private final ThreadPoolTaskExecutor resumeJobExecutor;
+    private final ObjectMapper objectMapper;
+    private final RestClient callbackClient;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final Set<String> callbackHosts;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter submittedCounter;
+    private final Counter retryCounter;
+    private final Counter leaseLostCounter;
+    private final Timer waitTimer;
+
+    public ResumeParseJobService(ResumeParseJobRepository repository,
+                                 AiService aiService,
+                                 @Qualifier("resumeJobExecutor") ThreadPoolTaskExecutor resumeJobExecutor,
+                                 ObjectMapper objectMapper,
+                                 RestClient.Builder restClientBuilder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${resume-jobs.enabled:true}") boolean enabled,
+                                 @Value("${resume-jobs.workers:4}") int workers,
+                                 @Value("${resume-jobs.retry.max-attempts:4}") int maxAttempts,
+                                 @Value("${resume-jobs.retry.initial-backoff:PT5S}") Duration initialBackoff,
+                                 @Value("${resume-jobs.retry.max-backoff:PT2M}") Duration maxBackoff,
+                                 @Value("${resume-jobs.lease:PT5M}") Duration lease,
+                                 @Value("${resume-jobs.retention:P7D}") Duration retention,
+                                 @Value("${resume-jobs.callback-hosts:}") Set<String> callbackHosts) {
+        this.repository = repository;
+        this.aiService = aiService;
+        this.resumeJobExecutor = resumeJobExecutor;
+        this.objectMapper = objectMapper;
+        this.callbackClient = restClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        this.callbackHosts = callbackHosts;
+
+        this.submittedCounter = Counter.builder("ai.resume.jobs.submitted")
+                .description("Resume parse jobs queued")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("ai.resume.jobs.retries")
+                .description("Resume parse job attempts that failed and were queued again")
+                .register(meterRegistry);
+        this.leaseLostCounter = Counter.builder("ai.resume.jobs.lease-lost")
+                .description("Resume parse job attempts discarded because they outlived their lease")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ai.resume.jobs.wait")
+                .description("Time a resume parse job waited in the queue before its first attempt")
+                .register(meterRegistry);
+        Gauge.builder("ai.resume.jobs.in-flight", inFlight, AtomicInteger::get)
+                .description("Resume parse jobs being processed by this instance's workers")
+                .register(meterRegistry);
+        Gauge.builder("ai.resume.jobs.queued", queued, AtomicInteger::get)
+                .description("Resume parse jobs due and waiting for a worker, as of the last poll")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a resume for parsing
+     * @return The job id to poll
+     */
+    public String submit(ResumeParseJobRequest request) {
+        if (request.getResumeText() == null || request.getResumeText().isBlank()) {
+            throw new IllegalArgumentException("Resume text cannot be null or empty");
+        }
+        if (request.getCallbackUrl() != null && !isAllowedCallback(request.getCallbackUrl())) {
+            throw new IllegalArgumentException("Callback URL host is not allowed: " + request.getCallbackUrl());
+        }
+        String id = UUID.randomUUID().toString();
+        repository.insert(id, request.getUserId(), request.getResumeText(), request.getCallbackUrl(), Instant.now());
+        submittedCounter.increment();
+        log.info("Queued resume parse job {} for userId: {}", id, request.getUserId());
+        return id;
+    }
+
+    public Optional<ResumeParseJobResponse> find(String id) {
+        return repository.find(id).map(this::toResponse);
+    }
+
+    /**
+     * Claim due jobs for the workers that are free
+     */
+    @Scheduled(fixedDelayString = "${resume-jobs.poll-interval-ms:1000}")
+    public synchronized void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        queued.set(repository.countQueued(now));
+        int free = workers - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+        List<Job> jobs = repository.claim(free, now, now.plus(lease));
+        for (Job job : jobs) {
+            if (job.attempts() == 1) {
+                waitTimer.record(Duration.between(job.createdAt(), now));
+            }
+            inFlight.incrementAndGet();
+            try {
+                resumeJobExecutor.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Not expected while claims are bounded by free workers; the lease brings the job back
+                inFlight.decrementAndGet();
+                log.warn("Could not start resume parse job {}: {}", job.id(), e.getMessage());
+            }
+        }
+    }
+
+    void process(Job job) {
+        long start = System.nanoTime();
+        try {
+            Resume resume = aiService.parseResumeText(job.resumeText(), job.userId());
+            Instant now = Instant.now();
+            // Lease as read back from the claim, so it matches the stored value exactly
+            if (!repository.succeed(job.id(), job.lockedUntil(), objectMapper.writeValueAsString(resume), now)) {
+                leaseLost(job);
+                return;
+            }
+            recordAttempt("success", start);
+            finished(job, "succeeded", now);
+        } catch (Exception e) {
+            recordAttempt("error", start);
+            String error = truncate(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            Instant now = Instant.now();
+            if (isRetryable(e) && job.attempts() < maxAttempts) {
+                Duration backoff = backoff(job.attempts(), e);
+                if (!repository.retry(job.id(), job.lockedUntil(), error, now.plus(backoff))) {
+                    leaseLost(job);
+                    return;
+                }
+                retryCounter.increment();
+                log.warn("Resume parse job {} attempt {} failed, retrying in {}s: {}",
+                        job.id(), job.attempts(), backoff.toSeconds(), error);
+            } else {
+                if (!repository.fail(job.id(), job.lockedUntil(), error, now)) {
+                    leaseLost(job);
+                    return;
+                }
+                finished(job, "failed", now);
+                log.error("Resume parse job {} failed after {} attempts: {}", job.id(), job.attempts(), error);
+            }
+        }
+    }
+
+    // The job was claimed again after this attempt overran its lease; that attempt owns the result
+    private void leaseLost(Job job) {
+        leaseLostCounter.increment();
+        log.warn("Resume parse job {} attempt {} finished after its lease expired; discarding its result",
+                job.id(), job.attempts());
+    }
+
+    /**
+     * Remove finished jobs, and the resume text they hold, once past their retention
+     */
+    @Scheduled(fixedDelayString = "${resume-jobs.purge-interval-ms:3600000}")
+    public void purgeFinished() {
+        int removed = repository.deleteFinishedBefore(Instant.now().minus(retention));
+        if (removed > 0) {
+            log.info("Purged {} finished resume parse jobs", removed);
+        }
+    }
+
+    /**
+     * Doubles from the initial backoff per attempt up to the maximum; a saturated provider's
+     * retry-after is waited out in full
+     */
+    Duration backoff(int attempt, Exception e) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        if (e instanceof ProviderSaturatedException saturated
+                && Duration.ofSeconds(saturated.getRetryAfterSeconds()).compareTo(backoff) > 0) {
+            return Duration.ofSeconds(saturated.getRetryAfterSeconds());
+        }
+        return backoff;
+    }
+
+    // Invalid input fails the same way on every attempt
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof IllegalArgumentException || e instanceof JsonProcessingException);
+    }
+
+    private void finished(Job job, String outcome, Instant now) {
+        Counter.builder("ai.resume.jobs.finished")
+                .description("Resume parse jobs finished, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("ai.resume.jobs.duration")
+                .description("Time from queueing a resume parse job to its result, retries included")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.between(job.createdAt(), now));
+        if (job.callbackUrl() != null) {
+            sendCallback(job.id(), job.callbackUrl());
+        }
+    }
+
+    private void recordAttempt(String outcome, long startNanos) {
+        Timer.builder("ai.resume.jobs.attempt")
+                .description("Time to process one resume parse job attempt")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * POST the finished job to its callback. A failed callback is only logged; the job can still be polled.
+     */
+    private void sendCallback(String id, String callbackUrl) {
+        try {
+            ResumeParseJobResponse response = find(id).orElseThrow();
+            callbackClient.post()
+                    .uri(callbackUrl)
+                    .body(response)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception e) {
+            log.warn("Callback for resume parse job {} to {} failed: {}", id, callbackUrl, e.getMessage());
+        }
+    }
+
+    private boolean isAllowedCallback(String callbackUrl) {
+        try {
+            URI uri = URI.create(callbackUrl);
+            return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))
+                    && uri.getHost() != null && callbackHosts.contains(uri.getHost());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private ResumeParseJobResponse toResponse(Job job) {
+        Resume resume = null;
+        if (job.resultJson() != null) {
+            try {
+                resume = objectMapper.readValue(job.resultJson(), Resume.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Stored result of resume parse job {} is unreadable: {}", job.id(), e.getMessage());
+            }
+        }
+        return ResumeParseJobResponse.builder()
+                .jobId(job.id())
+                .userId(job.userId())
+                .status(job.status())
+                .attempts(job.attempts())
+                .error(job.error())
+                .createdAt(job.createdAt())
+                .startedAt(job.startedAt())
+                .finishedAt(job.finishedAt())
+                .resume(resume)
+                .build();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
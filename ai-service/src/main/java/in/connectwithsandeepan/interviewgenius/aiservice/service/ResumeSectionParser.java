@@ -0,0 +1,165 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Education;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.WorkExperience;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections.DateRange;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections.Section;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Parses long resumes section by section. A local pre-pass splits the text at its headings and
+ * reads contact details and date ranges with regexes; the experience, education and skills sections
+ * are then sent to the model as separate, smaller calls in parallel and merged into one {@link Resume}.
+ * Sections the parsed resume has no field for (summary, projects, hobbies) are never sent.
+ */
+@Slf4j
+@Service
+public class ResumeSectionParser {
+
+    private final ChatClient resumeParserChatClient;
+    private final ThreadPoolTaskExecutor resumeSectionExecutor;
+    private final PromptRegistry promptRegistry;
+    private final SkillMatcher skillMatcher;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int minChars;
+
+    public ResumeSectionParser(ChatClient resumeParserChatClient,
+                               @Qualifier("resumeSectionExecutor") ThreadPoolTaskExecutor resumeSectionExecutor,
+                               PromptRegistry promptRegistry,
+                               SkillMatcher skillMatcher,
+                               MeterRegistry meterRegistry,
+                               @Value("${resume-parsing.hierarchical.enabled:true}") boolean enabled,
+                               @Value("${resume-parsing.hierarchical.min-chars:3000}") int minChars) {
+        this.resumeParserChatClient = resumeParserChatClient;
+        this.resumeSectionExecutor = resumeSectionExecutor;
+        this.promptRegistry = promptRegistry;
+        this.skillMatcher = skillMatcher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minChars = minChars;
+    }
+
+    /**
+     * Parse the resume section by section, or return empty when it should go through the
+     * single-prompt parser: the feature is off, the text is short, or too few headings were recognised
+     */
+    public Optional<Resume> parse(String resumeText) {
+        if (!enabled || resumeText.length() < minChars) {
+            return Optional.empty();
+        }
+        ResumeSections sections = ResumeSections.split(resumeText);
+        long recognised = List.of(Section.EXPERIENCE, Section.EDUCATION, Section.SKILLS).stream()
+                .filter(sections::has)
+                .count();
+        if (recognised < 2) {
+            count("unrecognised");
+            log.debug("Only {} resume sections recognised, parsing the resume whole", recognised);
+            return Optional.empty();
+        }
+
+        // The model is only asked for skills when the dictionary covers too little of the resume's skill list.
+        // Skills are usually listed in their own section; without one, they are read off the experience text.
+        SkillMatcher.Extraction localSkills = skillMatcher.extract(resumeText, sections.text(Section.SKILLS));
+        String skillsText = localSkills.sufficient() ? ""
+                : sections.has(Section.SKILLS) ? sections.text(Section.SKILLS) : sections.text(Section.EXPERIENCE);
+        CompletableFuture<List<WorkExperience>> experiences = submit("work experience", sections.text(Section.EXPERIENCE),
+                new ParameterizedTypeReference<>() {
+                });
+        CompletableFuture<List<Education>> educations = submit("education", sections.text(Section.EDUCATION),
+                new ParameterizedTypeReference<>() {
+                });
+        CompletableFuture<List<String>> skills = submit("skills", skillsText,
+                new ParameterizedTypeReference<>() {
+                });
+
+        try {
+            Resume resume = Resume.builder()
+                    .workExperiences(withDates(experiences.join(), ResumeSections.dateRanges(sections.text(Section.EXPERIENCE))))
+                    .educations(new ArrayList<>(educations.join()))
+                    .skills(skillMatcher.merge(localSkills.skills(), skills.join()))
+                    .email(sections.email().orElse(null))
+                    .phone(sections.phone().orElse(null))
+                    .build();
+            count("success");
+            return Optional.of(resume);
+        } catch (CompletionException e) {
+            count("error");
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        } finally {
+            List.of(experiences, educations, skills).forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> CompletableFuture<List<T>> submit(String section, String text, ParameterizedTypeReference<List<T>> type) {
+        if (text.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            List<T> parsed = resumeParserChatClient.prompt()
+                    .system(promptRegistry.render(PromptRegistry.RESUME_SECTION, Map.of("section", section)))
+                    .user("Resume %s section:\n\n%s".formatted(section, text))
+                    .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.PARSE_RESUME_SECTION))
+                    .call()
+                    .entity(type);
+            return parsed == null ? List.<T>of() : parsed.stream().filter(Objects::nonNull).toList();
+        }, resumeSectionExecutor);
+    }
+
+    /**
+     * Replace the model's dates with the ones read from the text where an entry's start matches
+     * a date range found in the section, so dates are exactly as written rather than as recalled
+     */
+    private List<WorkExperience> withDates(List<WorkExperience> experiences, List<DateRange> ranges) {
+        List<WorkExperience> result = new ArrayList<>(experiences.size());
+        List<DateRange> unused = new ArrayList<>(ranges);
+        for (WorkExperience experience : experiences) {
+            String start = ResumeSections.normalizeDate(experience.getStartDate());
+            DateRange match = start == null ? null : unused.stream()
+                    .filter(range -> range.start().equals(start)
+                            || (range.start().length() == 4 && start.startsWith(range.start())))
+                    .findFirst()
+                    .orElse(null);
+            if (match != null) {
+                unused.remove(match);
+                experience.setStartDate(match.start());
+                experience.setEndDate(match.end());
+                experience.setIsCurrentRole(match.current());
+            }
+            if (experience.getIsCurrentRole() == null) {
+                experience.setIsCurrentRole(experience.getEndDate() == null);
+            }
+            result.add(experience);
+        }
+        return result;
+    }
+
+    private void count(String outcome) {
+        Counter.builder("ai.resume.parse.sections")
+                .description("Resumes parsed section by section, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
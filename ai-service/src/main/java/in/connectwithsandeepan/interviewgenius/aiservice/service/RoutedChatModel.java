@@ -0,0 +1,474 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AdaptiveConcurrencyLimiter.Outcome;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Chat model for one task that sends each call to the task's primary model, or to its fallback
+ * model when the primary's recent p95 latency is over the task's budget or the primary call fails.
+ * Each attempt holds a permit from the provider's concurrency limiter. A request that runs out of
+ * time is not retried on the fallback. A stream must start before the deadline in its {@link RequestDeadline}
+ * context, but once tokens flow it is not cut off, since server-sent events have no fixed length.
+ * <p>
+ * Tasks with {@link Hedging} also send a blocking call to the fallback when the primary has not answered
+ * within its p95, for at most a percentage of calls. The first valid response is returned and the other
+ * attempt is cancelled, which cuts off the primary's tail latency for about that share of extra calls.
+ */
+@Slf4j
+public class RoutedChatModel implements ChatModel {
+
+    /**
+     * A provider model: the ChatModel bean, its limiter name and the model requested from it
+     */
+    public record Route(String provider, String limiter, ChatModel chatModel, String model) {
+
+        String label() {
+            return provider + ":" + model;
+        }
+    }
+
+    /**
+     * Hedging settings: the pool both attempts of a hedged call run on, the largest share of calls that
+     * may be hedged, and the shortest wait before hedging
+     */
+    public record Hedging(Executor executor, double maxPercent, Duration minDelay) {
+    }
+
+    static final String PRIMARY = "primary";
+    static final String FALLBACK = "fallback";
+
+    private final String task;
+    private final Route primary;
+    private final Route fallback;
+    private final Duration latencyBudget;
+    private final LlmConcurrencyLimiters limiters;
+    private final LatencyWindow primaryLatencies;
+    private final MeterRegistry meterRegistry;
+    private final Hedging hedging;
+    private final HedgeBudget hedgeBudget;
+
+    /**
+     * @param hedging null for no hedging
+     */
+    public RoutedChatModel(String task, Route primary, Route fallback, Duration latencyBudget,
+                           Duration window, int minSamples, LlmConcurrencyLimiters limiters, MeterRegistry meterRegistry,
+                           Hedging hedging) {
+        this.task = task;
+        this.primary = primary;
+        this.fallback = fallback;
+        this.latencyBudget = latencyBudget;
+        this.limiters = limiters;
+        this.primaryLatencies = new LatencyWindow(window, minSamples);
+        this.meterRegistry = meterRegistry;
+        this.hedging = fallback == null ? null : hedging;
+        this.hedgeBudget = this.hedging == null ? null : new HedgeBudget(this.hedging.maxPercent());
+
+        Gauge.builder("ai.llm.route.p95", primaryLatencies, latencies -> latencies.p95Seconds())
+                .description("Recent p95 latency of the task's primary model, compared with its latency budget")
+                .baseUnit("seconds")
+                .tag("task", task)
+                .tag("model", primary.label())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Route route = choose();
+        if (route == primary && hedging != null) {
+            hedgeBudget.deposit();
+            Duration p95 = primaryLatencies.p95();
+            // Without enough recent samples there is no p95 to hedge at
+            if (!p95.isZero()) {
+                return hedgedCall(prompt, p95.compareTo(hedging.minDelay()) < 0 ? hedging.minDelay() : p95);
+            }
+        }
+        try {
+            return attempt(route, prompt);
+        } catch (RuntimeException e) {
+            return fallBack(route, prompt, e);
+        }
+    }
+
+    private ChatResponse fallBack(Route failed, Prompt prompt, RuntimeException e) {
+        if (failed != primary || fallback == null || e instanceof DeadlineExceededException) {
+            throw e;
+        }
+        log.warn("Primary model {} failed for {}, retrying on {}: {}", primary.label(), task, fallback.label(),
+                e.getMessage());
+        decision(FALLBACK, "primary_error");
+        return attempt(fallback, prompt);
+    }
+
+    /**
+     * Call the primary, and the fallback as well if the primary has not answered after the delay and the
+     * hedge budget allows. Returns the first valid response and cancels the other attempt; a primary that
+     * fails before the hedge is sent falls back as an unhedged call does.
+     */
+    private ChatResponse hedgedCall(Prompt prompt, Duration delay) {
+        CompletionService<ChatResponse> attempts = new ExecutorCompletionService<>(hedging.executor());
+        long start = System.nanoTime();
+        Future<ChatResponse> primaryAttempt;
+        try {
+            primaryAttempt = attempts.submit(() -> attempt(primary, prompt));
+        } catch (RejectedExecutionException e) {
+            hedge("skipped", "pool_full");
+            try {
+                return attempt(primary, prompt);
+            } catch (RuntimeException failure) {
+                return fallBack(primary, prompt, failure);
+            }
+        }
+
+        Future<ChatResponse> hedgeAttempt = null;
+        Future<ChatResponse> winner = null;
+        try {
+            Future<ChatResponse> done = attempts.poll(delay.toNanos(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                hedgeAttempt = submitHedge(attempts, prompt);
+                done = attempts.take();
+            }
+
+            ChatResponse invalid = null;
+            RuntimeException primaryFailure = null;
+            RuntimeException hedgeFailure = null;
+            int outstanding = hedgeAttempt == null ? 1 : 2;
+            while (true) {
+                outstanding--;
+                try {
+                    ChatResponse response = done.get();
+                    if (isValid(response)) {
+                        winner = done;
+                        return response;
+                    }
+                    invalid = invalid == null ? response : invalid;
+                } catch (ExecutionException e) {
+                    RuntimeException failure = unwrap(e);
+                    if (done == primaryAttempt) {
+                        primaryFailure = failure;
+                    } else {
+                        hedgeFailure = failure;
+                    }
+                }
+                if (outstanding == 0) {
+                    break;
+                }
+                done = attempts.take();
+            }
+
+            if (invalid != null) {
+                return invalid;
+            }
+            if (hedgeAttempt == null) {
+                return fallBack(primary, prompt, primaryFailure);
+            }
+            throw primaryFailure != null ? primaryFailure : hedgeFailure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + task, e);
+        } finally {
+            if (hedgeAttempt != null && winner == hedgeAttempt) {
+                hedge("won", null);
+                // The cancelled primary took at least this long; keep the stall in its p95
+                primaryLatencies.record(Duration.ofNanos(System.nanoTime() - start));
+            }
+            primaryAttempt.cancel(true);
+            if (hedgeAttempt != null) {
+                hedgeAttempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @return null when the hedge budget is spent or the pool is full
+     */
+    private Future<ChatResponse> submitHedge(CompletionService<ChatResponse> attempts, Prompt prompt) {
+        if (!hedgeBudget.tryWithdraw()) {
+            hedge("skipped", "budget");
+            return null;
+        }
+        try {
+            Future<ChatResponse> hedgeAttempt = attempts.submit(() -> attempt(fallback, prompt));
+            hedge("fired", null);
+            return hedgeAttempt;
+        } catch (RejectedExecutionException e) {
+            hedgeBudget.refund();
+            hedge("skipped", "pool_full");
+            return null;
+        }
+    }
+
+    private static boolean isValid(ChatResponse response) {
+        return response != null && response.getResult() != null && response.getResult().getOutput() != null
+                && StringUtils.hasText(response.getResult().getOutput().getText());
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Route route = choose();
+            AtomicBoolean emitted = new AtomicBoolean();
+            Flux<ChatResponse> first = attemptStream(route, prompt).doOnNext(chunk -> emitted.set(true));
+            if (route != primary || fallback == null) {
+                return first;
+            }
+            // Only fall back before anything has been sent on; a half-streamed reply cannot be retried
+            return first.onErrorResume(e -> !emitted.get() && !(e instanceof DeadlineExceededException), e -> {
+                log.warn("Primary model {} failed for {}, retrying on {}: {}", primary.label(), task, fallback.label(),
+                        e.getMessage());
+                decision(FALLBACK, "primary_error");
+                return attemptStream(fallback, prompt);
+            });
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ChatOptions.builder().model(primary.model()).build();
+    }
+
+    private Route choose() {
+        if (fallback != null && primaryLatencies.p95().compareTo(latencyBudget) > 0) {
+            decision(FALLBACK, "over_budget");
+            return fallback;
+        }
+        decision(PRIMARY, "default");
+        return primary;
+    }
+
+    private ChatResponse attempt(Route route, Prompt prompt) {
+        Prompt routed = new Prompt(prompt.getInstructions(), options(route, prompt.getOptions()));
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = limiters.execute(route.limiter(), () -> {
+                long modelStart = System.nanoTime();
+                ChatResponse result = route.chatModel().call(routed);
+                observe(route, Duration.ofNanos(System.nanoTime() - modelStart));
+                return result;
+            });
+            attemptTimer(route, "success").record(Duration.ofNanos(System.nanoTime() - start));
+            return response;
+        } catch (RuntimeException e) {
+            // Interrupted: cancelled because the other attempt of a hedged call won
+            attemptTimer(route, Thread.currentThread().isInterrupted() ? "cancelled" : "error")
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+    }
+
+    private Flux<ChatResponse> attemptStream(Route route, Prompt prompt) {
+        Prompt routed = new Prompt(prompt.getInstructions(), options(route, prompt.getOptions()));
+        return Flux.deferContextual(context -> {
+            Instant deadline = RequestDeadline.from(context);
+            AdaptiveConcurrencyLimiter.Permit permit = limiters.acquire(route.limiter(), deadline);
+            long start = System.nanoTime();
+            Flux<ChatResponse> stream = route.chatModel().stream(routed)
+                    .doOnComplete(() -> {
+                        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                        observe(route, latency);
+                        attemptTimer(route, "success").record(latency);
+                        if (permit != null) {
+                            permit.release(Outcome.SUCCESS);
+                        }
+                    })
+                    .doOnError(e -> {
+                        attemptTimer(route, "error").record(Duration.ofNanos(System.nanoTime() - start));
+                        if (permit != null) {
+                            permit.release(Outcome.DROPPED);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (permit != null) {
+                            permit.release(Outcome.IGNORED);
+                        }
+                    });
+            if (deadline == null) {
+                return stream;
+            }
+            // Cancels the provider stream, which releases the permit, if no token arrives before the deadline
+            return stream.timeout(untilDeadline(deadline), chunk -> Mono.never())
+                    .onErrorMap(TimeoutException.class, e -> {
+                        limiters.deadlineExceeded(route.limiter());
+                        return new DeadlineExceededException(route.limiter(), e);
+                    });
+        });
+    }
+
+    private static Mono<Long> untilDeadline(Instant deadline) {
+        Duration remaining = RequestDeadline.remaining(deadline);
+        return Mono.delay(remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    private void observe(Route route, Duration latency) {
+        if (route == primary) {
+            primaryLatencies.record(latency);
+        }
+    }
+
+    /**
+     * The caller's options with the route's model; anything left unset falls back to the provider's defaults
+     */
+    private ChatOptions options(Route route, ChatOptions options) {
+        if (options == null) {
+            return ChatOptions.builder().model(route.model()).build();
+        }
+        return ChatOptions.builder()
+                .model(route.model())
+                .frequencyPenalty(options.getFrequencyPenalty())
+                .maxTokens(options.getMaxTokens())
+                .presencePenalty(options.getPresencePenalty())
+                .stopSequences(options.getStopSequences())
+                .temperature(options.getTemperature())
+                .topK(options.getTopK())
+                .topP(options.getTopP())
+                .build();
+    }
+
+    private void decision(String route, String reason) {
+        Counter.builder("ai.llm.route")
+                .description("Routing decisions per task")
+                .tag("task", task)
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void hedge(String outcome, String reason) {
+        Counter.Builder counter = Counter.builder("ai.llm.hedge." + outcome)
+                .description(switch (outcome) {
+                    case "fired" -> "Calls where the fallback was also called because the primary was slower than its p95";
+                    case "won" -> "Hedged calls answered by the fallback before the primary";
+                    default -> "Calls that would have been hedged but were not";
+                })
+                .tag("task", task)
+                .tag("model", fallback.label());
+        if (reason != null) {
+            counter.tag("reason", reason);
+        }
+        counter.register(meterRegistry).increment();
+    }
+
+    private Timer attemptTimer(Route route, String outcome) {
+        return Timer.builder("ai.llm.route.attempt")
+                .description("Latency of each routed model attempt, including waiting for a provider permit")
+                .tag("task", task)
+                .tag("model", route.label())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Allows hedging at most a percentage of calls: each call earns that fraction of a hedge and each
+     * hedge spends one. Unspent credit is capped, so a quiet spell cannot fund a burst of hedges.
+     */
+    static class HedgeBudget {
+
+        private static final double MAX_BALANCE = 10;
+
+        private final double perCall;
+        private double balance;
+
+        HedgeBudget(double maxPercent) {
+            this.perCall = maxPercent / 100;
+        }
+
+        synchronized void deposit() {
+            balance = Math.min(MAX_BALANCE, balance + perCall);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (balance < 1) {
+                return false;
+            }
+            balance -= 1;
+            return true;
+        }
+
+        synchronized void refund() {
+            balance = Math.min(MAX_BALANCE, balance + 1);
+        }
+    }
+
+    /**
+     * Latencies of successful primary calls within a sliding time window.
+     * Samples age out, so a primary that was routed around is tried again once the window passes.
+     */
+    static class LatencyWindow {
+
+        private static final int MAX_SAMPLES = 200;
+
+        private final long windowNanos;
+        private final int minSamples;
+        private final Deque<long[]> samples = new ArrayDeque<>();
+
+        LatencyWindow(Duration window, int minSamples) {
+            this.windowNanos = window.toNanos();
+            this.minSamples = minSamples;
+        }
+
+        synchronized void record(Duration latency) {
+            samples.addLast(new long[]{System.nanoTime(), latency.toNanos()});
+            if (samples.size() > MAX_SAMPLES) {
+                samples.removeFirst();
+            }
+        }
+
+        /**
+         * p95 of the samples in the window, or zero until there are enough of them to judge
+         */
+        synchronized Duration p95() {
+            long cutoff = System.nanoTime() - windowNanos;
+            while (!samples.isEmpty() && samples.peekFirst()[0] < cutoff) {
+                samples.removeFirst();
+            }
+            if (samples.size() < minSamples) {
+                return Duration.ZERO;
+            }
+            long[] latencies = samples.stream().mapToLong(sample -> sample[1]).toArray();
+            Arrays.sort(latencies);
+            return Duration.ofNanos(latencies[(int) Math.ceil(0.95 * latencies.length) - 1]);
+        }
+
+        double p95Seconds() {
+            return p95().toNanos() / 1e9;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.util.AhoCorasick;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts skills from resume text in-process by matching it against a curated dictionary of skill
+ * names and their aliases (e.g. "k8s" for Kubernetes), returning canonical names. The dictionary file
+ * is reloaded when it changes. The model only needs to be asked for skills when coverage is low.
+ * <p>
+ * Dictionary format, one skill per line: {@code Canonical Name | alias | alias}. Names match whole
+ * words ignoring case; a name prefixed with {@code =} (e.g. {@code =Go}) only matches with that exact case.
+ * Blank lines and lines starting with {@code #} are ignored.
+ */
+@Slf4j
+@Component
+public class SkillMatcher {
+
+    /**
+     * Skills found in the text, in order of first appearance, and how much of the resume's own skill
+     * list they account for (0 to 1)
+     */
+    public record Extraction(List<String> skills, double coverage, boolean sufficient) {
+    }
+
+    // Items of a listed skills section: "Java, Spring Boot | Docker • AWS"
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*(?:[,;|•·▪●]|\\s/\\s|\\s-\\s)\\s*");
+    private static final Pattern CATEGORY_LABEL = Pattern.compile("^[\\p{L} &/]{2,30}:\\s*");
+
+    private final Resource dictionaryResource;
+    private final boolean enabled;
+    private final double minCoverage;
+    private final int minSkills;
+    private final MeterRegistry meterRegistry;
+    private final Timer extractTimer;
+
+    private volatile AhoCorasick<String> matcher = AhoCorasick.<String>builder().build();
+    private volatile long dictionaryModified = -1;
+    private volatile String dictionaryVersion = "";
+
+    public SkillMatcher(@Value("${skill-matcher.dictionary-path}") Resource dictionaryResource,
+                        MeterRegistry meterRegistry,
+                        @Value("${skill-matcher.enabled:true}") boolean enabled,
+                        @Value("${skill-matcher.min-coverage:0.6}") double minCoverage,
+                        @Value("${skill-matcher.min-skills:5}") int minSkills) {
+        this.dictionaryResource = dictionaryResource;
+        this.enabled = enabled;
+        this.minCoverage = minCoverage;
+        this.minSkills = minSkills;
+        this.meterRegistry = meterRegistry;
+        this.extractTimer = Timer.builder("ai.skills.extract")
+                .description("Time to match a resume against the skill dictionary")
+                .register(meterRegistry);
+        Gauge.builder("ai.skills.dictionary.size", this, skillMatcher -> skillMatcher.matcher.size())
+                .description("Names and aliases in the loaded skill dictionary")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        if (enabled) {
+            String dictionary = dictionaryResource.getContentAsString(StandardCharsets.UTF_8);
+            matcher = parse(dictionary);
+            dictionaryVersion = HashUtil.sha256(dictionary).substring(0, 12);
+            dictionaryModified = lastModified();
+            log.info("Loaded skill dictionary with {} names and aliases", matcher.size());
+        }
+    }
+
+    /**
+     * Reload the dictionary when its file has changed. A dictionary that fails to load is
+     * reported and the previous one stays in use.
+     */
+    @Scheduled(fixedDelayString = "${skill-matcher.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        long modified = lastModified();
+        if (modified == dictionaryModified) {
+            return;
+        }
+        try {
+            String dictionary = dictionaryResource.getContentAsString(StandardCharsets.UTF_8);
+            matcher = parse(dictionary);
+            dictionaryVersion = HashUtil.sha256(dictionary).substring(0, 12);
+            dictionaryModified = modified;
+            log.info("Reloaded skill dictionary with {} names and aliases", matcher.size());
+        } catch (Exception e) {
+            log.warn("Failed to reload skill dictionary, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hash of the loaded dictionary's content, empty when matching is disabled. Parses that used
+     * the dictionary are only valid for the version they were made with.
+     */
+    public String dictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    /**
+     * Match the resume against the dictionary
+     * @param text Resume text to extract skills from
+     * @param skillsSection The resume's skills section, or empty when it has none
+     */
+    public Extraction extract(String text, String skillsSection) {
+        if (!enabled) {
+            return new Extraction(List.of(), 0, false);
+        }
+        long start = System.nanoTime();
+        AhoCorasick<String> current = matcher;
+        List<String> skills = distinct(current.findAll(text));
+        double coverage = skillsSection.isBlank()
+                ? Math.min(1.0, (double) skills.size() / minSkills)
+                : listCoverage(current, skillsSection);
+        extractTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        boolean sufficient = coverage >= minCoverage;
+        Counter.builder("ai.skills.extractions")
+                .description("Dictionary skill extractions, by whether their coverage was enough to skip the model")
+                .tag("sufficient", Boolean.toString(sufficient))
+                .register(meterRegistry)
+                .increment();
+        return new Extraction(skills, coverage, sufficient);
+    }
+
+    /**
+     * Dictionary skills followed by any other skills (e.g. from the model), with aliases replaced
+     * by their canonical name and duplicates dropped ignoring case
+     */
+    public List<String> merge(List<String> skills, List<String> others) {
+        AhoCorasick<String> current = matcher;
+        Set<String> seen = new HashSet<>();
+        List<String> merged = new ArrayList<>();
+        for (String skill : skills) {
+            if (seen.add(skill.toLowerCase(Locale.ROOT))) {
+                merged.add(skill);
+            }
+        }
+        for (String other : others) {
+            if (other == null || other.isBlank()) {
+                continue;
+            }
+            String skill = canonical(current, other.strip()).orElse(other.strip());
+            if (seen.add(skill.toLowerCase(Locale.ROOT))) {
+                merged.add(skill);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The canonical name when the whole string is a dictionary name or alias
+     */
+    private Optional<String> canonical(AhoCorasick<String> current, String skill) {
+        List<AhoCorasick.Match<String>> matches = current.findAll(skill);
+        return matches.size() == 1 && matches.get(0).start() == 0 && matches.get(0).end() == skill.length()
+                ? Optional.of(matches.get(0).value())
+                : Optional.empty();
+    }
+
+    /**
+     * Share of the listed items in a skills section that contain a dictionary skill
+     */
+    private double listCoverage(AhoCorasick<String> current, String skillsSection) {
+        int items = 0;
+        int matched = 0;
+        for (String line : skillsSection.split("\\R")) {
+            for (String item : LIST_SEPARATOR.split(CATEGORY_LABEL.matcher(line.strip()).replaceFirst(""))) {
+                if (item.isBlank()) {
+                    continue;
+                }
+                items++;
+                if (!current.findAll(item).isEmpty()) {
+                    matched++;
+                }
+            }
+        }
+        return items == 0 ? 0 : (double) matched / items;
+    }
+
+    private static List<String> distinct(List<AhoCorasick.Match<String>> matches) {
+        Set<String> skills = new LinkedHashSet<>();
+        for (AhoCorasick.Match<String> match : matches) {
+            skills.add(match.value());
+        }
+        return List.copyOf(skills);
+    }
+
+    static AhoCorasick<String> parse(String dictionary) {
+        AhoCorasick.Builder<String> builder = AhoCorasick.builder();
+        for (String line : dictionary.split("\\R")) {
+            String entry = line.strip();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                continue;
+            }
+            String[] names = entry.split("\\|");
+            String canonical = unmarked(names[0]);
+            for (String name : names) {
+                String value = name.strip();
+                if (!value.isEmpty()) {
+                    builder.add(unmarked(value), value.startsWith("="), canonical);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static String unmarked(String name) {
+        String value = name.strip();
+        return value.startsWith("=") ? value.substring(1).strip() : value;
+    }
+
+    private long lastModified() {
+        try {
+            return dictionaryResource.lastModified();
+        } catch (IOException e) {
+            return dictionaryModified;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import org.springframework.ai.audio.transcription.AudioTranscription;
+import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
+import org.springframework.ai.audio.transcription.AudioTranscriptionResponse;
+import org.springframework.ai.model.Model;
+import org.springframework.ai.openai.OpenAiAudioTranscriptionOptions;
+import org.springframework.ai.openai.api.OpenAiAudioApi;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Whisper transcription client that streams the audio resource into the multipart request.
+ * Spring AI's OpenAiAudioTranscriptionModel reads the whole file into a byte array first;
+ * here the file part is copied from the resource's input stream, so heap use per call does not
+ * grow with the file size.
+ */
+public class StreamingWhisperTranscriptionModel implements Model<AudioTranscriptionPrompt, AudioTranscriptionResponse> {
+
+    private final RestClient restClient;
+    private final String defaultModel;
+
+    public StreamingWhisperTranscriptionModel(String baseUrl, String apiKey, String defaultModel, Duration readTimeout) {
+        // The JDK client streams request bodies; the default buffering factories would not
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newHttpClient());
+        requestFactory.setReadTimeout(readTimeout);
+
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .requestFactory(requestFactory)
+                .build();
+        this.defaultModel = defaultModel;
+    }
+
+    @Override
+    public AudioTranscriptionResponse call(AudioTranscriptionPrompt prompt) {
+        OpenAiAudioTranscriptionOptions options = prompt.getOptions() instanceof OpenAiAudioTranscriptionOptions openAiOptions
+                ? openAiOptions
+                : new OpenAiAudioTranscriptionOptions();
+
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("file", prompt.getInstructions());
+        parts.add("model", options.getModel() != null ? options.getModel() : defaultModel);
+        parts.add("response_format", OpenAiAudioApi.TranscriptResponseFormat.JSON.getValue());
+        if (options.getPrompt() != null) {
+            parts.add("prompt", options.getPrompt());
+        }
+        if (options.getLanguage() != null) {
+            parts.add("language", options.getLanguage());
+        }
+        if (options.getTemperature() != null) {
+            parts.add("temperature", options.getTemperature().toString());
+        }
+
+        WhisperResponse response = restClient.post()
+                .uri("/v1/audio/transcriptions")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(parts)
+                .retrieve()
+                .body(WhisperResponse.class);
+
+        return new AudioTranscriptionResponse(new AudioTranscription(response == null ? "" : response.text()));
+    }
+
+    private record WhisperResponse(String text) {
+    }
+}
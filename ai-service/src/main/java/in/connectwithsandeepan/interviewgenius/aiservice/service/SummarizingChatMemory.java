@@ -0,0 +1,209 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.WriteBehindChatMemoryRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat memory that compacts long conversations into a rolling summary.
+ * Once the stored conversation passes the token threshold, everything except the most
+ * recent messages is replaced by a model-generated summary, stored as a system message
+ * in the same conversation. Compaction runs in the background after a turn completes,
+ * so it never adds latency to the turn itself.
+ */
+@Slf4j
+public class SummarizingChatMemory implements ChatMemory {
+
+    static final String SUMMARY_PREFIX = "Summary of the interview so far:\n";
+
+    private static final String SUMMARY_INSTRUCTIONS = """
+            You maintain a running summary of a technical interview.
+            Merge the previous summary (if any) with the new transcript below into one concise summary.
+            Keep every question that was asked, the gist of each answer, how well it was answered,
+            the topics already covered and the current difficulty level. Do not add commentary.
+            """;
+
+    private final ChatMemory delegate;
+    private final ChatMemoryRepository repository;
+    private final ChatClient summaryChatClient;
+    private final ThreadPoolTaskExecutor summaryExecutor;
+    private final int tokenThreshold;
+    private final int keepRecentMessages;
+
+    private final Set<String> compacting = ConcurrentHashMap.newKeySet();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private final DistributionSummary memoryTokens;
+    private final DistributionSummary tokensBefore;
+    private final DistributionSummary tokensAfter;
+    private final Counter compactionFailures;
+
+    public SummarizingChatMemory(ChatMemory delegate,
+                                 ChatMemoryRepository repository,
+                                 ChatClient summaryChatClient,
+                                 ThreadPoolTaskExecutor summaryExecutor,
+                                 MeterRegistry meterRegistry,
+                                 int tokenThreshold,
+                                 int keepRecentMessages) {
+        this.delegate = delegate;
+        this.repository = repository;
+        this.summaryChatClient = summaryChatClient;
+        this.summaryExecutor = summaryExecutor;
+        this.tokenThreshold = tokenThreshold;
+        this.keepRecentMessages = keepRecentMessages;
+
+        this.memoryTokens = DistributionSummary.builder("ai.chat.memory.prompt.tokens")
+                .description("Estimated tokens of conversation history sent with each turn")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.tokensBefore = DistributionSummary.builder("ai.chat.memory.compaction.tokens")
+                .description("Estimated conversation tokens around a compaction")
+                .baseUnit("tokens")
+                .tag("stage", "before")
+                .register(meterRegistry);
+        this.tokensAfter = DistributionSummary.builder("ai.chat.memory.compaction.tokens")
+                .description("Estimated conversation tokens around a compaction")
+                .baseUnit("tokens")
+                .tag("stage", "after")
+                .register(meterRegistry);
+        this.compactionFailures = Counter.builder("ai.chat.memory.compaction.failures")
+                .description("Conversation compactions that failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        synchronized (lockFor(conversationId)) {
+            delegate.add(conversationId, messages);
+        }
+        scheduleCompactionIfNeeded(conversationId);
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        List<Message> messages = delegate.get(conversationId);
+        memoryTokens.record(TokenEstimator.estimate(messages));
+        return messages;
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        synchronized (lockFor(conversationId)) {
+            delegate.clear(conversationId);
+        }
+        locks.remove(conversationId);
+    }
+
+    private void scheduleCompactionIfNeeded(String conversationId) {
+        List<Message> messages = storedMessages(conversationId);
+        if (messages == null || TokenEstimator.estimate(messages) <= tokenThreshold
+                || messages.size() <= keepRecentMessages) {
+            return;
+        }
+        if (!compacting.add(conversationId)) {
+            return;
+        }
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    compact(conversationId);
+                } finally {
+                    compacting.remove(conversationId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            compacting.remove(conversationId);
+            log.debug("Summary executor is saturated, skipping compaction of {}", conversationId);
+        }
+    }
+
+    private void compact(String conversationId) {
+        try {
+            List<Message> snapshot = repository.findByConversationId(conversationId);
+            int splitIndex = snapshot.size() - keepRecentMessages;
+            if (splitIndex <= 0) {
+                return;
+            }
+
+            String summary = summarize(snapshot.subList(0, splitIndex));
+            if (summary == null || summary.isBlank()) {
+                return;
+            }
+
+            synchronized (lockFor(conversationId)) {
+                // Turns added while the summary was generated are kept verbatim after the summarized prefix
+                List<Message> current = repository.findByConversationId(conversationId);
+                if (current.size() < splitIndex || !current.subList(0, splitIndex).equals(snapshot.subList(0, splitIndex))) {
+                    log.debug("Conversation {} changed shape during compaction, skipping", conversationId);
+                    return;
+                }
+
+                List<Message> compacted = new ArrayList<>();
+                compacted.add(new SystemMessage(SUMMARY_PREFIX + summary));
+                compacted.addAll(current.subList(splitIndex, current.size()));
+                repository.saveAll(conversationId, compacted);
+
+                tokensBefore.record(TokenEstimator.estimate(current));
+                tokensAfter.record(TokenEstimator.estimate(compacted));
+                log.debug("Compacted conversation {} from {} to {} messages", conversationId, current.size(), compacted.size());
+            }
+        } catch (Exception e) {
+            compactionFailures.increment();
+            log.warn("Failed to compact conversation {}: {}", conversationId, e.getMessage());
+        }
+    }
+
+    private String summarize(List<Message> messages) {
+        StringBuilder transcript = new StringBuilder();
+        for (Message message : messages) {
+            if (message.getMessageType() == MessageType.SYSTEM) {
+                String text = message.getText();
+                transcript.append("Previous summary:\n")
+                        .append(text.startsWith(SUMMARY_PREFIX) ? text.substring(SUMMARY_PREFIX.length()) : text)
+                        .append("\n\n");
+            } else {
+                String speaker = message.getMessageType() == MessageType.USER ? "Candidate" : "Interviewer";
+                transcript.append(speaker).append(": ").append(message.getText()).append('\n');
+            }
+        }
+
+        return summaryChatClient.prompt()
+                .system(SUMMARY_INSTRUCTIONS)
+                .user(transcript.toString())
+                .advisors(a -> a.param(LlmMetrics.ENDPOINT, LlmMetrics.SUMMARIZE_CONVERSATION))
+                .call()
+                .content();
+    }
+
+    /**
+     * The conversation just written, from the write-behind tier's in-process copy when there is one,
+     * so checking the threshold does not add a database read to every turn
+     */
+    private List<Message> storedMessages(String conversationId) {
+        if (repository instanceof WriteBehindChatMemoryRepository writeBehind) {
+            return writeBehind.findCached(conversationId);
+        }
+        return repository.findByConversationId(conversationId);
+    }
+
+    private Object lockFor(String conversationId) {
+        return locks.computeIfAbsent(conversationId, key -> new Object());
+    }
+}
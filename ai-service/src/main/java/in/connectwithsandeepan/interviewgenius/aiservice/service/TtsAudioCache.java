@@ -0,0 +1,249 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed disk cache for synthesized speech.
+ * Each audio blob is stored once, named by the hash of (text, voice, speed, model).
+ * An in-memory LRU index tracks the files and evicts the least recently used ones
+ * once the total size exceeds the configured limit. Cached audio is handed out as bytes or as a link
+ * owned by the caller, never as the path of a cached file, which eviction may delete at any time.
+ */
+@Slf4j
+@Component
+public class TtsAudioCache {
+
+    private static final String EXTENSION = ".mp3";
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bytesSavedCounter;
+    private final Counter evictionCounter;
+
+    @Value("${tts.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tts.cache.directory:uploads/tts-cache}")
+    private String directory;
+
+    @Value("${tts.cache.max-bytes:536870912}")
+    private long maxBytes;
+
+    public TtsAudioCache(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("ai.tts.cache.hits")
+                .description("Speech requests served from the audio cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.tts.cache.misses")
+                .description("Speech requests that had to be synthesized")
+                .register(meterRegistry);
+        this.bytesSavedCounter = Counter.builder("ai.tts.cache.bytes.saved")
+                .description("Audio bytes served from the cache instead of being synthesized")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("ai.tts.cache.evictions")
+                .description("Audio files evicted from the cache")
+                .register(meterRegistry);
+        Gauge.builder("ai.tts.cache.size", this, cache -> cache.currentBytes())
+                .description("Total bytes of cached audio")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("ai.tts.cache.hit.ratio", this, cache -> cache.hitRatio())
+                .description("Fraction of speech requests served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the index from files left on disk by a previous run, oldest first
+     */
+    @PostConstruct
+    void loadIndex() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path cacheDir = Paths.get(directory);
+        Files.createDirectories(cacheDir);
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            files = stream
+                    .filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .toList();
+        }
+
+        synchronized (this) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                index.put(name.substring(0, name.length() - EXTENSION.length()), size);
+                totalBytes += size;
+            }
+            evictIfNeeded();
+        }
+        log.info("Loaded {} cached speech files ({} bytes)", index.size(), totalBytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key for a synthesis request
+     */
+    public String key(String text, String voice, float speed, String model) {
+        return HashUtil.sha256(model, voice, Float.toString(speed), text);
+    }
+
+    /**
+     * Cached audio for a key, or null if it is not cached
+     */
+    public byte[] get(String key) throws IOException {
+        if (!indexed(key)) {
+            missCounter.increment();
+            return null;
+        }
+        try {
+            byte[] audio = Files.readAllBytes(pathFor(key));
+            hit(audio.length);
+            return audio;
+        } catch (NoSuchFileException e) {
+            evictedSinceLookup(key);
+            return null;
+        }
+    }
+
+    /**
+     * Hard-link the cached audio for a key to target, so the caller gets a file of its own that
+     * eviction never deletes; falls back to a copy where the file system cannot link
+     * @return false if it is not cached
+     */
+    public boolean linkTo(String key, Path target) throws IOException {
+        if (!indexed(key)) {
+            missCounter.increment();
+            return false;
+        }
+        try {
+            link(pathFor(key), target);
+        } catch (NoSuchFileException e) {
+            evictedSinceLookup(key);
+            return false;
+        }
+        hit(Files.size(target));
+        return true;
+    }
+
+    /**
+     * Store audio under a key
+     */
+    public void put(String key, byte[] audio) throws IOException {
+        Path path = pathFor(key);
+        Files.createDirectories(path.getParent());
+
+        // Write to a temp file first so readers never see a partial file
+        Path tempFile = Files.createTempFile(path.getParent(), key, ".tmp");
+        Files.write(tempFile, audio);
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (this) {
+            Long previous = index.put(key, (long) audio.length);
+            totalBytes += audio.length - (previous == null ? 0 : previous);
+            evictIfNeeded();
+        }
+    }
+
+    private synchronized boolean indexed(String key) {
+        return index.get(key) != null;
+    }
+
+    private void hit(long bytes) {
+        hitCounter.increment();
+        bytesSavedCounter.increment(bytes);
+    }
+
+    // The file was evicted, or deleted behind the cache's back, after the index was checked
+    private void evictedSinceLookup(String key) {
+        remove(key);
+        missCounter.increment();
+    }
+
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            // No hard links across file systems, or at all on some; copy instead
+            Files.copy(source, target);
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        // Always keep the most recent entry, even if it alone exceeds the limit
+        while (totalBytes > maxBytes && index.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            evictionCounter.increment();
+            try {
+                Files.deleteIfExists(pathFor(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to delete evicted speech file {}: {}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private Path pathFor(String key) {
+        return Paths.get(directory, key + EXTENSION);
+    }
+
+    private synchronized long currentBytes() {
+        return totalBytes;
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads PCM WAV samples as the mono mix scaled to [-1, 1), and the RMS energy of fixed-size
+ * windows of it, for the audio preprocessor's silence trimming and the chunked transcriber's cut points
+ */
+final class WavEnergy {
+
+    private WavEnergy() {
+    }
+
+    /**
+     * Signed or unsigned PCM of 8, 16, 24 or 32 bits, which {@link #monoSample} can decode
+     */
+    static boolean isSupportedPcm(AudioFormat format) {
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int bits = format.getSampleSizeInBits();
+        return (encoding.equals(AudioFormat.Encoding.PCM_SIGNED) || encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED))
+                && (bits == 8 || bits == 16 || bits == 24 || bits == 32)
+                && format.getChannels() > 0;
+    }
+
+    /**
+     * RMS of the mono mix for each complete window, read in one streaming pass
+     */
+    static double[] windowEnergies(Path audio, AudioFormat format, int windowFrames) throws IOException, UnsupportedAudioFileException {
+        double[] energies = new double[256];
+        int count = 0;
+        byte[] window = new byte[windowFrames * format.getFrameSize()];
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(audio.toFile())) {
+            while (stream.readNBytes(window, 0, window.length) == window.length) {
+                double sumOfSquares = 0;
+                for (int frame = 0; frame < windowFrames; frame++) {
+                    double sample = monoSample(window, frame * format.getFrameSize(), format);
+                    sumOfSquares += sample * sample;
+                }
+                if (count == energies.length) {
+                    energies = Arrays.copyOf(energies, count * 2);
+                }
+                energies[count++] = Math.sqrt(sumOfSquares / windowFrames);
+            }
+        }
+        return Arrays.copyOf(energies, count);
+    }
+
+    /**
+     * The average of a frame's channels
+     */
+    static double monoSample(byte[] data, int frameOffset, AudioFormat format) {
+        int channels = format.getChannels();
+        int bytesPerSample = format.getSampleSizeInBits() / 8;
+        double sum = 0;
+        for (int channel = 0; channel < channels; channel++) {
+            sum += sample(data, frameOffset + channel * bytesPerSample, bytesPerSample, format);
+        }
+        return sum / channels;
+    }
+
+    /**
+     * One sample scaled to [-1, 1)
+     */
+    private static double sample(byte[] data, int offset, int bytesPerSample, AudioFormat format) {
+        long value = 0;
+        for (int i = 0; i < bytesPerSample; i++) {
+            int index = format.isBigEndian() ? offset + i : offset + bytesPerSample - 1 - i;
+            value = (value << 8) | (data[index] & 0xFF);
+        }
+        int bits = bytesPerSample * 8;
+        if (format.getEncoding().equals(AudioFormat.Encoding.PCM_UNSIGNED)) {
+            value -= 1L << (bits - 1);
+        } else if ((value & (1L << (bits - 1))) != 0) {
+            value -= 1L << bits;
+        }
+        return value / (double) (1L << (bits - 1));
+    }
+}
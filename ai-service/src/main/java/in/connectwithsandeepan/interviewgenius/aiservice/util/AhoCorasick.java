@@ -0,0 +1,222 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton that finds many whole-word patterns in one pass over the text.
+ * Patterns match ignoring case unless added as case-sensitive. Overlapping matches are resolved
+ * leftmost-longest, so "Spring Boot" wins over "Spring" and "C++" over "C".
+ * Instances are immutable and safe to share between threads.
+ */
+public class AhoCorasick<T> {
+
+    /**
+     * A pattern found at [start, end) of the text
+     */
+    public record Match<T>(int start, int end, T value) {
+    }
+
+    private record Pattern<T>(String text, boolean caseSensitive, T value) {
+    }
+
+    private static final Comparator<Match<?>> LEFTMOST_LONGEST =
+            Comparator.<Match<?>>comparingInt(Match::start).thenComparing(match -> -match.end());
+
+    // Trie transitions per node as sorted keys with parallel targets
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] failure;
+    // Patterns ending at each node, including those reached through failure links
+    private final int[][] outputs;
+    private final List<Pattern<T>> patterns;
+
+    private AhoCorasick(char[][] keys, int[][] targets, int[] failure, int[][] outputs, List<Pattern<T>> patterns) {
+        this.keys = keys;
+        this.targets = targets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.patterns = patterns;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    /**
+     * Non-overlapping whole-word matches in text order
+     */
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> candidates = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(next, 0);
+            for (int index : outputs[state]) {
+                Pattern<T> pattern = patterns.get(index);
+                int start = i + 1 - pattern.text().length();
+                if (isWord(text, start, i + 1)
+                        && (!pattern.caseSensitive() || regionEquals(text, start, pattern.text()))) {
+                    candidates.add(new Match<>(start, i + 1, pattern.value()));
+                }
+            }
+        }
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+
+        candidates.sort(LEFTMOST_LONGEST);
+        List<Match<T>> matches = new ArrayList<>();
+        int covered = 0;
+        for (Match<T> candidate : candidates) {
+            if (candidate.start() >= covered) {
+                matches.add(candidate);
+                covered = candidate.end();
+            }
+        }
+        return matches;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index < 0 ? -1 : targets[state][index];
+    }
+
+    /**
+     * Not preceded or followed by a letter, digit, '+' or '#', so "Java" does not match inside
+     * "JavaScript" and "C" does not match inside "C++"
+     */
+    private static boolean isWord(CharSequence text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private static boolean regionEquals(CharSequence text, int start, String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = text.charAt(start + i);
+            if ((Character.isWhitespace(c) ? ' ' : c) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower case, with any whitespace (including line breaks) read as a space
+     */
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    public static class Builder<T> {
+
+        private final List<Pattern<T>> patterns = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> add(String pattern, boolean caseSensitive, T value) {
+            String normalized = pattern.strip().replaceAll("\\s+", " ");
+            if (!normalized.isEmpty()) {
+                patterns.add(new Pattern<>(normalized, caseSensitive, value));
+            }
+            return this;
+        }
+
+        public AhoCorasick<T> build() {
+            List<Map<Character, Integer>> trie = new ArrayList<>();
+            List<List<Integer>> ends = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            ends.add(new ArrayList<>());
+
+            for (int index = 0; index < patterns.size(); index++) {
+                String text = patterns.get(index).text();
+                int state = 0;
+                for (int i = 0; i < text.length(); i++) {
+                    char c = fold(text.charAt(i));
+                    Integer next = trie.get(state).get(c);
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<>());
+                        ends.add(new ArrayList<>());
+                        trie.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                ends.get(state).add(index);
+            }
+
+            int size = trie.size();
+            char[][] keys = new char[size][];
+            int[][] targets = new int[size][];
+            for (int state = 0; state < size; state++) {
+                Map<Character, Integer> edges = trie.get(state);
+                keys[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    keys[state][i] = edge.getKey();
+                    targets[state][i++] = edge.getValue();
+                }
+            }
+
+            // Breadth-first, so a node's failure target is complete before its children need it
+            int[] failure = new int[size];
+            int[][] outputs = new int[size][];
+            outputs[0] = toArray(ends.get(0));
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                outputs[child] = toArray(ends.get(child));
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    char c = keys[state][i];
+                    int child = targets[state][i];
+                    int fallback = failure[state];
+                    int next;
+                    while ((next = find(keys, targets, fallback, c)) < 0 && fallback != 0) {
+                        fallback = failure[fallback];
+                    }
+                    failure[child] = next >= 0 && next != child ? next : 0;
+
+                    List<Integer> childOutputs = new ArrayList<>(ends.get(child));
+                    for (int inherited : outputs[failure[child]]) {
+                        childOutputs.add(inherited);
+                    }
+                    outputs[child] = toArray(childOutputs);
+                    queue.add(child);
+                }
+            }
+            return new AhoCorasick<>(keys, targets, failure, outputs, List.copyOf(patterns));
+        }
+
+        private static int find(char[][] keys, int[][] targets, int state, char c) {
+            int index = Arrays.binarySearch(keys[state], c);
+            return index < 0 ? -1 : targets[state][index];
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashing helpers for content-addressed cache keys
+ */
+public class HashUtil {
+
+    private HashUtil() {
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the given parts, separated so that ("ab", "c") and ("a", "bc") differ
+     */
+    public static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    digest.update((byte) 0);
+                }
+                digest.update(String.valueOf(parts[i]).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request handled on the current thread, from the {@value #HEADER} header (epoch
+ * milliseconds) set at the gateway. Provider calls run through {@link #call} are cut off when it passes:
+ * the calling thread is interrupted, which cancels the HTTP exchange in flight and frees the thread.
+ * Streams carry the deadline in their Reactor context instead.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final String CONTEXT_KEY = RequestDeadline.class.getName();
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+    private static final ScheduledThreadPoolExecutor TIMER = timer();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * @return null when the header is missing or malformed
+     */
+    public static Instant parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static void set(Instant deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return null when the current request has no deadline
+     */
+    public static Instant current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return null when there is no deadline; zero or negative once it has passed
+     */
+    public static Duration remaining(Instant deadline) {
+        return deadline == null ? null : Duration.between(Instant.now(), deadline);
+    }
+
+    public static boolean expired(Instant deadline) {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * Reactor context carrying the current deadline, for streams subscribed after the request thread has moved on
+     */
+    public static Context context() {
+        Instant deadline = CURRENT.get();
+        return deadline == null ? Context.empty() : Context.of(CONTEXT_KEY, deadline);
+    }
+
+    public static Instant from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * Task that runs with the deadline of the thread submitting it, for executors doing work of a request
+     */
+    public static Runnable propagate(Runnable task) {
+        Instant deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Instant previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Run a blocking call that is interrupted if it is still running when the current deadline passes
+     * @param stage What is being called, for the error
+     * @throws DeadlineExceededException if the deadline has passed, or passes during the call
+     */
+    public static <T> T call(String stage, Supplier<T> call) {
+        Instant deadline = CURRENT.get();
+        if (deadline == null) {
+            return call.get();
+        }
+        Duration remaining = remaining(deadline);
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new DeadlineExceededException(stage);
+        }
+
+        Interrupter interrupter = new Interrupter(Thread.currentThread());
+        ScheduledFuture<?> timer = TIMER.schedule(interrupter, remaining.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            if (interrupter.fired()) {
+                throw new DeadlineExceededException(stage, e);
+            }
+            throw e;
+        } finally {
+            timer.cancel(false);
+            if (interrupter.finish()) {
+                // The interrupt was meant for the call; do not leak it into the rest of the request
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor timer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "request-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Interrupts the calling thread unless the call has already finished. Both sides lock, so once
+     * {@link #finish} returns no interrupt can still arrive.
+     */
+    private static final class Interrupter implements Runnable {
+
+        private final Thread thread;
+        private boolean finished;
+        private boolean fired;
+
+        Interrupter(Thread thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (!finished) {
+                fired = true;
+                thread.interrupt();
+            }
+        }
+
+        synchronized boolean fired() {
+            return fired;
+        }
+
+        synchronized boolean finish() {
+            finished = true;
+            return fired;
+        }
+    }
+}
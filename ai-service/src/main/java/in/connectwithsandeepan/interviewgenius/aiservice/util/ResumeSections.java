@@ -0,0 +1,227 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local pre-pass over resume text: splits it into sections at recognised headings and pulls out
+ * the fields that regexes get right without a model (email, phone, date ranges).
+ */
+public class ResumeSections {
+
+    public enum Section {
+        CONTACT, EXPERIENCE, EDUCATION, SKILLS, OTHER
+    }
+
+    /**
+     * A date range with both ends normalized to YYYY-MM (or YYYY when no month is given).
+     * The end is null for ranges that run to the present.
+     */
+    public record DateRange(String start, String end, boolean current) {
+    }
+
+    private static final int MAX_HEADING_CHARS = 40;
+    private static final int MAX_HEADING_WORDS = 5;
+
+    private static final Map<String, Section> HEADINGS = headings();
+
+    private static final String MONTH = "(jan(?:uary)?|feb(?:ruary)?|mar(?:ch)?|apr(?:il)?|may|june?|july?|aug(?:ust)?"
+            + "|sep(?:t(?:ember)?)?|oct(?:ober)?|nov(?:ember)?|dec(?:ember)?)";
+    private static final String DATE = "(?:" + MONTH + "\\.?,?\\s+\\d{4}"
+            + "|\\d{1,2}[/.-]\\d{4}"
+            + "|\\d{4}[/.-]\\d{1,2}(?!\\d)"
+            + "|\\d{4})(?!\\d)";
+    private static final String PRESENT = "present|current|now|today|till date|to date|ongoing";
+    private static final Pattern DATE_RANGE = Pattern.compile(
+            "(?<![\\w/.-])(" + DATE + ")\\s*(?:-|–|—|to|until|till)\\s*(" + DATE + "|" + PRESENT + ")\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SINGLE_DATE = Pattern.compile("^\\s*(?:" + DATE + ")\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MONTH_YEAR = Pattern.compile(MONTH + "\\.?,?\\s+(\\d{4})", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMERIC_MONTH_YEAR = Pattern.compile("(\\d{1,2})[/.-](\\d{4})");
+    private static final Pattern YEAR_NUMERIC_MONTH = Pattern.compile("(\\d{4})[/.-](\\d{1,2})");
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern PHONE = Pattern.compile("(?<![\\w/])\\+?\\(?\\d[\\d \\t().-]{7,}\\d(?![\\w/])");
+
+    private final Map<Section, String> sections;
+
+    private ResumeSections(Map<Section, String> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Split resume text at its section headings. Text before the first heading is treated as contact
+     * details; sections with the same kind (e.g. "Experience" and "Internships") are concatenated.
+     */
+    public static ResumeSections split(String text) {
+        Map<Section, StringBuilder> builders = new EnumMap<>(Section.class);
+        Section current = Section.CONTACT;
+        for (String line : text.split("\\R")) {
+            Optional<Section> heading = heading(line);
+            if (heading.isPresent()) {
+                current = heading.get();
+                continue;
+            }
+            if (!line.isBlank()) {
+                builders.computeIfAbsent(current, section -> new StringBuilder()).append(line.strip()).append('\n');
+            }
+        }
+
+        Map<Section, String> sections = new EnumMap<>(Section.class);
+        builders.forEach((section, builder) -> sections.put(section, builder.toString().strip()));
+        return new ResumeSections(sections);
+    }
+
+    /**
+     * Text of a section, or an empty string when the resume has no such section
+     */
+    public String text(Section section) {
+        return sections.getOrDefault(section, "");
+    }
+
+    public boolean has(Section section) {
+        return !text(section).isEmpty();
+    }
+
+    /**
+     * Email address from the contact details, falling back to anywhere in the resume
+     */
+    public Optional<String> email() {
+        return first(EMAIL, text(Section.CONTACT)).or(() -> sections.values().stream()
+                .map(text -> first(EMAIL, text))
+                .flatMap(Optional::stream)
+                .findFirst());
+    }
+
+    /**
+     * Phone number from the contact details. Only the contact text is searched, since long digit
+     * runs elsewhere are more often dates or IDs than phone numbers.
+     */
+    public Optional<String> phone() {
+        Matcher matcher = PHONE.matcher(text(Section.CONTACT));
+        while (matcher.find()) {
+            String candidate = matcher.group().strip();
+            long digits = candidate.chars().filter(Character::isDigit).count();
+            if (digits >= 10 && digits <= 15 && !DATE_RANGE.matcher(candidate).find()) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Date ranges in the order they appear in the given text
+     */
+    public static List<DateRange> dateRanges(String text) {
+        List<DateRange> ranges = new ArrayList<>();
+        Matcher matcher = DATE_RANGE.matcher(text);
+        while (matcher.find()) {
+            String start = normalizeDate(matcher.group(1));
+            String endText = matcher.group(3);
+            boolean current = endText.toLowerCase(Locale.ROOT).matches(PRESENT);
+            String end = current ? null : normalizeDate(endText);
+            if (start != null && (current || end != null)) {
+                ranges.add(new DateRange(start, end, current));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * A single date as YYYY-MM, or YYYY when it has no month; null when it is not a recognisable date
+     */
+    public static String normalizeDate(String date) {
+        if (date == null || !SINGLE_DATE.matcher(date).matches()) {
+            return null;
+        }
+        String value = date.strip();
+        Matcher matcher = MONTH_YEAR.matcher(value);
+        if (matcher.matches()) {
+            return yearMonth(matcher.group(2), month(matcher.group(1)));
+        }
+        matcher = NUMERIC_MONTH_YEAR.matcher(value);
+        if (matcher.matches()) {
+            return yearMonth(matcher.group(2), Integer.parseInt(matcher.group(1)));
+        }
+        matcher = YEAR_NUMERIC_MONTH.matcher(value);
+        if (matcher.matches()) {
+            return yearMonth(matcher.group(1), Integer.parseInt(matcher.group(2)));
+        }
+        return value;
+    }
+
+    private static String yearMonth(String year, int month) {
+        return month >= 1 && month <= 12 ? "%s-%02d".formatted(year, month) : null;
+    }
+
+    private static int month(String name) {
+        String prefix = name.substring(0, 3).toLowerCase(Locale.ROOT);
+        return List.of("jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec")
+                .indexOf(prefix) + 1;
+    }
+
+    private static Optional<String> first(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? Optional.of(matcher.group()) : Optional.empty();
+    }
+
+    /**
+     * The section a line opens, if it is a short line made of a known heading
+     * (case, surrounding punctuation and "&" versus "and" ignored)
+     */
+    private static Optional<Section> heading(String line) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_HEADING_CHARS) {
+            return Optional.empty();
+        }
+        String normalized = trimmed.toLowerCase(Locale.ROOT)
+                .replace("&", " and ")
+                .replaceAll("[^a-z ]", " ")
+                .replaceAll("\\s+", " ")
+                .strip();
+        if (normalized.isEmpty() || normalized.split(" ").length > MAX_HEADING_WORDS) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(HEADINGS.get(normalized));
+    }
+
+    private static Map<String, Section> headings() {
+        Map<String, Section> headings = new HashMap<>();
+        for (String heading : List.of("contact", "contact information", "contact details", "contact info",
+                "personal details", "personal information")) {
+            headings.put(heading, Section.CONTACT);
+        }
+        for (String heading : List.of("experience", "work experience", "professional experience", "relevant experience",
+                "employment", "employment history", "work history", "career history", "professional background",
+                "internships", "internship experience", "experience and internships", "industry experience")) {
+            headings.put(heading, Section.EXPERIENCE);
+        }
+        for (String heading : List.of("education", "educational background", "academic background", "academics",
+                "academic qualifications", "educational qualifications", "qualifications",
+                "education and certifications", "education and training")) {
+            headings.put(heading, Section.EDUCATION);
+        }
+        for (String heading : List.of("skills", "technical skills", "key skills", "core skills", "skill set", "skillset",
+                "skills and tools", "skills and technologies", "skills and abilities", "technologies", "tech stack",
+                "tools and technologies", "technical expertise", "technical proficiencies", "core competencies",
+                "competencies", "areas of expertise")) {
+            headings.put(heading, Section.SKILLS);
+        }
+        for (String heading : List.of("summary", "professional summary", "profile", "professional profile",
+                "objective", "career objective", "about me", "projects", "personal projects", "academic projects",
+                "key projects", "certifications", "certificates", "licenses and certifications", "achievements",
+                "awards", "honors", "honors and awards", "awards and achievements", "publications", "languages",
+                "interests", "hobbies", "hobbies and interests", "references", "volunteering", "volunteer experience",
+                "extracurricular activities", "activities", "courses", "training", "declaration")) {
+            headings.put(heading, Section.OTHER);
+        }
+        return Map.copyOf(headings);
+    }
+}
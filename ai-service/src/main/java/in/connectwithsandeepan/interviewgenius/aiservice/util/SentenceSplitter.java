@@ -0,0 +1,55 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into sentences for pipelined speech synthesis
+ */
+public class SentenceSplitter {
+
+    private SentenceSplitter() {
+    }
+
+    /**
+     * Split text into sentences, merging short fragments into the following sentence
+     * so that each synthesis call carries a reasonable amount of text
+     *
+     * @param text Text to split
+     * @param minLength Minimum characters per returned segment (except the last one)
+     * @return Ordered, non-blank segments
+     */
+    public static List<String> split(String text, int minLength) {
+        List<String> segments = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return segments;
+        }
+
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ENGLISH);
+        iterator.setText(text);
+
+        StringBuilder current = new StringBuilder();
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (sentence.isEmpty()) {
+                continue;
+            }
+            if (!current.isEmpty()) {
+                current.append(' ');
+            }
+            current.append(sentence);
+            if (current.length() >= minLength) {
+                segments.add(current.toString());
+                current.setLength(0);
+            }
+        }
+
+        if (!current.isEmpty()) {
+            segments.add(current.toString());
+        }
+        return segments;
+    }
+}
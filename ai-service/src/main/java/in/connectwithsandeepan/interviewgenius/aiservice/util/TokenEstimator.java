@@ -0,0 +1,32 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+
+/**
+ * Cheap token count approximation (about four characters per token for English text).
+ * Good enough for thresholds and trends; real counts come from the provider's usage metadata.
+ */
+public class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public static int estimate(List<Message> messages) {
+        int tokens = 0;
+        for (Message message : messages) {
+            tokens += estimate(message.getText());
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS resume_parse_cache (
+    cache_key    VARCHAR(64)  NOT NULL PRIMARY KEY,
+    resume_json  LONGTEXT     NOT NULL,
+    created_at   TIMESTAMP    NOT NULL,
+    expires_at   TIMESTAMP    NOT NULL,
+    INDEX idx_resume_parse_cache_expires_at (expires_at)
+);
+
+CREATE TABLE IF NOT EXISTS resume_parse_job (
+    id               VARCHAR(36)   NOT NULL PRIMARY KEY,
+    user_id          BIGINT        NULL,
+    resume_text      LONGTEXT      NOT NULL,
+    callback_url     VARCHAR(512)  NULL,
+    status           VARCHAR(16)   NOT NULL,
+    attempts         INT           NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMP(3)  NOT NULL,
+    locked_until     TIMESTAMP(3)  NULL,
+    result_json      LONGTEXT      NULL,
+    error            VARCHAR(1000) NULL,
+    created_at       TIMESTAMP(3)  NOT NULL,
+    started_at       TIMESTAMP(3)  NULL,
+    finished_at      TIMESTAMP(3)  NULL,
+    INDEX idx_resume_parse_job_status_next_attempt (status, next_attempt_at),
+    INDEX idx_resume_parse_job_finished_at (finished_at)
+);
@@ -0,0 +1,183 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AiServiceImpl;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AudioPreprocessor;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.ChunkedTranscriber;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.LlmConcurrencyLimiters;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.LlmMetrics;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.RequestCoalescer;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.StreamingWhisperTranscriptionModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams audio bodies through POST /transcribe to a stub Whisper endpoint and checks that the heap
+ * in use while the upload is in flight does not grow with the body size
+ */
+class AiControllerTranscriptionTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @TempDir
+    Path uploadDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong received = new AtomicLong();
+    private volatile long pauseAt;
+    private volatile CountDownLatch halfway;
+    private volatile CountDownLatch resume;
+
+    private HttpServer whisper;
+    private ThreadPoolTaskExecutor transcriptionExecutor;
+    private AiController controller;
+
+    @BeforeEach
+    void start() throws Exception {
+        whisper = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        whisper.createContext("/v1/audio/transcriptions", exchange -> {
+            // Consumes the multipart body, pausing halfway so the heap can be measured mid-upload
+            byte[] buffer = new byte[64 * 1024];
+            boolean paused = false;
+            try (InputStream body = exchange.getRequestBody()) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    long total = received.addAndGet(read);
+                    if (!paused && total >= pauseAt) {
+                        paused = true;
+                        halfway.countDown();
+                        resume.await(30, TimeUnit.SECONDS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = "{\"text\": \"transcribed\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        whisper.start();
+
+        transcriptionExecutor = new ThreadPoolTaskExecutor();
+        transcriptionExecutor.initialize();
+        AiServiceImpl aiService = new AiServiceImpl(null,
+                new StreamingWhisperTranscriptionModel("http://localhost:" + whisper.getAddress().getPort(), "test-key",
+                        "whisper-1", Duration.ofSeconds(30)),
+                null, null, null, null, null, null, null, null, null,
+                limiters(),
+                new LlmMetrics(meterRegistry),
+                new RequestCoalescer(meterRegistry),
+                new AudioPreprocessor(meterRegistry, true, 16000, 20, 250, 4.0, -50),
+                new ChunkedTranscriber(transcriptionExecutor, meterRegistry, false, 60, 30, 8, 1000, 5000, 12),
+                null);
+        ReflectionTestUtils.setField(aiService, "transcriptionModel", "whisper-1");
+        ReflectionTestUtils.setField(aiService, "transcriptionMaxUploadBytes", 20L * MB);
+        ReflectionTestUtils.setField(aiService, "transcriptionUploadDirectory", uploadDirectory.toString());
+        controller = new AiController(aiService, null, null);
+    }
+
+    @AfterEach
+    void stop() {
+        whisper.stop(0);
+        transcriptionExecutor.shutdown();
+    }
+
+    @Test
+    void heapInUseDuringAnUploadDoesNotGrowWithTheBodySize() throws Exception {
+        // Warm up class loading and the HTTP client before measuring
+        upload(MB);
+
+        long heapFor1Mb = upload(MB);
+        long heapFor10Mb = upload(10 * MB);
+
+        assertTrue(heapFor10Mb - heapFor1Mb < 3 * MB,
+                "heap in use grew by " + (heapFor10Mb - heapFor1Mb) / 1024 + " KiB for 9 MiB more audio");
+    }
+
+    /**
+     * Send a generated body of the given size and return the heap in use once half of it has reached the sink
+     */
+    private long upload(int size) throws Exception {
+        received.set(0);
+        pauseAt = size / 2;
+        halfway = new CountDownLatch(1);
+        resume = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<String>> response = CompletableFuture.supplyAsync(() ->
+                controller.transcribeAudioStream("answer.mp3", "audio/mpeg", new GeneratedAudio(size)));
+        assertTrue(halfway.await(30, TimeUnit.SECONDS), "upload never reached the sink");
+        long heapInUse = heapInUseAfterGc();
+        resume.countDown();
+
+        ResponseEntity<String> result = response.get(30, TimeUnit.SECONDS);
+        assertEquals("transcribed", result.getBody());
+        assertTrue(received.get() >= size, "sink received " + received.get() + " of " + size + " bytes");
+        return heapInUse;
+    }
+
+    private static long heapInUseAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private LlmConcurrencyLimiters limiters() {
+        LlmConcurrencyLimiters limiters = new LlmConcurrencyLimiters(meterRegistry);
+        ReflectionTestUtils.setField(limiters, "enabled", false);
+        return limiters;
+    }
+
+    /**
+     * Request body of the given size produced on the fly, so the test itself never holds it in memory
+     */
+    private static class GeneratedAudio extends InputStream {
+
+        private final long size;
+        private long position;
+
+        GeneratedAudio(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? (int) (position++ & 0x7f) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= size) {
+                return -1;
+            }
+            int count = (int) Math.min(length, size - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) (position++ & 0x7f);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.fake;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.InterviewResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FakeChatModelTest {
+
+    private static final String ANSWER = "Candidate's answer: I would use a ConcurrentHashMap, because it locks per bin "
+            + "instead of the whole map. ";
+
+    @Test
+    void callsWaitForStreamTimeOnlyWhenEnabled() {
+        // Streaming the canned reply waits 20ms before each 16-character chunk after the first
+        long streamMillis = 20L * ((FakeChatModel.CANNED_TEXT.length() + 15) / 16 - 1);
+        long withStreamTime = callMillis(model("fixed:0ms", true, 0));
+        long plain = callMillis(model("fixed:0ms", false, 0));
+
+        assertTrue(plain < streamMillis / 2, "call without stream time took " + plain + "ms");
+        assertTrue(withStreamTime >= streamMillis,
+                "call with stream time took " + withStreamTime + "ms, streaming takes " + streamMillis + "ms");
+    }
+
+    /**
+     * One interview turn on the fake provider with stream time and realistic string lengths: the next
+     * question and the feedback in one structured reply, against the next question alone with
+     * the feedback scored after the response
+     */
+    @Test
+    void deferringFeedbackShortensTheTurn() {
+        ChatClient client = ChatClient.create(model("fixed:800ms", true, 120));
+
+        long start = System.nanoTime();
+        InterviewResponse combined = client.prompt().user(ANSWER).call().entity(InterviewResponse.class);
+        long combinedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        String question = client.prompt()
+                .user(ANSWER + "Reply with the next question only, without feedback on the answer.\n")
+                .call()
+                .content();
+        long questionOnlyMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(combined.getFeedback());
+        assertNotNull(question);
+        assertTrue(questionOnlyMillis <= combinedMillis * 0.9,
+                "question alone took " + questionOnlyMillis + "ms, question and feedback " + combinedMillis + "ms");
+    }
+
+    private static FakeChatModel model(String latency, boolean callIncludesStreamTime, int stringChars) {
+        return new FakeChatModel("fake", LatencyDistribution.parse(latency), Duration.ofMillis(20), 16,
+                callIncludesStreamTime, new SchemaSampleGenerator(new ObjectMapper(), 5, stringChars), CassetteReplay.empty());
+    }
+
+    private static long callMillis(FakeChatModel model) {
+        long start = System.nanoTime();
+        model.call(new Prompt("Ask the next question."));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
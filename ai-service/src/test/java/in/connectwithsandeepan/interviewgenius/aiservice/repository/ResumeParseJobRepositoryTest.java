@@ -0,0 +1,129 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.repository;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepository.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the queue's SQL on H2 in MySQL mode with the application's schema.sql
+ */
+public class ResumeParseJobRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final ResumeParseJobRepository repository = new ResumeParseJobRepository(new JdbcTemplate(database()));
+
+    /**
+     * A fresh in-memory database with the application's schema
+     */
+    public static DataSource database() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    @Test
+    void claimLeasesDueJobsOldestFirstAndReclaimsThemOnceTheLeaseExpires() {
+        repository.insert("a", 1L, "resume a", null, T0);
+        repository.insert("b", 2L, "resume b", null, T0.plusSeconds(1));
+
+        assertTrue(repository.claim(5, T0.minusSeconds(1), T0.plus(LEASE)).isEmpty(), "not due yet");
+
+        Instant first = T0.plusSeconds(2);
+        List<Job> claimed = repository.claim(1, first, first.plus(LEASE));
+        assertEquals(List.of("a"), ids(claimed));
+        Job a = claimed.get(0);
+        assertEquals(ResumeParseJobRepository.RUNNING, a.status());
+        assertEquals(1, a.attempts());
+        assertEquals(first, a.startedAt());
+        assertEquals(first.plus(LEASE), a.lockedUntil());
+
+        assertEquals(List.of("b"), ids(repository.claim(5, first, first.plus(LEASE))));
+        assertTrue(repository.claim(5, first.plus(Duration.ofMinutes(1)), first.plus(LEASE)).isEmpty(), "both leased");
+
+        // Both workers died; the jobs come back once their leases have expired
+        Instant later = first.plus(LEASE);
+        List<Job> reclaimed = repository.claim(5, later, later.plus(LEASE));
+        assertEquals(List.of("a", "b"), ids(reclaimed));
+        reclaimed.forEach(job -> {
+            assertEquals(2, job.attempts());
+            assertEquals(first, job.startedAt(), "started at the first attempt");
+        });
+    }
+
+    @Test
+    void onlyTheCurrentLeaseCanFinishTheJob() {
+        repository.insert("a", 1L, "resume a", null, T0);
+        Job stale = repository.claim(1, T0, T0.plus(LEASE)).get(0);
+        Instant later = T0.plus(LEASE).plusSeconds(1);
+        Job current = repository.claim(1, later, later.plus(LEASE)).get(0);
+
+        assertFalse(repository.succeed("a", stale.lockedUntil(), "{}", later));
+        assertFalse(repository.retry("a", stale.lockedUntil(), "boom", later));
+        assertFalse(repository.fail("a", stale.lockedUntil(), "boom", later));
+        assertEquals(ResumeParseJobRepository.RUNNING, repository.find("a").orElseThrow().status());
+
+        assertTrue(repository.succeed("a", current.lockedUntil(), "{\"email\":\"a@example.com\"}", later));
+        Job done = repository.find("a").orElseThrow();
+        assertEquals(ResumeParseJobRepository.SUCCEEDED, done.status());
+        assertEquals("{\"email\":\"a@example.com\"}", done.resultJson());
+        assertEquals(later, done.finishedAt());
+        assertNull(done.lockedUntil());
+
+        assertFalse(repository.fail("a", current.lockedUntil(), "boom", later), "already finished");
+    }
+
+    @Test
+    void retriedJobWaitsForItsNextAttempt() {
+        repository.insert("a", 1L, "resume a", null, T0);
+        Job job = repository.claim(1, T0, T0.plus(LEASE)).get(0);
+
+        assertTrue(repository.retry("a", job.lockedUntil(), "provider down", T0.plusSeconds(60)));
+
+        Job queued = repository.find("a").orElseThrow();
+        assertEquals(ResumeParseJobRepository.QUEUED, queued.status());
+        assertEquals("provider down", queued.error());
+        assertNull(queued.lockedUntil());
+        assertEquals(0, repository.countQueued(T0.plusSeconds(30)));
+        assertTrue(repository.claim(1, T0.plusSeconds(30), T0.plus(LEASE)).isEmpty());
+
+        assertEquals(1, repository.countQueued(T0.plusSeconds(60)));
+        assertEquals(2, repository.claim(1, T0.plusSeconds(60), T0.plus(LEASE)).get(0).attempts());
+    }
+
+    @Test
+    void purgeRemovesOnlyJobsFinishedBeforeTheCutoff() {
+        repository.insert("old", 1L, "resume", null, T0);
+        repository.insert("new", 1L, "resume", null, T0.plusSeconds(1));
+        repository.insert("queued", 1L, "resume", null, T0.plusSeconds(5));
+        assertEquals(List.of("new", "old"), ids(repository.claim(5, T0.plusSeconds(1), T0.plus(LEASE))));
+        assertTrue(repository.fail("old", T0.plus(LEASE), "boom", T0.plusSeconds(10)));
+        assertTrue(repository.succeed("new", T0.plus(LEASE), "{}", T0.plusSeconds(30)));
+
+        assertEquals(1, repository.deleteFinishedBefore(T0.plusSeconds(20)));
+
+        assertTrue(repository.find("old").isEmpty());
+        assertTrue(repository.find("new").isPresent());
+        assertTrue(repository.find("queued").isPresent());
+    }
+
+    private static List<String> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::id).sorted().toList();
+    }
+}
@@ -0,0 +1,150 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AdaptiveConcurrencyLimiter.Outcome;
+import in.connectwithsandeepan.interviewgenius.aiservice.service.AdaptiveConcurrencyLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limitGrowsAdditivelyWithSuccessesUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 2, 8, 10, 0.5);
+
+        // About one per limit's worth of successes: 4 calls at limit 4 add one
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(Duration.ZERO).release(Outcome.SUCCESS);
+        }
+        assertEquals(4, limiter.getLimit(), "4 + 1/4 + 1/4.25 + ... stays just under 5");
+        limiter.acquire(Duration.ZERO).release(Outcome.SUCCESS);
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire(Duration.ZERO).release(Outcome.SUCCESS);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void droppedCallsCutTheLimitMultiplicativelyDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 16, 3, 32, 10, 0.5);
+
+        limiter.acquire(Duration.ZERO).release(Outcome.DROPPED);
+        assertEquals(8, limiter.getLimit());
+        limiter.acquire(Duration.ZERO).release(Outcome.DROPPED);
+        assertEquals(4, limiter.getLimit());
+        limiter.acquire(Duration.ZERO).release(Outcome.DROPPED);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    /**
+     * Short questions, resume parses and whole streams share a provider's limiter; calls many times
+     * slower than the rest are not a sign of overload and must not cut the limit
+     */
+    @Test
+    void mixedFastAndSlowCallsKeepTheLimitStable() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 2, 16, 10, 0.5);
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(Duration.ZERO).release(Outcome.SUCCESS);
+            Permit slow = limiter.acquire(Duration.ZERO);
+            Thread.sleep(i % 5 == 0 ? 40 : 2);
+            slow.release(Outcome.SUCCESS);
+            assertTrue(limiter.getLimit() >= previous, "limit fell to " + limiter.getLimit() + " after round " + (i + 1));
+            previous = limiter.getLimit();
+        }
+        assertTrue(limiter.getLimit() > 4, "40 successes should have raised the limit");
+    }
+
+    @Test
+    void ignoredCallsLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 2, 32, 10, 0.5);
+
+        Permit permit = limiter.acquire(Duration.ZERO);
+        permit.release(Outcome.IGNORED);
+        permit.release(Outcome.DROPPED);
+
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1, 0.5);
+        Permit held = limiter.acquire(Duration.ZERO);
+        CompletableFuture<Permit> queued = CompletableFuture.supplyAsync(() -> limiter.acquire(Duration.ofSeconds(10)));
+        awaitQueueDepth(limiter, 1);
+
+        long start = System.nanoTime();
+        ProviderSaturatedException e = assertThrows(ProviderSaturatedException.class,
+                () -> limiter.acquire(Duration.ofSeconds(10)));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals("AI provider test is saturated: wait queue is full", e.getMessage());
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+
+        held.release(Outcome.SUCCESS);
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void callersBeyondTheCapacityAreRejectedEvenWithRoomInTheQueue() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 2, 64, 50, 3, 0.5);
+
+        assertEquals(3, limiter.getLimit());
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(Duration.ZERO);
+        }
+        ProviderSaturatedException e = assertThrows(ProviderSaturatedException.class,
+                () -> limiter.acquire(Duration.ofSeconds(10)));
+        assertEquals("AI provider test is saturated: wait queue is full", e.getMessage());
+        assertEquals(0, limiter.getQueueDepth());
+    }
+
+    @Test
+    void waitTimesOutWhenNoPermitFreesUp() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 10, 0.5);
+        limiter.acquire(Duration.ZERO);
+
+        long start = System.nanoTime();
+        ProviderSaturatedException e = assertThrows(ProviderSaturatedException.class,
+                () -> limiter.acquire(Duration.ofMillis(100)));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(100)) >= 0);
+        assertEquals("AI provider test is saturated: timed out waiting for capacity", e.getMessage());
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void waiterGetsThePermitOnceReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 10, 0.5);
+        Permit held = limiter.acquire(Duration.ZERO);
+        CompletableFuture<Permit> waiter = CompletableFuture.supplyAsync(() -> limiter.acquire(Duration.ofSeconds(10)));
+        awaitQueueDepth(limiter, 1);
+
+        held.release(Outcome.SUCCESS);
+
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    private static void awaitQueueDepth(AdaptiveConcurrencyLimiter limiter, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueueDepth() < depth) {
+            assertTrue(System.nanoTime() < deadline, "caller never queued");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import in.connectwithsandeepan.interviewgenius.aiservice.advisor.PromptCacheAdvisor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+import org.springframework.ai.anthropic.AnthropicChatOptions;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the interview chat client against a local stand-in for the Anthropic Messages API that
+ * records request bodies and simulates the provider's prompt cache
+ */
+class AnthropicPromptCacheTest {
+
+    private static final String MODEL = "claude-stand-in";
+    // Sized like the interview prompts: too short to be cached on its own (Anthropic's minimum is 1024 tokens)
+    private static final String SYSTEM_PROMPT = "You are a technical interviewer. Ask one question at a time. ".repeat(24);
+    private static final String ANSWER = "I would partition the topic by account id, keep consumers idempotent and "
+            + "replay from the last committed offset after a failure. ";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> cachedPrefixes = new HashSet<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AnthropicPromptCache promptCache;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        promptCache = new AnthropicPromptCache(objectMapper, new LlmMetrics(meterRegistry), true);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/messages", this::messages);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void marksSystemPromptAndConversationPrefix() {
+        ChatClient client = interviewClient(new PromptCacheAdvisor());
+
+        interview(client, 8, false);
+
+        JsonNode first = requests.get(0);
+        assertEquals("ephemeral", first.at("/system/0/cache_control/type").asText());
+        assertEquals(SYSTEM_PROMPT.strip(), first.at("/system/0/text").asText().strip());
+
+        JsonNode third = requests.get(2);
+        JsonNode messages = third.get("messages");
+        assertEquals(5, messages.size());
+        assertEquals("assistant", messages.get(3).get("role").asText());
+        assertEquals("ephemeral", messages.get(3).at("/content/0/cache_control/type").asText());
+        assertFalse(messages.get(4).toString().contains("cache_control"), "the newest message is not a breakpoint");
+        assertEquals(1, count(third.toString(), "cache_control"));
+
+        assertTrue(tokens("cache_write") > 0);
+        assertTrue(tokens("cache_read") > 0);
+    }
+
+    @Test
+    void marksStreamedRequestsAndRecordsTheirCacheUsage() {
+        ChatClient client = interviewClient(new PromptCacheAdvisor());
+
+        interview(client, 8, true);
+
+        assertEquals("ephemeral", requests.get(0).at("/system/0/cache_control/type").asText());
+        assertEquals("ephemeral", requests.get(2).at("/messages/3/content/0/cache_control/type").asText());
+        assertTrue(tokens("cache_write") > 0);
+        assertTrue(tokens("cache_read") > 0);
+    }
+
+    @Test
+    void clientsWithoutTheAdvisorAreUnchanged() {
+        ChatClient client = interviewClient(null);
+
+        interview(client, 2, false);
+
+        requests.forEach(request -> assertFalse(request.toString().contains("cache_control")));
+        assertEquals(0, tokens("cache_read") + tokens("cache_write"));
+    }
+
+    /**
+     * Input cost of a ten-turn interview with and without caching, priced as Anthropic bills it:
+     * cache writes at 1.25x the input token price and cache reads at 0.1x. The stand-in's cost drops by about 39%
+     */
+    @Test
+    void cachingCutsTheInputCostOfALongInterview() {
+        double uncached = inputCost(interviewClient(null));
+        resetStandIn();
+        double cached = inputCost(interviewClient(new PromptCacheAdvisor()));
+
+        double drop = 1 - cached / uncached;
+        assertTrue(drop >= 0.3, String.format("caching should cut the input cost of a long interview by at least 30%%, "
+                + "but cut it by %.0f%% (%.0f uncached, %.0f cached token units)", 100 * drop, uncached, cached));
+    }
+
+    private double inputCost(ChatClient client) {
+        interview(client, 10, false);
+        return requests.stream()
+                .map(request -> request.get("stand_in_usage"))
+                .mapToDouble(usage -> usage.get("input_tokens").asLong()
+                        + 1.25 * usage.get("cache_creation_input_tokens").asLong()
+                        + 0.1 * usage.get("cache_read_input_tokens").asLong())
+                .sum();
+    }
+
+    private void resetStandIn() {
+        requests.clear();
+        cachedPrefixes.clear();
+    }
+
+    /**
+     * Start the interview with the system prompt, then answer; later turns carry the conversation
+     * from chat memory, as the interview endpoints do
+     */
+    private void interview(ChatClient client, int turns, boolean stream) {
+        for (int turn = 0; turn < turns; turn++) {
+            ChatClient.ChatClientRequestSpec spec = client.prompt();
+            if (turn == 0) {
+                spec = spec.system(SYSTEM_PROMPT);
+            }
+            spec = spec.user(turn == 0 ? "Start the interview" : ANSWER.repeat(8) + turn)
+                    .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, "interview-1")
+                            .param(LlmMetrics.ENDPOINT, LlmMetrics.SUBMIT_ANSWER));
+            if (stream) {
+                spec.stream().content().collectList().block();
+            } else {
+                spec.call().content();
+            }
+        }
+    }
+
+    private ChatClient interviewClient(Advisor cacheAdvisor) {
+        AnthropicApi api = AnthropicApi.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .apiKey("test")
+                .restClientBuilder(RestClient.builder().requestInterceptor(promptCache.interceptor()))
+                .webClientBuilder(WebClient.builder().filter(promptCache.filter()))
+                .build();
+        AnthropicChatModel chatModel = AnthropicChatModel.builder()
+                .anthropicApi(api)
+                .defaultOptions(AnthropicChatOptions.builder().model(MODEL).maxTokens(256).build())
+                .build();
+        ChatMemory memory = MessageWindowChatMemory.builder().maxMessages(100).build();
+        List<Advisor> advisors = new ArrayList<>();
+        advisors.add(MessageChatMemoryAdvisor.builder(memory).build());
+        if (cacheAdvisor != null) {
+            advisors.add(cacheAdvisor);
+        }
+        return ChatClient.builder(chatModel).defaultAdvisors(advisors).build();
+    }
+
+    /**
+     * Messages API stand-in. Like the real cache, the prompt up to a breakpoint is written when it is
+     * at least 1024 tokens long, and a later request starting with a written prefix reads the longest
+     * one. Tokens are estimated as four characters each.
+     */
+    private void messages(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+
+        List<String> breakpoints = new ArrayList<>();
+        StringBuilder prefix = new StringBuilder();
+        for (JsonNode block : blocks(request.get("system"))) {
+            prefix.append(block.path("text").asText());
+            if (block.has("cache_control")) {
+                breakpoints.add(prefix.toString());
+            }
+        }
+        for (JsonNode message : request.get("messages")) {
+            prefix.append('|').append(message.get("role").asText()).append(':');
+            for (JsonNode block : blocks(message.get("content"))) {
+                prefix.append(block.path("text").asText());
+                if (block.has("cache_control")) {
+                    breakpoints.add(prefix.toString());
+                }
+            }
+        }
+        String prompt = prefix.toString();
+        long total = prompt.length() / 4;
+        long read = cachedPrefixes.stream().filter(prompt::startsWith).mapToLong(p -> p.length() / 4).max().orElse(0);
+        long written = 0;
+        for (String breakpoint : breakpoints) {
+            long tokens = breakpoint.length() / 4;
+            if (tokens >= 1024 && tokens > read && cachedPrefixes.add(breakpoint)) {
+                written = Math.max(written, tokens - read);
+            }
+        }
+        String usage = "{\"input_tokens\":%d,\"output_tokens\":12,\"cache_creation_input_tokens\":%d,\"cache_read_input_tokens\":%d}"
+                .formatted(total - read - written, written, read);
+        requests.add(((ObjectNode) request).set("stand_in_usage", objectMapper.readTree(usage)));
+
+        String reply = "Next question: how would you handle a poison message?";
+        String body;
+        if (request.path("stream").asBoolean()) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            body = event("message_start", "{\"type\":\"message_start\",\"message\":{\"id\":\"msg_1\",\"type\":\"message\","
+                    + "\"role\":\"assistant\",\"model\":\"" + MODEL + "\",\"content\":[],\"usage\":" + usage + "}}")
+                    + event("content_block_start", "{\"type\":\"content_block_start\",\"index\":0,\"content_block\":{\"type\":\"text\",\"text\":\"\"}}")
+                    + event("content_block_delta", "{\"type\":\"content_block_delta\",\"index\":0,\"delta\":{\"type\":\"text_delta\",\"text\":\"" + reply + "\"}}")
+                    + event("content_block_stop", "{\"type\":\"content_block_stop\",\"index\":0}")
+                    + event("message_delta", "{\"type\":\"message_delta\",\"delta\":{\"stop_reason\":\"end_turn\"},\"usage\":{\"output_tokens\":12}}")
+                    + event("message_stop", "{\"type\":\"message_stop\"}");
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            body = "{\"id\":\"msg_1\",\"type\":\"message\",\"role\":\"assistant\",\"model\":\"" + MODEL + "\","
+                    + "\"content\":[{\"type\":\"text\",\"text\":\"" + reply + "\"}],\"stop_reason\":\"end_turn\",\"usage\":" + usage + "}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String event(String name, String data) {
+        return "event: " + name + "\ndata: " + data + "\n\n";
+    }
+
+    private List<JsonNode> blocks(JsonNode content) {
+        List<JsonNode> blocks = new ArrayList<>();
+        if (content == null) {
+            return blocks;
+        }
+        if (content.isTextual()) {
+            blocks.add(objectMapper.createObjectNode().put("type", "text").put("text", content.asText()));
+        } else {
+            content.forEach(blocks::add);
+        }
+        return blocks;
+    }
+
+    private double tokens(String type) {
+        return meterRegistry.find("ai.llm.tokens").tag("type", type).summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private static int count(String text, String token) {
+        return text.split(token, -1).length - 1;
+    }
+}
@@ -0,0 +1,121 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AudioPreprocessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AudioPreprocessor preprocessor = new AudioPreprocessor(meterRegistry, true, 16000, 20, 250, 4.0, -50);
+
+    @Test
+    void trimsSilenceAndDownsamplesStereoWav() throws Exception {
+        // 2s silence, 1s tone, 3s silence at 44.1 kHz stereo
+        Path input = wav("speech.wav", 44100, 2, 2.0, 1.0, 3.0, 0.0005);
+
+        AudioPreprocessor.Result result = preprocessor.process(input, tempDir);
+
+        assertTrue(result.processed());
+        AudioFileFormat output = AudioSystem.getAudioFileFormat(result.audio().toFile());
+        assertEquals(16000, (int) output.getFormat().getSampleRate());
+        assertEquals(1, output.getFormat().getChannels());
+        double seconds = output.getFrameLength() / output.getFormat().getFrameRate();
+        assertTrue(seconds >= 1.0 && seconds < 1.6, "kept " + seconds + "s");
+        assertTrue(Files.size(result.audio()) < Files.size(input) / 10);
+        assertEquals(4.5, meterRegistry.get("ai.audio.preprocess.seconds.removed").summary().totalAmount(), 0.1);
+    }
+
+    @Test
+    void trimsMonoWavAlreadyAtTargetRate() throws Exception {
+        Path input = wav("mono.wav", 16000, 1, 1.5, 2.0, 1.5, 0.0);
+
+        AudioPreprocessor.Result result = preprocessor.process(input, tempDir);
+
+        assertTrue(result.processed());
+        AudioFileFormat output = AudioSystem.getAudioFileFormat(result.audio().toFile());
+        assertTrue(output.getFrameLength() < 16000 * 3);
+    }
+
+    @Test
+    void passesThroughWhenNothingToTrim() throws Exception {
+        Path input = wav("tone.wav", 16000, 1, 0.0, 2.0, 0.0, 0.0);
+
+        AudioPreprocessor.Result result = preprocessor.process(input, tempDir);
+
+        assertFalse(result.processed());
+        assertEquals(input, result.audio());
+    }
+
+    @Test
+    void passesThroughAllSilence() throws Exception {
+        Path input = wav("silence.wav", 16000, 1, 2.0, 0.0, 0.0, 0.0);
+
+        assertFalse(preprocessor.process(input, tempDir).processed());
+    }
+
+    @Test
+    void passesThroughOtherFormats() throws Exception {
+        Path input = Files.write(tempDir.resolve("answer.mp3"), new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0});
+
+        AudioPreprocessor.Result result = preprocessor.process(input, tempDir);
+
+        assertFalse(result.processed());
+        assertEquals(input, result.audio());
+    }
+
+    @Test
+    void passesThroughUndecodableWav() throws Exception {
+        Path input = Files.write(tempDir.resolve("broken.wav"), new byte[]{1, 2, 3, 4});
+
+        assertFalse(preprocessor.process(input, tempDir).processed());
+    }
+
+    /**
+     * 16-bit PCM: leading silence, a 440 Hz tone, trailing silence, with optional low-level noise
+     */
+    private Path wav(String name, int sampleRate, int channels, double leadSeconds, double toneSeconds,
+                     double trailSeconds, double noise) throws Exception {
+        int lead = (int) (leadSeconds * sampleRate);
+        int tone = (int) (toneSeconds * sampleRate);
+        int frames = lead + tone + (int) (trailSeconds * sampleRate);
+        byte[] data = new byte[frames * channels * 2];
+        Random random = new Random(42);
+
+        for (int frame = 0; frame < frames; frame++) {
+            double sample = noise * (random.nextDouble() * 2 - 1);
+            if (frame >= lead && frame < lead + tone) {
+                sample += 0.5 * Math.sin(2 * Math.PI * 440 * frame / sampleRate);
+            }
+            short value = (short) Math.round(sample * Short.MAX_VALUE);
+            for (int channel = 0; channel < channels; channel++) {
+                int offset = (frame * channels + channel) * 2;
+                data[offset] = (byte) value;
+                data[offset + 1] = (byte) (value >> 8);
+            }
+        }
+
+        AudioFormat format = new AudioFormat(sampleRate, 16, channels, true, false);
+        Path path = tempDir.resolve(name);
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(data), format, frames)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, path.toFile());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,144 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeTranscriptionModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.LatencyDistribution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.audio.transcription.AudioTranscriptionPrompt;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkedTranscriberTest {
+
+    private static final int SAMPLE_RATE = 8000;
+
+    @TempDir
+    Path tempDir;
+
+    private final ThreadPoolTaskExecutor executor = executor(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void stitchDropsWordsRepeatedAcrossTheOverlap() {
+        String stitched = ChunkedTranscriber.stitch(List.of(
+                "I would use a hash map.",
+                "Hash map to count the occurrences",
+                "the occurrences, and then sort them."), 12);
+
+        assertEquals("I would use a hash map. to count the occurrences and then sort them.", stitched);
+    }
+
+    @Test
+    void stitchKeepsTextWithoutOverlap() {
+        assertEquals("first part second part",
+                ChunkedTranscriber.stitch(List.of("first part", "", "second part"), 12));
+    }
+
+    @Test
+    void splitsLongRecordingAtSilences() throws Exception {
+        // Speech bursts separated by one-second pauses, 90 seconds in total
+        Path audio = speech("long.wav", 90);
+        ChunkedTranscriber transcriber = transcriber(30);
+
+        List<Path> segments = transcriber.split(audio, tempDir);
+
+        assertEquals(3, segments.size());
+        double total = 0;
+        for (Path segment : segments) {
+            AudioFileFormat format = AudioSystem.getAudioFileFormat(segment.toFile());
+            total += format.getFrameLength() / format.getFormat().getFrameRate();
+        }
+        // Every second is covered, plus the overlap on both sides of each of the two cuts
+        assertEquals(94, total, 0.5);
+    }
+
+    @Test
+    void shortRecordingIsNotSplit() throws Exception {
+        Path audio = speech("short.wav", 20);
+
+        assertTrue(transcriber(30).split(audio, tempDir).isEmpty());
+    }
+
+    /**
+     * Wall-clock time on the fake provider, where transcription latency grows with audio length,
+     * for the same two-minute recording split into 2, 4 and 8 segments must fall below the
+     * single-segment time by at least the given factor
+     */
+    @Test
+    void wallClockFallsWithSegmentCount() throws Exception {
+        Path audio = speech("benchmark.wav", 120);
+        FakeTranscriptionModel model = new FakeTranscriptionModel(LatencyDistribution.parse("none"),
+                Duration.ofMillis(20), List.of(FakeTranscriptionModel.DEFAULT_TRANSCRIPT));
+
+        long single = transcribeMillis(audio, model, 1);
+
+        int[] segmentCounts = {2, 4, 8};
+        double[] maxFractions = {0.75, 0.45, 0.3};
+        for (int i = 0; i < segmentCounts.length; i++) {
+            long millis = transcribeMillis(audio, model, segmentCounts[i]);
+            assertTrue(millis < single * maxFractions[i], segmentCounts[i] + " segments took " + millis
+                    + "ms, expected under " + maxFractions[i] + " x " + single + "ms for one segment");
+        }
+    }
+
+    private long transcribeMillis(Path audio, FakeTranscriptionModel model, int segments) {
+        ChunkedTranscriber transcriber = transcriber(120.0 / segments);
+        long start = System.nanoTime();
+        transcriber.transcribe(audio, tempDir, segment -> model.call(
+                new AudioTranscriptionPrompt(new FileSystemResource(segment))).getResult().getOutput());
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private ChunkedTranscriber transcriber(double segmentSeconds) {
+        return new ChunkedTranscriber(executor, new SimpleMeterRegistry(), true, 30, segmentSeconds, 8, 1000, 5000, 12);
+    }
+
+    private ThreadPoolTaskExecutor executor(int parallelism) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(parallelism);
+        taskExecutor.setMaxPoolSize(parallelism);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    /**
+     * 16-bit mono PCM alternating four seconds of tone with one second of silence
+     */
+    private Path speech(String name, int seconds) throws Exception {
+        int frames = seconds * SAMPLE_RATE;
+        byte[] data = new byte[frames * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            boolean voiced = (frame / SAMPLE_RATE) % 5 != 4;
+            short value = voiced ? (short) (0.5 * Short.MAX_VALUE * Math.sin(2 * Math.PI * 220 * frame / SAMPLE_RATE)) : 0;
+            data[frame * 2] = (byte) value;
+            data[frame * 2 + 1] = (byte) (value >> 8);
+        }
+
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        Path path = tempDir.resolve(name);
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(data), format, frames)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, path.toFile());
+        }
+        assertTrue(Files.size(path) > data.length);
+        return path;
+    }
+}
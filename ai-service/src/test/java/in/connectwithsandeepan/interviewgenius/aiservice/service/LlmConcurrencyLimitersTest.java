@@ -0,0 +1,90 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.ErrorResponseDto;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.GlobalExceptionHandler;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmConcurrencyLimitersTest {
+
+    private static final List<String> PROVIDERS = List.of(LlmConcurrencyLimiters.ANTHROPIC,
+            LlmConcurrencyLimiters.OPENAI_CHAT, LlmConcurrencyLimiters.OPENAI_TRANSCRIPTION,
+            LlmConcurrencyLimiters.OPENAI_SPEECH);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void saturatedProvidersLeaveServletThreadsFree() {
+        LlmConcurrencyLimiters limiters = limiters(200, 0.5, 64, 50);
+
+        // Every provider at its limit with a full queue
+        int held = 0;
+        for (String provider : PROVIDERS) {
+            while (true) {
+                try {
+                    limiters.acquire(provider, null);
+                    held++;
+                } catch (ProviderSaturatedException e) {
+                    break;
+                }
+            }
+        }
+
+        assertEquals(25, limiters.providerCapacity());
+        assertTrue(held <= 100, held + " permits held");
+        assertEquals(PROVIDERS.size(), meterRegistry.get("ai.llm.limiter.rejections").counters().size());
+    }
+
+    @Test
+    void capacityStaysBelowTheServletThreadsWhateverTheLimits() {
+        LlmConcurrencyLimiters limiters = limiters(40, 0.5, 64, 50);
+
+        assertEquals(5, limiters.providerCapacity());
+        assertTrue(limiters.providerCapacity() * PROVIDERS.size() < 40);
+    }
+
+    @Test
+    void overflowIsAnsweredWith503AndRetryAfter() {
+        LlmConcurrencyLimiters limiters = limiters(8, 1.0, 1, 1);
+        limiters.acquire(LlmConcurrencyLimiters.ANTHROPIC, null);
+        ProviderSaturatedException e = assertThrows(ProviderSaturatedException.class,
+                () -> limiters.acquire(LlmConcurrencyLimiters.ANTHROPIC, null));
+
+        ResponseEntity<ErrorResponseDto> response = new GlobalExceptionHandler().handleProviderSaturatedException(e,
+                new ServletWebRequest(new MockHttpServletRequest("POST", "/api/v1/ai/generate-questions")));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(String.valueOf(e.getRetryAfterSeconds()), response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("ai.llm.limiter.rejections")
+                .tag("provider", LlmConcurrencyLimiters.ANTHROPIC).counter().count());
+    }
+
+    private LlmConcurrencyLimiters limiters(int servletThreads, double share, int maxLimit, int maxQueue) {
+        LlmConcurrencyLimiters limiters = new LlmConcurrencyLimiters(meterRegistry);
+        ReflectionTestUtils.setField(limiters, "enabled", true);
+        ReflectionTestUtils.setField(limiters, "initialLimit", maxLimit);
+        ReflectionTestUtils.setField(limiters, "minLimit", 1);
+        ReflectionTestUtils.setField(limiters, "maxLimit", maxLimit);
+        ReflectionTestUtils.setField(limiters, "maxQueue", maxQueue);
+        // No waiting, so a full limit rejects at once instead of timing out
+        ReflectionTestUtils.setField(limiters, "maxWait", Duration.ZERO);
+        ReflectionTestUtils.setField(limiters, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiters, "servletThreads", servletThreads);
+        ReflectionTestUtils.setField(limiters, "servletThreadShare", share);
+        return limiters;
+    }
+}
@@ -0,0 +1,65 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the interview system prompt: read from its file and rendered on every call, as the
+ * chat client did with the prompt resource, against a registry rendering.
+ * Run from the ai-service directory with
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main PromptAssemblyBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptAssemblyBenchmark {
+
+    private static final Map<String, Object> PARAMS = Map.of("experience_level", "Senior", "language", "English");
+
+    private Resource interviewPrompt;
+    private PromptRegistry registry;
+
+    @Setup
+    public void setUp() throws IOException {
+        interviewPrompt = new FileSystemResource(Path.of("prompt/interview-chatclient-anthropic-1.st"));
+        registry = new PromptRegistry(interviewPrompt,
+                new FileSystemResource(Path.of("prompt/resume-parser.st")),
+                new FileSystemResource(Path.of("prompt/resume-parser-no-skills.st")),
+                new FileSystemResource(Path.of("prompt/resume-section-parser.st")),
+                new FileSystemResource(Path.of("prompt/interview-feedback.st")),
+                new SimpleMeterRegistry());
+        registry.load();
+    }
+
+    @Benchmark
+    public String readAndRenderPerCall() throws IOException {
+        return new PromptTemplate(interviewPrompt.getContentAsString(StandardCharsets.UTF_8)).render(PARAMS);
+    }
+
+    @Benchmark
+    public String registry() {
+        return registry.render(PromptRegistry.INTERVIEW, PARAMS);
+    }
+}
@@ -0,0 +1,100 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptRegistryTest {
+
+    private static final Map<String, Object> PARAMS = Map.of("experience_level", "Senior", "language", "English");
+
+    @TempDir
+    Path dir;
+
+    private Path interview;
+    private SimpleMeterRegistry meterRegistry;
+    private PromptRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        interview = write("interview.st", "Interview a {experience_level} candidate in {language}.");
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new PromptRegistry(new FileSystemResource(interview),
+                new FileSystemResource(write("resume.st", "Return the resume as JSON: {\"skills\": []}")),
+                new FileSystemResource(write("resume-no-skills.st", "Return the resume as JSON without skills.")),
+                new FileSystemResource(write("section.st", "Parse the {section} section.")),
+                new FileSystemResource(write("feedback.st", "Score the answer.")),
+                meterRegistry);
+        registry.load();
+    }
+
+    @Test
+    void rendersOnceAndReusesTheRendering() {
+        String rendered = registry.render(PromptRegistry.INTERVIEW, PARAMS);
+
+        assertEquals("Interview a Senior candidate in English.", rendered);
+        assertSame(rendered, registry.render(PromptRegistry.INTERVIEW, Map.of("language", "English", "experience_level", "Senior")));
+        // Templates without parameters are sent as written, braces included
+        assertEquals("Return the resume as JSON: {\"skills\": []}", registry.render(PromptRegistry.RESUME));
+    }
+
+    @Test
+    void versionsByContentAndCountsTokens() {
+        assertEquals(12, registry.version(PromptRegistry.INTERVIEW).length());
+        assertNotEquals(registry.version(PromptRegistry.INTERVIEW), registry.version(PromptRegistry.FEEDBACK));
+        assertTrue(meterRegistry.get("ai.prompt.tokens").tag("template", PromptRegistry.INTERVIEW).gauge().value() > 0);
+    }
+
+    @Test
+    void reloadsAChangedFile() throws IOException {
+        String version = registry.version(PromptRegistry.INTERVIEW);
+        registry.render(PromptRegistry.INTERVIEW, PARAMS);
+
+        change("Interview a {experience_level} engineer, speaking {language}.");
+        registry.reloadIfChanged();
+
+        assertNotEquals(version, registry.version(PromptRegistry.INTERVIEW));
+        assertEquals("Interview a Senior engineer, speaking English.", registry.render(PromptRegistry.INTERVIEW, PARAMS));
+    }
+
+    @Test
+    void keepsThePreviousVersionWhenAnEditDoesNotRender() throws IOException {
+        String version = registry.version(PromptRegistry.INTERVIEW);
+
+        change("Interview a {experience_level} candidate about {topic}.");
+        registry.reloadIfChanged();
+
+        assertEquals(version, registry.version(PromptRegistry.INTERVIEW));
+        assertEquals("Interview a Senior candidate in English.", registry.render(PromptRegistry.INTERVIEW, PARAMS));
+    }
+
+    @Test
+    void rejectsUnknownTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> registry.version("unknown"));
+    }
+
+    private void change(String text) throws IOException {
+        Files.writeString(interview, text);
+        // File times can be too coarse to tell two writes in the same test apart
+        Files.setLastModifiedTime(interview, FileTime.from(Instant.now().plusSeconds(5)));
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.writeString(dir.resolve(name), text);
+    }
+}
@@ -0,0 +1,156 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.CassetteReplay;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeChatModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.LatencyDistribution;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.SchemaSampleGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs batches against the fake chat model: generated schema samples, or cassette replies for
+ * repeated and malformed chunks
+ */
+class QuestionBatchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+    private final ThreadPoolTaskExecutor executor = executor();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void largeCountsAreSplitIntoChunks() {
+        QuestionBatchService service = service(CassetteReplay.empty(), 2);
+
+        QuestionBatchService.Batch batch = service.generateBatch(QuestionType.SHORT_INPUT, "Java", "Intermediate", 60);
+
+        assertEquals(60, batch.questions().size());
+        assertEquals(0, batch.shortfall());
+        assertEquals(List.of(10, 25, 25), prompts.stream().map(QuestionBatchServiceTest::requestedSize).sorted().toList());
+        assertEquals(60, new HashSet<>(texts(batch)).size());
+    }
+
+    @Test
+    void repeatsWithinTheRequestAreDroppedAndToppedUp() throws IOException {
+        QuestionBatchService service = service(cassette(
+                questions("What is a HashMap?", "What is a TreeMap?", "what is a  hashmap?"),
+                questions("What is a TreeMap?", "What is a LinkedList?", "What is a Deque?")), 2);
+
+        QuestionBatchService.Batch batch = service.generateBatch(QuestionType.SHORT_INPUT, "Java", "Intermediate", 4);
+
+        assertEquals(List.of("What is a HashMap?", "What is a TreeMap?", "What is a LinkedList?", "What is a Deque?"),
+                texts(batch));
+        assertEquals(0, batch.shortfall());
+        assertEquals(List.of(4, 2), prompts.stream().map(QuestionBatchServiceTest::requestedSize).toList());
+    }
+
+    @Test
+    void failedChunksAreToppedUp() throws IOException {
+        QuestionBatchService service = service(cassette(
+                numbered("a", 25), "not json", numbered("b", 25)), 2);
+
+        QuestionBatchService.Batch batch = service.generateBatch(QuestionType.SHORT_INPUT, "Java", "Intermediate", 50);
+
+        assertEquals(50, batch.questions().size());
+        assertEquals(0, batch.shortfall());
+        assertEquals(3, prompts.size());
+    }
+
+    @Test
+    void shortfallIsReportedWhenTopUpsRunOut() throws IOException {
+        QuestionBatchService service = service(cassette(numbered("a", 25), "not json"), 1);
+
+        QuestionBatchService.Batch batch = service.generateBatch(QuestionType.SHORT_INPUT, "Java", "Intermediate", 50);
+
+        // The top-up chunk gets the good reply again, which only repeats what the batch already has
+        assertEquals(25, batch.questions().size());
+        assertEquals(25, batch.shortfall());
+        assertEquals(3, prompts.size());
+    }
+
+    @Test
+    void failsWhenEveryChunkFails() throws IOException {
+        QuestionBatchService service = service(cassette("not json"), 1);
+
+        assertThrows(RuntimeException.class,
+                () -> service.generateBatch(QuestionType.SHORT_INPUT, "Java", "Intermediate", 30));
+        assertEquals(4, prompts.size());
+    }
+
+    private QuestionBatchService service(CassetteReplay cassette, int topUpRounds) {
+        FakeChatModel model = new FakeChatModel("fake", LatencyDistribution.parse("none"), Duration.ZERO, 16, false,
+                new SchemaSampleGenerator(objectMapper, 25, 0), cassette);
+        ChatClient chatClient = ChatClient.create(prompt -> {
+            prompts.add(prompt.getUserMessage().getText());
+            return model.call(prompt);
+        });
+        QuestionBatchService service = new QuestionBatchService(chatClient, executor);
+        ReflectionTestUtils.setField(service, "chunkSize", 25);
+        ReflectionTestUtils.setField(service, "maxCount", 1000);
+        ReflectionTestUtils.setField(service, "topUpRounds", topUpRounds);
+        return service;
+    }
+
+    /**
+     * Cassette that answers every batch prompt with the given replies in turn
+     */
+    private CassetteReplay cassette(String... replies) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String reply : replies) {
+            lines.add(objectMapper.writeValueAsString(Map.of("match", "distinct", "content", reply)));
+        }
+        return CassetteReplay.load(Files.write(tempDir.resolve("cassette.jsonl"), lines), objectMapper);
+    }
+
+    private String questions(String... questions) throws IOException {
+        return objectMapper.writeValueAsString(List.of(questions).stream().map(question -> Map.of("question", question)).toList());
+    }
+
+    private String numbered(String prefix, int count) throws IOException {
+        return questions(IntStream.rangeClosed(1, count).mapToObj(i -> "Question " + prefix + i + "?").toArray(String[]::new));
+    }
+
+    private static List<String> texts(QuestionBatchService.Batch batch) {
+        return batch.questions().stream().map(question -> ((InputTypeQuestion) question).getQuestion()).toList();
+    }
+
+    private static int requestedSize(String prompt) {
+        return Integer.parseInt(prompt.substring("Give ".length(), prompt.indexOf(' ', "Give ".length())));
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,108 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.InputTypeQuestion;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.QuestionType;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.TokenEstimator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionGeneratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuestionHistory history = history();
+    private final List<String> prompts = new ArrayList<>();
+
+    @Test
+    void repeatedQuestionIsRegeneratedWithTheRepeatInThePrompt() {
+        history.record(QuestionType.SHORT_INPUT.name(), "What is a HashMap?");
+        QuestionGenerator generator = generator(answers("What is a HashMap?", "What is a TreeMap?"));
+
+        InputTypeQuestion question = generator.generateShortInputTypeQuestion();
+
+        assertEquals("What is a TreeMap?", question.getQuestion());
+        assertEquals(2, prompts.size());
+        assertTrue(prompts.get(1).contains("- What is a HashMap?"));
+        assertEquals(1.0, meterRegistry.get("ai.question.duplicates").counter().count());
+        assertEquals(List.of("What is a TreeMap?", "What is a HashMap?"), history.recent(QuestionType.SHORT_INPUT.name()));
+    }
+
+    @Test
+    void questionIsDroppedWhenEveryAttemptRepeats() {
+        history.record(QuestionType.DSA_INPUT.name(), "What is the time complexity of binary search?");
+        QuestionGenerator generator = generator(() -> "what is the time complexity of  binary search?");
+
+        assertNull(generator.generate(QuestionType.DSA_INPUT));
+        assertEquals(3, prompts.size());
+        assertEquals(1, history.recent(QuestionType.DSA_INPUT.name()).size());
+    }
+
+    @Test
+    void liveCallerGetsTheLastRepeatWhenEveryAttemptRepeats() {
+        history.record(QuestionType.DSA_INPUT.name(), "What is the time complexity of binary search?");
+        QuestionGenerator generator = generator(() -> "what is the time complexity of  binary search?");
+
+        InputTypeQuestion question = (InputTypeQuestion) generator.generate(QuestionType.DSA_INPUT, true);
+
+        assertEquals("what is the time complexity of  binary search?", question.getQuestion());
+        assertEquals(3, prompts.size());
+        assertEquals(3.0, meterRegistry.get("ai.question.duplicates").counter().count());
+    }
+
+    @Test
+    void promptStaysTheSameSizeAfterTenThousandGenerations() {
+        int[] generated = {0};
+        QuestionGenerator generator = generator(() -> String.format("Java question number %05d?", ++generated[0]));
+
+        for (int i = 0; i < 20; i++) {
+            generator.generateDescriptiveInputTypeQuestion();
+        }
+        int earlyTokens = TokenEstimator.estimate(prompts.get(prompts.size() - 1));
+        for (int i = 20; i < 10_000; i++) {
+            generator.generateDescriptiveInputTypeQuestion();
+        }
+        String lastPrompt = prompts.get(prompts.size() - 1);
+
+        assertEquals(10_000, prompts.size());
+        assertEquals(earlyTokens, TokenEstimator.estimate(lastPrompt));
+        assertTrue(lastPrompt.contains("Java question number 09999?"));
+        assertFalse(lastPrompt.contains("Java question number 09989?"), "only the last 10 questions are sent");
+    }
+
+    private QuestionGenerator generator(Supplier<String> questions) {
+        ChatClient chatClient = ChatClient.create(prompt -> {
+            prompts.add(prompt.getUserMessage().getText());
+            String json = "{\"question\": \"" + questions.get() + "\"}";
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(json))));
+        });
+        QuestionGenerator generator = new QuestionGenerator(chatClient, history);
+        ReflectionTestUtils.setField(generator, "maxAttempts", 3);
+        return generator;
+    }
+
+    private QuestionHistory history() {
+        QuestionHistory history = new QuestionHistory(meterRegistry);
+        ReflectionTestUtils.setField(history, "maxSize", 100);
+        ReflectionTestUtils.setField(history, "promptSize", 10);
+        return history;
+    }
+
+    private static Supplier<String> answers(String... questions) {
+        Iterator<String> iterator = List.of(questions).iterator();
+        return iterator::next;
+    }
+}
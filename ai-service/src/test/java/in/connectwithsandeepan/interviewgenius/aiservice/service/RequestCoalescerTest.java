@@ -0,0 +1,170 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = coalescer();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentCallsShareOneModelCall() throws Exception {
+        List<Future<String>> results = startCallers(CALLERS, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "transcript";
+        });
+        awaitJoiners(CALLERS - 1);
+
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("transcript", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1.0, counter("ai.coalescing.executed"));
+        assertEquals(CALLERS - 1.0, counter("ai.coalescing.coalesced"));
+        assertEquals(0.0, meterRegistry.get("ai.coalescing.inflight").gauge().value());
+    }
+
+    @Test
+    void completedCallIsNotCached() {
+        coalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, "audio-hash", calls::incrementAndGet);
+        coalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, "audio-hash", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void leaderFailureReachesEveryJoiner() throws Exception {
+        IllegalStateException failure = new IllegalStateException("provider unavailable");
+        List<Future<String>> results = startCallers(CALLERS, () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+        awaitJoiners(CALLERS - 1);
+
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void joinerGivesUpAtItsOwnDeadlineWhileTheLeaderCarriesOn() throws Exception {
+        Future<String> leader = startCallers(1, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "transcript";
+        }).get(0);
+        awaitCalls(1);
+
+        Future<Object> joiner = callers.submit(() -> {
+            RequestDeadline.set(Instant.now().plusMillis(100));
+            long start = System.nanoTime();
+            try {
+                return coalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, "audio-hash", () -> "never called");
+            } catch (DeadlineExceededException e) {
+                return Duration.ofNanos(System.nanoTime() - start);
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+
+        Object waited = joiner.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(Duration.class, waited, "joiner did not time out");
+        assertTrue(((Duration) waited).compareTo(Duration.ofSeconds(2)) < 0);
+
+        release.countDown();
+        assertEquals("transcript", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    private List<Future<String>> startCallers(int count, Supplier<String> call) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> coalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, "audio-hash", call)));
+        // The first caller leads; the rest join once its call is in flight
+        awaitCalls(1);
+        for (int i = 1; i < count; i++) {
+            results.add(callers.submit(() -> coalescer.execute(RequestCoalescer.TRANSCRIBE_AUDIO, "audio-hash", call)));
+        }
+        return results;
+    }
+
+    private void awaitCalls(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < count) {
+            assertTrue(System.nanoTime() < deadline, "call never started");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitJoiners(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter("ai.coalescing.coalesced") < count) {
+            assertTrue(System.nanoTime() < deadline, "callers never joined");
+            Thread.sleep(5);
+        }
+    }
+
+    private double counter(String name) {
+        Counter counter = meterRegistry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private RequestCoalescer coalescer() {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        return coalescer;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
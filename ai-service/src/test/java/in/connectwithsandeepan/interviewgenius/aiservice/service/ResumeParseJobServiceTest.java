@@ -0,0 +1,197 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.dto.ResumeParseJobRequest;
+import in.connectwithsandeepan.interviewgenius.aiservice.entity.Resume;
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.ProviderSaturatedException;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepository.Job;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.ResumeParseJobRepositoryTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeParseJobServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AiService aiService = mock(AiService.class);
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private ResumeParseJobRepository repository = repository();
+
+    @AfterEach
+    void shutdown() {
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void backoffDoublesPerAttemptUpToTheMaximum() {
+        ResumeParseJobService service = service(4, 4);
+        RuntimeException failure = new IllegalStateException("provider down");
+
+        assertEquals(Duration.ofSeconds(5), service.backoff(1, failure));
+        assertEquals(Duration.ofSeconds(10), service.backoff(2, failure));
+        assertEquals(Duration.ofSeconds(40), service.backoff(4, failure));
+        assertEquals(Duration.ofMinutes(2), service.backoff(6, failure));
+        assertEquals(Duration.ofMinutes(2), service.backoff(100, failure));
+    }
+
+    @Test
+    void saturatedProviderIsGivenItsRetryAfterInFull() {
+        ResumeParseJobService service = service(4, 4);
+
+        assertEquals(Duration.ofSeconds(30), service.backoff(1, new ProviderSaturatedException("openai-chat", "busy", 30)));
+        assertEquals(Duration.ofSeconds(10), service.backoff(2, new ProviderSaturatedException("openai-chat", "busy", 1)));
+    }
+
+    @Test
+    void failedAttemptsAreRetriedWithBackoffUntilTheLastOneFails() {
+        ResumeParseJobService service = service(4, 2);
+        when(aiService.parseResumeText(any(), anyLong())).thenThrow(new IllegalStateException("provider down"));
+        String id = submit(service);
+
+        Instant now = afterSubmit();
+        service.process(claimOne(now));
+
+        Job retried = repository.find(id).orElseThrow();
+        assertEquals(ResumeParseJobRepository.QUEUED, retried.status());
+        assertEquals("provider down", retried.error());
+        assertTrue(repository.claim(1, now.plusSeconds(4), now.plus(LEASE)).isEmpty(), "waits out the 5s backoff");
+
+        Job second = claimOne(now.plusSeconds(6));
+        assertEquals(2, second.attempts());
+        service.process(second);
+
+        Job failed = repository.find(id).orElseThrow();
+        assertEquals(ResumeParseJobRepository.FAILED, failed.status());
+        assertEquals(2, failed.attempts());
+        assertNotNull(failed.finishedAt());
+        assertEquals(1.0, meterRegistry.get("ai.resume.jobs.retries").counter().count());
+        assertEquals(1.0, meterRegistry.get("ai.resume.jobs.finished").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void invalidInputFailsWithoutRetrying() {
+        ResumeParseJobService service = service(4, 4);
+        when(aiService.parseResumeText(any(), anyLong())).thenThrow(new IllegalArgumentException("not a resume"));
+        String id = submit(service);
+
+        service.process(claimOne(afterSubmit()));
+
+        Job failed = repository.find(id).orElseThrow();
+        assertEquals(ResumeParseJobRepository.FAILED, failed.status());
+        assertEquals(1, failed.attempts());
+        assertEquals("not a resume", failed.error());
+    }
+
+    @Test
+    void attemptThatOutlivedItsLeaseDiscardsItsResult() {
+        ResumeParseJobService service = service(4, 4);
+        when(aiService.parseResumeText(any(), anyLong())).thenReturn(Resume.builder().email("a@example.com").build());
+        String id = submit(service);
+        Instant now = afterSubmit();
+        Job overran = claimOne(now);
+        Job current = claimOne(now.plus(LEASE));
+
+        service.process(overran);
+
+        assertEquals(ResumeParseJobRepository.RUNNING, repository.find(id).orElseThrow().status());
+        assertEquals(1.0, meterRegistry.get("ai.resume.jobs.lease-lost").counter().count());
+
+        service.process(current);
+
+        Job done = repository.find(id).orElseThrow();
+        assertEquals(ResumeParseJobRepository.SUCCEEDED, done.status());
+        assertEquals("a@example.com", service.find(id).orElseThrow().getResume().getEmail());
+    }
+
+    /**
+     * Twelve jobs whose parse takes 100ms each: four workers must finish them in well under half the time
+     * one worker takes, since throughput follows the worker count rather than the number of callers
+     */
+    @Test
+    void throughputScalesWithWorkers() throws Exception {
+        when(aiService.parseResumeText(any(), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Resume.builder().email("a@example.com").build();
+        });
+
+        long oneWorker = drainMillis(1, 12);
+        repository = repository();
+        long fourWorkers = drainMillis(4, 12);
+
+        assertTrue(fourWorkers < oneWorker * 0.5,
+                "4 workers took " + fourWorkers + "ms, 1 worker " + oneWorker + "ms");
+    }
+
+    private long drainMillis(int workers, int jobs) throws InterruptedException {
+        ResumeParseJobService service = service(workers, 4);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            ids.add(submit(service));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(30);
+        while (!ids.stream().allMatch(id -> ResumeParseJobRepository.SUCCEEDED.equals(repository.find(id).orElseThrow().status()))) {
+            assertTrue(System.nanoTime() < deadline, "jobs did not finish");
+            service.dispatch();
+            Thread.sleep(5);
+        }
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private String submit(ResumeParseJobService service) {
+        return service.submit(ResumeParseJobRequest.builder()
+                .userId(7L)
+                .resumeText("Jane Doe, Java developer")
+                .build());
+    }
+
+    // Whole milliseconds, as stored, and clear of the submission time, which the database may have rounded up
+    private static Instant afterSubmit() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS).plusSeconds(1);
+    }
+
+    private Job claimOne(Instant now) {
+        List<Job> claimed = repository.claim(1, now, now.plus(LEASE));
+        assertEquals(1, claimed.size());
+        return claimed.get(0);
+    }
+
+    private ResumeParseJobService service(int workers, int maxAttempts) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.initialize();
+        executors.add(executor);
+        return new ResumeParseJobService(repository, aiService, executor, new ObjectMapper().findAndRegisterModules(),
+                RestClient.builder(), meterRegistry, true, workers, maxAttempts, Duration.ofSeconds(5),
+                Duration.ofMinutes(2), LEASE, Duration.ofDays(7), Set.of());
+    }
+
+    private static ResumeParseJobRepository repository() {
+        return new ResumeParseJobRepository(new JdbcTemplate(ResumeParseJobRepositoryTest.database()));
+    }
+}
@@ -0,0 +1,307 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.exception.DeadlineExceededException;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutedChatModelTest {
+
+    private static final int WARM_UP_CALLS = 5;
+    private static final int INITIAL_LIMIT = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmConcurrencyLimiters limiters = limiters();
+    private final ThreadPoolTaskExecutor executor = executor(4);
+
+    // Swapped per test after the primary's p95 has been warmed up with fast calls
+    private final AtomicReference<ChatModel> primaryBehaviour = new AtomicReference<>(prompt -> response("primary"));
+    private final AtomicInteger fallbackCalls = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void hedgeAnswersForASlowPrimaryWhichIsCancelledWithoutCuttingItsLimit() throws Exception {
+        RoutedChatModel model = model(100, executor);
+        warmUp(model);
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        primaryBehaviour.set(prompt -> {
+            try {
+                Thread.sleep(10_000);
+                return response("primary");
+            } catch (InterruptedException e) {
+                // As Spring's HTTP clients do: keep the interrupt and fail the exchange
+                Thread.currentThread().interrupt();
+                primaryCancelled.countDown();
+                throw new IllegalStateException("Request was interrupted", e);
+            }
+        });
+
+        long start = System.nanoTime();
+        ChatResponse response = model.call(new Prompt("question"));
+
+        assertEquals("fallback", response.getResult().getOutput().getText());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertTrue(primaryCancelled.await(5, TimeUnit.SECONDS), "primary attempt was not cancelled");
+        assertEquals(1.0, counter("ai.llm.hedge.fired"));
+        assertEquals(1.0, counter("ai.llm.hedge.won"));
+
+        awaitInFlight("primary-limiter", 0);
+        assertEquals(INITIAL_LIMIT, gauge("ai.llm.limiter.limit", "primary-limiter"), "cancelled permit was DROPPED");
+        // The attempt is timed after its permit is released
+        awaitCancelledAttempts("anthropic:primary", 1);
+    }
+
+    @Test
+    void primaryFailingBeforeTheHedgeFallsBack() {
+        RoutedChatModel model = model(100, executor);
+        warmUp(model);
+        primaryBehaviour.set(prompt -> {
+            throw new IllegalStateException("overloaded");
+        });
+
+        ChatResponse response = model.call(new Prompt("question"));
+
+        assertEquals("fallback", response.getResult().getOutput().getText());
+        assertEquals(1, fallbackCalls.get());
+        assertNull(meterRegistry.find("ai.llm.hedge.fired").counter());
+        assertEquals(1.0, meterRegistry.get("ai.llm.route").tag("route", RoutedChatModel.FALLBACK)
+                .tag("reason", "primary_error").counter().count());
+    }
+
+    @Test
+    void hedgeBudgetAllowsTheConfiguredShareOfCalls() {
+        RoutedChatModel.HedgeBudget budget = new RoutedChatModel.HedgeBudget(5);
+
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                hedges++;
+            }
+        }
+        assertEquals(50, hedges, 1);
+
+        // A long quiet spell banks at most ten hedges
+        for (int i = 0; i < 10_000; i++) {
+            budget.deposit();
+        }
+        int burst = 0;
+        while (budget.tryWithdraw()) {
+            burst++;
+        }
+        assertEquals(10, burst);
+    }
+
+    @Test
+    void slowPrimaryIsNotHedgedOnceTheBudgetIsSpent() {
+        RoutedChatModel model = model(0, executor);
+        warmUp(model);
+        primaryBehaviour.set(prompt -> {
+            sleep(200);
+            return response("primary");
+        });
+
+        ChatResponse response = model.call(new Prompt("question"));
+
+        assertEquals("primary", response.getResult().getOutput().getText());
+        assertEquals(0, fallbackCalls.get());
+        assertEquals(1.0, meterRegistry.get("ai.llm.hedge.skipped").tag("reason", "budget").counter().count());
+    }
+
+    @Test
+    void fullPoolRunsTheCallUnhedged() throws Exception {
+        ThreadPoolTaskExecutor busy = executor(1);
+        try {
+            RoutedChatModel model = model(100, busy);
+            warmUp(model);
+            CountDownLatch release = new CountDownLatch(1);
+            busy.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            primaryBehaviour.set(prompt -> {
+                sleep(200);
+                return response("primary on " + Thread.currentThread().getName());
+            });
+
+            ChatResponse response = model.call(new Prompt("question"));
+            release.countDown();
+
+            assertEquals("primary on " + Thread.currentThread().getName(), response.getResult().getOutput().getText());
+            assertEquals(0, fallbackCalls.get());
+            assertEquals(1.0, meterRegistry.get("ai.llm.hedge.skipped").tag("reason", "pool_full").counter().count());
+        } finally {
+            busy.shutdown();
+        }
+    }
+
+    @Test
+    void streamIsNotCutOffAtTheDeadlineOnceTokensFlow() {
+        RoutedChatModel model = streamingModel(Duration.ofMillis(10));
+
+        List<String> tokens = model.stream(new Prompt("question"))
+                .map(response -> response.getResult().getOutput().getText())
+                .contextWrite(deadlineIn(Duration.ofMillis(100)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(10, tokens.size(), "stream runs past its 100ms deadline");
+    }
+
+    @Test
+    void streamThatDoesNotStartBeforeTheDeadlineFails() throws Exception {
+        RoutedChatModel model = streamingModel(Duration.ofMillis(500));
+
+        assertThrows(DeadlineExceededException.class, () -> model.stream(new Prompt("question"))
+                .contextWrite(deadlineIn(Duration.ofMillis(100)))
+                .blockLast(Duration.ofSeconds(5)));
+        awaitInFlight("primary-limiter", 0);
+    }
+
+    // Enough fast primary calls for a p95, so the next call is hedged after the minimum delay
+    private void warmUp(RoutedChatModel model) {
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            model.call(new Prompt("warm up"));
+        }
+    }
+
+    private RoutedChatModel model(double maxPercent, ThreadPoolTaskExecutor hedgeExecutor) {
+        RoutedChatModel.Route primary = new RoutedChatModel.Route("anthropic", "primary-limiter",
+                prompt -> primaryBehaviour.get().call(prompt), "primary");
+        RoutedChatModel.Route fallback = new RoutedChatModel.Route("openai", "fallback-limiter", prompt -> {
+            fallbackCalls.incrementAndGet();
+            return response("fallback");
+        }, "fallback");
+        return new RoutedChatModel("test", primary, fallback, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                WARM_UP_CALLS, limiters, meterRegistry,
+                new RoutedChatModel.Hedging(hedgeExecutor, maxPercent, Duration.ofMillis(20)));
+    }
+
+    // Ten tokens 30ms apart, the first after the given delay; no fallback, so a failure surfaces
+    private RoutedChatModel streamingModel(Duration firstToken) {
+        ChatModel streaming = new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(Prompt prompt) {
+                return Flux.range(0, 10)
+                        .delayElements(Duration.ofMillis(30))
+                        .map(i -> response("token " + i))
+                        .delaySubscription(firstToken);
+            }
+        };
+        return new RoutedChatModel("test", new RoutedChatModel.Route("anthropic", "primary-limiter", streaming, "primary"),
+                null, Duration.ofMinutes(1), Duration.ofMinutes(1), WARM_UP_CALLS, limiters, meterRegistry, null);
+    }
+
+    private static Context deadlineIn(Duration timeout) {
+        RequestDeadline.set(Instant.now().plus(timeout));
+        try {
+            return RequestDeadline.context();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private LlmConcurrencyLimiters limiters() {
+        LlmConcurrencyLimiters limiters = new LlmConcurrencyLimiters(meterRegistry);
+        ReflectionTestUtils.setField(limiters, "enabled", true);
+        ReflectionTestUtils.setField(limiters, "initialLimit", INITIAL_LIMIT);
+        ReflectionTestUtils.setField(limiters, "minLimit", 1);
+        ReflectionTestUtils.setField(limiters, "maxLimit", 64);
+        ReflectionTestUtils.setField(limiters, "maxQueue", 10);
+        ReflectionTestUtils.setField(limiters, "maxWait", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(limiters, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(limiters, "servletThreads", 400);
+        ReflectionTestUtils.setField(limiters, "servletThreadShare", 1.0);
+        return limiters;
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedge-test-");
+        executor.initialize();
+        return executor;
+    }
+
+    private double counter(String name) {
+        Counter counter = meterRegistry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double gauge(String name, String provider) {
+        return meterRegistry.get(name).tag("provider", provider).gauge().value();
+    }
+
+    private void awaitInFlight(String provider, int inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge("ai.llm.limiter.inflight", provider) != inFlight) {
+            assertTrue(System.nanoTime() < deadline, "permits still held");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitCancelledAttempts(String model, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cancelledAttempts(model) != count) {
+            assertTrue(System.nanoTime() < deadline, cancelledAttempts(model) + " cancelled attempts timed, expected " + count);
+            Thread.sleep(5);
+        }
+    }
+
+    private long cancelledAttempts(String model) {
+        Timer timer = meterRegistry.find("ai.llm.route.attempt").tag("model", model).tag("outcome", "cancelled").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill extraction over the labelled sample resumes: one resume, and all of them joined as a multi-page one.
+ * Run from the ai-service directory with
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main SkillMatcherBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillMatcherBenchmark {
+
+    private SkillMatcher matcher;
+    private String resume;
+    private String resumeSkills;
+    private String multiPageResume;
+
+    @Setup
+    public void setUp() throws Exception {
+        matcher = new SkillMatcher(new FileSystemResource(Path.of("skills/dictionary.txt")), new SimpleMeterRegistry(),
+                true, 0.6, 5);
+        matcher.load();
+
+        JsonNode sample;
+        try (InputStream json = getClass().getResourceAsStream("/skills/labelled-resumes.json")) {
+            sample = new ObjectMapper().readTree(json);
+        }
+        resume = sample.get(0).get("text").asText();
+        resumeSkills = ResumeSections.split(resume).text(ResumeSections.Section.SKILLS);
+        StringBuilder joined = new StringBuilder();
+        for (JsonNode labelled : sample) {
+            joined.append(labelled.get("text").asText()).append("\n\n");
+        }
+        multiPageResume = joined.toString();
+    }
+
+    @Benchmark
+    public SkillMatcher.Extraction resume() {
+        return matcher.extract(resume, resumeSkills);
+    }
+
+    @Benchmark
+    public SkillMatcher.Extraction multiPageResume() {
+        return matcher.extract(multiPageResume, "");
+    }
+}
@@ -0,0 +1,127 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillMatcherTest {
+
+    record LabelledResume(String name, String text, List<String> skills) {
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void matchesAliasesAsCanonicalNamesOnWholeWords() throws Exception {
+        SkillMatcher matcher = matcher(Path.of("skills/dictionary.txt"));
+
+        List<String> skills = matcher.extract("Deployed on k8s with Spring-Boot, C++ and Golang. "
+                + "JavaScript and TypeScript front end; we react quickly and rest well.", "").skills();
+
+        assertEquals(List.of("Kubernetes", "Spring Boot", "C++", "Go", "JavaScript", "TypeScript"), skills);
+    }
+
+    @Test
+    void coverageIsTheShareOfListedSkillsRecognised() throws Exception {
+        SkillMatcher matcher = matcher(Path.of("skills/dictionary.txt"));
+
+        SkillMatcher.Extraction known = matcher.extract("", "Languages: Java, Python\nTools: Docker • Git");
+        SkillMatcher.Extraction unknown = matcher.extract("", "Basket weaving, Origami, Java, Juggling");
+
+        assertEquals(1.0, known.coverage());
+        assertTrue(known.sufficient());
+        assertEquals(0.25, unknown.coverage());
+        assertFalse(unknown.sufficient());
+    }
+
+    @Test
+    void mergeNormalizesOtherSkillsAndDropsDuplicates() throws Exception {
+        SkillMatcher matcher = matcher(Path.of("skills/dictionary.txt"));
+
+        assertEquals(List.of("Java", "Kubernetes", "Stakeholder Management", "Camunda"),
+                matcher.merge(List.of("Java", "Kubernetes"), List.of("k8s", "JAVA", "stakeholder management", "Camunda")));
+    }
+
+    @Test
+    void reloadsTheDictionaryWhenTheFileChanges() throws Exception {
+        Path dictionary = Files.writeString(tempDir.resolve("dictionary.txt"), "Kubernetes | k8s\n");
+        SkillMatcher matcher = matcher(dictionary);
+        String version = matcher.dictionaryVersion();
+        assertEquals(List.of("Kubernetes"), matcher.extract("k8s and Camunda", "").skills());
+
+        Files.writeString(dictionary, "Kubernetes | k8s\nCamunda | Camunda BPM\n");
+        Files.setLastModifiedTime(dictionary, FileTime.from(Instant.now().plusSeconds(5)));
+        matcher.reloadIfChanged();
+
+        assertEquals(List.of("Kubernetes", "Camunda"), matcher.extract("k8s and Camunda", "").skills());
+        assertNotEquals(version, matcher.dictionaryVersion());
+    }
+
+    /**
+     * Precision and recall against hand-labelled resumes. Some labelled skills are deliberately
+     * missing from the dictionary, so recall measures what the model is still needed for.
+     */
+    @Test
+    void precisionAndRecallOnLabelledSample() throws Exception {
+        SkillMatcher matcher = matcher(Path.of("skills/dictionary.txt"));
+        List<LabelledResume> sample;
+        try (InputStream json = getClass().getResourceAsStream("/skills/labelled-resumes.json")) {
+            sample = new ObjectMapper().readValue(json, new TypeReference<>() {
+            });
+        }
+
+        int truePositives = 0;
+        int predicted = 0;
+        int labelled = 0;
+        StringBuilder errors = new StringBuilder();
+        for (LabelledResume resume : sample) {
+            String skillsSection = ResumeSections.split(resume.text()).text(ResumeSections.Section.SKILLS);
+            Set<String> found = new HashSet<>(matcher.extract(resume.text(), skillsSection).skills());
+            Set<String> expected = new HashSet<>(resume.skills());
+
+            Set<String> correct = new HashSet<>(found);
+            correct.retainAll(expected);
+            truePositives += correct.size();
+            predicted += found.size();
+            labelled += expected.size();
+
+            Set<String> falsePositives = new HashSet<>(found);
+            falsePositives.removeAll(expected);
+            Set<String> missed = new HashSet<>(expected);
+            missed.removeAll(found);
+            if (!falsePositives.isEmpty() || !missed.isEmpty()) {
+                errors.append(String.format("%n%s: false positives %s, missed %s", resume.name(), falsePositives, missed));
+            }
+        }
+
+        double precision = (double) truePositives / predicted;
+        double recall = (double) truePositives / labelled;
+        assertTrue(precision >= 0.95, "precision " + precision + " over " + labelled + " labelled skills" + errors);
+        assertTrue(recall >= 0.85, "recall " + recall + " over " + labelled + " labelled skills" + errors);
+    }
+
+    private SkillMatcher matcher(Path dictionary) throws Exception {
+        SkillMatcher matcher = new SkillMatcher(new FileSystemResource(dictionary), new SimpleMeterRegistry(), true, 0.6, 5);
+        matcher.load();
+        return matcher;
+    }
+}
@@ -0,0 +1,171 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.CassetteReplay;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.FakeChatModel;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.LatencyDistribution;
+import in.connectwithsandeepan.interviewgenius.aiservice.fake.SchemaSampleGenerator;
+import in.connectwithsandeepan.interviewgenius.aiservice.repository.WriteBehindChatMemoryRepository;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.TokenEstimator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SummarizingChatMemoryTest {
+
+    private static final String CONVERSATION = "interview-1";
+
+    // About 70 tokens, like a spoken answer
+    private static final String ANSWER = "I would start with a HashMap keyed by the customer id, because lookups are "
+            + "constant time on average, and then keep a separate min-heap of expiry times so the oldest entries can be "
+            + "evicted without scanning the whole map. If ordering mattered I would switch to a LinkedHashMap instead.";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcChatMemoryRepository jdbc = mock(JdbcChatMemoryRepository.class);
+    private final WriteBehindChatMemoryRepository repository = new WriteBehindChatMemoryRepository(jdbc, meterRegistry, 100);
+    private final ThreadPoolTaskExecutor summaryExecutor = executor();
+    private final AtomicInteger summaries = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        summaryExecutor.shutdown();
+    }
+
+    @Test
+    void compactsOnceTheConversationPassesTheTokenThreshold() throws Exception {
+        SummarizingChatMemory memory = memory(fakeModel(Duration.ZERO), 300, 2);
+
+        // Each exchange is about 85 tokens: three stay under the threshold
+        for (int turn = 0; turn < 3; turn++) {
+            memory.add(CONVERSATION, exchange(turn));
+        }
+        assertTrue(TokenEstimator.estimate(repository.findCached(CONVERSATION)) <= 300);
+        Thread.sleep(100);
+        assertEquals(0, summaries.get());
+
+        memory.add(CONVERSATION, exchange(3));
+        awaitCompaction();
+
+        List<Message> compacted = repository.findCached(CONVERSATION);
+        assertEquals(1, summaries.get());
+        assertEquals(3, compacted.size());
+        assertEquals(MessageType.SYSTEM, compacted.get(0).getMessageType());
+        assertTrue(compacted.get(0).getText().startsWith(SummarizingChatMemory.SUMMARY_PREFIX));
+        assertEquals(exchange(3), compacted.subList(1, 3));
+        assertEquals(1, meterRegistry.get("ai.chat.memory.compaction.tokens").tag("stage", "after").summary().count());
+    }
+
+    @Test
+    void addChecksTheThresholdWithoutReadingTheRepository() {
+        SummarizingChatMemory memory = memory(fakeModel(Duration.ZERO), 100_000, 2);
+
+        for (int turn = 0; turn < 10; turn++) {
+            memory.add(CONVERSATION, exchange(turn));
+        }
+
+        // One read per add, by the window memory itself: the first rehydrates, the rest hit the cache
+        assertEquals(1.0, meterRegistry.get("ai.chat.memory.cache.misses").counter().count());
+        assertEquals(9.0, meterRegistry.get("ai.chat.memory.cache.hits").counter().count());
+        verify(jdbc, never()).saveAll(anyString(), anyList());
+    }
+
+    @Test
+    void turnLatencyStaysFlatAsTheInterviewGoesOn() throws Exception {
+        // Summaries are slow, so a compaction on the turn's path would show
+        SummarizingChatMemory memory = memory(fakeModel(Duration.ofMillis(150)), 600, 4);
+        ChatClient interview = ChatClient.builder(prefillCostingModel(fakeModel(Duration.ofMillis(10))))
+                .defaultAdvisors(MessageChatMemoryAdvisor.builder(memory).build())
+                .build();
+
+        List<Long> latencies = new ArrayList<>();
+        for (int turn = 1; turn <= 30; turn++) {
+            long start = System.nanoTime();
+            interview.prompt()
+                    .user(ANSWER + " (turn " + turn + ")")
+                    .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, CONVERSATION))
+                    .call()
+                    .content();
+            latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        long turn3 = latencies.get(2);
+        long turn30 = latencies.get(29);
+        assertTrue(summaries.get() > 0, "conversation was never compacted");
+        assertTrue(turn30 < turn3 * 2 + 20, "turn 3 took " + turn3 + "ms, turn 30 took " + turn30 + "ms");
+        assertTrue(turn30 < 150, "turn 30 waited for a summary: " + turn30 + "ms");
+    }
+
+    private SummarizingChatMemory memory(ChatModel summaryModel, int tokenThreshold, int keepRecentMessages) {
+        ChatMemory window = MessageWindowChatMemory.builder()
+                .chatMemoryRepository(repository)
+                .maxMessages(40)
+                .build();
+        ChatModel counting = prompt -> {
+            summaries.incrementAndGet();
+            return summaryModel.call(prompt);
+        };
+        return new SummarizingChatMemory(window, repository, ChatClient.create(counting), summaryExecutor,
+                meterRegistry, tokenThreshold, keepRecentMessages);
+    }
+
+    private static FakeChatModel fakeModel(Duration latency) {
+        return new FakeChatModel("fake", () -> latency, Duration.ZERO, 1000, false,
+                new SchemaSampleGenerator(new ObjectMapper(), 1, 10), CassetteReplay.empty());
+    }
+
+    // Like a real provider, reading a longer prompt takes longer: 50µs per token
+    private static ChatModel prefillCostingModel(ChatModel model) {
+        return prompt -> {
+            LatencyDistribution.sleep(Duration.ofNanos(50_000L * TokenEstimator.estimate(prompt.getContents())));
+            return model.call(prompt);
+        };
+    }
+
+    private static List<Message> exchange(int turn) {
+        return List.of(new AssistantMessage("Question " + turn + ": how would you cache customer sessions?"),
+                new UserMessage(ANSWER));
+    }
+
+    private void awaitCompaction() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.findCached(CONVERSATION).get(0).getMessageType() != MessageType.SYSTEM) {
+            assertTrue(System.nanoTime() < deadline, "conversation was not compacted");
+            Thread.sleep(10);
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("summary-test-");
+        executor.initialize();
+        return executor;
+    }
+}
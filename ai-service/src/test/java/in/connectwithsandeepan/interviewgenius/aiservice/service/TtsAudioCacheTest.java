@@ -0,0 +1,61 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TtsAudioCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TtsAudioCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TtsAudioCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "directory", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(cache, "maxBytes", 10L);
+        cache.loadIndex();
+    }
+
+    @Test
+    void fileDeletedAfterTheIndexLookupIsAMiss() throws Exception {
+        cache.put("a", new byte[]{1, 2, 3});
+        Files.delete(tempDir.resolve("cache/a.mp3"));
+
+        assertNull(cache.get("a"));
+        assertFalse(cache.linkTo("a", tempDir.resolve("a-link.mp3")));
+        assertEquals(2, meterRegistry.get("ai.tts.cache.misses").counter().count());
+        assertEquals(0, meterRegistry.get("ai.tts.cache.size").gauge().value());
+    }
+
+    @Test
+    void linkedAudioSurvivesEviction() throws Exception {
+        cache.put("a", new byte[]{1, 2, 3, 4, 5, 6});
+        Path linked = tempDir.resolve("a-link.mp3");
+        assertTrue(cache.linkTo("a", linked));
+
+        // Over the ten-byte limit, so "a" is evicted
+        cache.put("b", new byte[]{7, 8, 9, 10, 11, 12});
+
+        assertFalse(Files.exists(tempDir.resolve("cache/a.mp3")));
+        assertNull(cache.get("a"));
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6}, Files.readAllBytes(linked));
+        assertArrayEquals(new byte[]{7, 8, 9, 10, 11, 12}, cache.get("b"));
+    }
+}
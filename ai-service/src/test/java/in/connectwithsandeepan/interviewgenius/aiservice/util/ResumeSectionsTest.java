@@ -0,0 +1,89 @@
+package in.connectwithsandeepan.interviewgenius.aiservice.util;
+
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections.DateRange;
+import in.connectwithsandeepan.interviewgenius.aiservice.util.ResumeSections.Section;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeSectionsTest {
+
+    private static final String RESUME = """
+            Jane Doe
+            Senior Software Engineer | Bengaluru
+            jane.doe@example.com | +91 98765 43210 | linkedin.com/in/janedoe
+
+            PROFESSIONAL SUMMARY
+            Backend engineer with eight years of experience building payment systems.
+
+            Work Experience:
+            Senior Software Engineer, Acme Payments, Bengaluru
+            Jan 2021 - Present
+            - Led the migration of the ledger to event sourcing
+            Software Engineer, Globex
+            03/2017 – 12/2020
+            - Built the settlement reconciliation service
+
+            Projects
+            Open-source rate limiter, 2019 - 2020
+
+            EDUCATION
+            B.Tech, Computer Science, IIT Madras
+            2013 - 2017
+
+            Skills & Tools
+            Java, Spring Boot, Kafka, PostgreSQL, Kubernetes
+            """;
+
+    @Test
+    void splitsAtRecognisedHeadings() {
+        ResumeSections sections = ResumeSections.split(RESUME);
+
+        assertTrue(sections.text(Section.CONTACT).startsWith("Jane Doe"));
+        assertTrue(sections.text(Section.EXPERIENCE).startsWith("Senior Software Engineer, Acme Payments"));
+        assertTrue(sections.text(Section.EXPERIENCE).endsWith("reconciliation service"));
+        assertEquals("B.Tech, Computer Science, IIT Madras\n2013 - 2017", sections.text(Section.EDUCATION));
+        assertEquals("Java, Spring Boot, Kafka, PostgreSQL, Kubernetes", sections.text(Section.SKILLS));
+        assertTrue(sections.text(Section.OTHER).contains("rate limiter"));
+    }
+
+    @Test
+    void longLinesAreNotHeadings() {
+        ResumeSections sections = ResumeSections.split("Experience with Kafka and Spring Boot in production systems\n");
+
+        assertFalse(sections.has(Section.EXPERIENCE));
+        assertTrue(sections.has(Section.CONTACT));
+    }
+
+    @Test
+    void readsContactDetails() {
+        ResumeSections sections = ResumeSections.split(RESUME);
+
+        assertEquals(Optional.of("jane.doe@example.com"), sections.email());
+        assertEquals(Optional.of("+91 98765 43210"), sections.phone());
+    }
+
+    @Test
+    void dateRangesAreNormalizedInOrder() {
+        List<DateRange> ranges = ResumeSections.dateRanges(ResumeSections.split(RESUME).text(Section.EXPERIENCE));
+
+        assertEquals(List.of(
+                new DateRange("2021-01", null, true),
+                new DateRange("2017-03", "2020-12", false)), ranges);
+    }
+
+    @Test
+    void normalizesSingleDates() {
+        assertEquals("2022-09", ResumeSections.normalizeDate("Sept. 2022"));
+        assertEquals("2019-06", ResumeSections.normalizeDate("2019/6"));
+        assertEquals("2015", ResumeSections.normalizeDate("2015"));
+        assertNull(ResumeSections.normalizeDate("13/2020"));
+        assertNull(ResumeSections.normalizeDate("next year"));
+    }
+}
@@ -0,0 +1,66 @@
+package in.connectwithsandeepan.interviewgenius.gatewayservice.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stamps requests on routes with a {@code response-timeout} metadata entry with the time the gateway stops
+ * waiting for them, as epoch milliseconds in the X-Request-Deadline header, so downstream services give up
+ * when the gateway does. Routes without one have no gateway timeout and get no deadline.
+ * A deadline sent by the client is always removed; client clocks cannot be trusted.
+ */
+@Component
+@Slf4j
+public class RequestDeadlineFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Long timeoutMillis = timeoutMillis(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+        ServerWebExchange withDeadline = exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    if (timeoutMillis == null) {
+                        headers.remove(HEADER);
+                    } else {
+                        headers.set(HEADER, Long.toString(System.currentTimeMillis() + timeoutMillis));
+                    }
+                }))
+                .build();
+        return chain.filter(withDeadline);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * @return null when the route has no response timeout
+     */
+    private Long timeoutMillis(Route route) {
+        if (route == null) {
+            return null;
+        }
+        Object routeTimeout = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (routeTimeout == null) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(routeTimeout.toString());
+            // A negative route timeout turns the gateway's timeout off
+            return millis >= 0 ? millis : null;
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid response-timeout on route {}: {}", route.getId(), routeTimeout);
+            return null;
+        }
+    }
+}
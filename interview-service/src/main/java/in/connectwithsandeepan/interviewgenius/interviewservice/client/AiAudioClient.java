@@ -0,0 +1,79 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.client;
+
+import in.connectwithsandeepan.interviewgenius.interviewservice.util.RequestDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Streaming calls to ai-service that Feign cannot make: Feign always materializes the request
+ * body as a byte array, so audio is sent through a RestClient on the JDK HTTP client instead,
+ * copied straight from disk to the connection.
+ */
+@Slf4j
+@Component
+public class AiAudioClient {
+
+    private static final String SERVICE_ID = "ai-service";
+    private static final String TRANSCRIBE_PATH = "/api/v1/ai/transcribe";
+
+    private final LoadBalancerClient loadBalancerClient;
+    private final RestClient restClient;
+
+    public AiAudioClient(LoadBalancerClient loadBalancerClient,
+                         @Value("${ai-service.transcription.read-timeout:PT2M}") Duration readTimeout) {
+        this.loadBalancerClient = loadBalancerClient;
+
+        // Resolving the instance here instead of through a @LoadBalanced interceptor keeps the
+        // body unbuffered; intercepting request factories buffer the whole body first
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newHttpClient());
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Stream an audio file to ai-service and return its transcription, within the current request's deadline
+     */
+    public String transcribeAudio(Path audioFile) {
+        ServiceInstance instance = loadBalancerClient.choose(SERVICE_ID);
+        if (instance == null) {
+            throw new IllegalStateException("No " + SERVICE_ID + " instance available");
+        }
+
+        try {
+            String contentType = Files.probeContentType(audioFile);
+            Instant deadline = RequestDeadline.current();
+            return restClient.post()
+                    .uri(instance.getUri() + TRANSCRIBE_PATH + "?filename={filename}", audioFile.getFileName().toString())
+                    .headers(headers -> {
+                        if (deadline != null) {
+                            headers.set(RequestDeadline.HEADER, Long.toString(deadline.toEpochMilli()));
+                        }
+                    })
+                    .contentType(contentType != null && contentType.startsWith("audio/")
+                            ? MediaType.parseMediaType(contentType)
+                            : MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(Files.size(audioFile))
+                    .body(outputStream -> Files.copy(audioFile, outputStream))
+                    .retrieve()
+                    .body(String.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audio file " + audioFile, e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package in.connectwithsandeepan.interviewgenius.interviewservice.client;
 
+import in.connectwithsandeepan.interviewgenius.interviewservice.dto.FeedbackDto;
+import in.connectwithsandeepan.interviewgenius.interviewservice.dto.FeedbackRequestDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.InterviewResponseDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.InterviewStartResponseDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.TextToSpeechRequest;
@@ -22,7 +24,11 @@ public interface AiClient {
     @PostMapping("/interview/answer")
     InterviewResponseDto submitAnswer(
             @RequestParam("conversationId") String conversationId,
-            @RequestParam("answer") String answer);
+            @RequestParam("answer") String answer,
+            @RequestParam("deferFeedback") boolean deferFeedback);
+
+    @PostMapping("/interview/feedback")
+    FeedbackDto scoreAnswer(@RequestBody FeedbackRequestDto request);
 
     @PostMapping("/text-to-speech")
     TextToSpeechResponse textToSpeech(
@@ -0,0 +1,31 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for work done after the response has been sent
+ */
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor feedbackExecutor(@Value("${interview.feedback.pool-size:4}") int poolSize,
+                                                   @Value("${interview.feedback.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("feedback-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // When the queue is full the submitting request scores the answer itself rather than dropping it
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.config;
+
+import feign.RequestInterceptor;
+import in.connectwithsandeepan.interviewgenius.interviewservice.util.RequestDeadline;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Reads the gateway's request deadline into {@link RequestDeadline} and forwards it on calls to ai-service
+ */
+@Configuration
+public class RequestDeadlineConfig {
+
+    @Bean
+    public Filter requestDeadlineFilter() {
+        return (request, response, chain) -> {
+            RequestDeadline.set(RequestDeadline.parse(((HttpServletRequest) request).getHeader(RequestDeadline.HEADER)));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                RequestDeadline.clear();
+            }
+        };
+    }
+
+    @Bean
+    public RequestInterceptor requestDeadlineInterceptor() {
+        return template -> {
+            Instant deadline = RequestDeadline.current();
+            if (deadline != null) {
+                template.header(RequestDeadline.HEADER, Long.toString(deadline.toEpochMilli()));
+            }
+        };
+    }
+}
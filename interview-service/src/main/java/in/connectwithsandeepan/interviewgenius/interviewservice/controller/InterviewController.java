@@ -57,6 +57,14 @@ public class InterviewController implements InterviewControllerApi {
         return ResponseEntity.ok(sessionDetails);
     }
 
+    @Override
+    @GetMapping("/{sessionId}/answers/{questionIndex}/feedback")
+    public ResponseEntity<FeedbackDto> getFeedback(
+            @PathVariable String sessionId,
+            @PathVariable int questionIndex) {
+        return ResponseEntity.ok(interviewService.getFeedback(sessionId, questionIndex));
+    }
+
     @Override
     @PostMapping("/{sessionId}/answer")
     public ResponseEntity<AnswerSubmissionResponseDto> submitAnswer(
@@ -1,6 +1,7 @@
 package in.connectwithsandeepan.interviewgenius.interviewservice.controller;
 
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.AnswerSubmissionResponseDto;
+import in.connectwithsandeepan.interviewgenius.interviewservice.dto.FeedbackDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.QuestionDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.SessionDetailsDto;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.SessionListDto;
@@ -154,9 +155,44 @@ public interface InterviewControllerApi {
             @PathVariable @NotBlank(message = "Session ID cannot be empty") String sessionId
     );
 
+    @Operation(
+            summary = "Get feedback for an answer",
+            description = "Returns the feedback and score for an answered question. With deferred feedback the answer "
+                    + "is scored after the next question has been returned; poll until status is READY or FAILED"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Feedback retrieved; status PENDING means it is still being scored",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = FeedbackDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Session not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No question with this index in the session",
+                    content = @Content
+            )
+    })
+    ResponseEntity<FeedbackDto> getFeedback(
+            @Parameter(description = "Unique identifier of the interview session", required = true, example = "session123")
+            @PathVariable @NotBlank(message = "Session ID cannot be empty") String sessionId,
+
+            @Parameter(description = "Index of the answered question", required = true, example = "1")
+            @PathVariable int questionIndex
+    );
+
     @Operation(
             summary = "Submit answer to a question",
-            description = "Uploads and submits an answer file (audio/video) for the current question in the interview session"
+            description = "Uploads and submits an answer file (audio/video) for the current question in the interview session. "
+                    + "With deferred feedback (interview.feedback.deferred) the returned feedback has status PENDING "
+                    + "and is fetched from the feedback endpoint"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -1,5 +1,6 @@
 package in.connectwithsandeepan.interviewgenius.interviewservice.dto;
 
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.QuestionAnswer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,4 +13,6 @@ import lombok.NoArgsConstructor;
 public class FeedbackDto {
     private String feedback;
     private Integer score;
+    // Set by interview-service; PENDING while deferred feedback is still being scored
+    private QuestionAnswer.FeedbackStatus status;
 }
@@ -0,0 +1,15 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackRequestDto {
+    private String question;
+    private String answer;
+}
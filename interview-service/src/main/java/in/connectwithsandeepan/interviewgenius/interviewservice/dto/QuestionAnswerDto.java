@@ -1,5 +1,6 @@
 package in.connectwithsandeepan.interviewgenius.interviewservice.dto;
 
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.QuestionAnswer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,4 +19,5 @@ public class QuestionAnswerDto {
     private LocalDateTime answerTimestamp;
     private String feedback;
     private Integer score;
+    private QuestionAnswer.FeedbackStatus feedbackStatus;
 }
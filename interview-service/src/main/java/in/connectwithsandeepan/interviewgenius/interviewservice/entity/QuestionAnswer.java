@@ -18,4 +18,15 @@ public class QuestionAnswer {
     private LocalDateTime answerTimestamp;
     private String feedback;
     private Integer score;
+    private FeedbackStatus feedbackStatus;
+    // When deferred scoring was last queued, and how many times it has been
+    private LocalDateTime feedbackRequestedAt;
+    private Integer feedbackAttempts;
+
+    /**
+     * Progress of feedback scored after the answer was accepted (deferred feedback)
+     */
+    public enum FeedbackStatus {
+        PENDING, READY, FAILED
+    }
 }
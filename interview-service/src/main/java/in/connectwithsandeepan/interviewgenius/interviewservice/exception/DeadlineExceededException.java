@@ -0,0 +1,11 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String stage) {
+        super(String.format("Request deadline exceeded before %s", stage));
+    }
+
+    public DeadlineExceededException(String stage, Throwable cause) {
+        super(String.format("Request deadline exceeded during %s", stage), cause);
+    }
+}
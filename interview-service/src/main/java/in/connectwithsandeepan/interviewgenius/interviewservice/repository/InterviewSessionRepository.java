@@ -8,7 +8,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface InterviewSessionRepository extends MongoRepository<InterviewSession, String> {
+public interface InterviewSessionRepository extends MongoRepository<InterviewSession, String>, InterviewSessionRepositoryCustom {
     InterviewSession findByUserIdAndStatus(String userId, InterviewSession.Status status);
 
     // Find all sessions by userId with pagination
@@ -0,0 +1,46 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.repository;
+
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.InterviewSession;
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.QuestionAnswer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Field-level updates of a session. Unlike save(), they do not rewrite the whole document,
+ * so feedback written back in the background is not overwritten by a concurrent turn.
+ */
+public interface InterviewSessionRepositoryCustom {
+
+    /**
+     * Store the answer (and any feedback) on the question with the same index
+     */
+    void recordAnswer(String sessionId, QuestionAnswer answered);
+
+    void addQuestion(String sessionId, QuestionAnswer question);
+
+    /**
+     * @return false if the session or question no longer exists
+     */
+    boolean updateFeedback(String sessionId, int questionIndex, String feedback, Integer score,
+                           QuestionAnswer.FeedbackStatus status);
+
+    /**
+     * Sessions with at least one answer whose deferred feedback has been PENDING since before the cutoff
+     */
+    List<InterviewSession> findWithPendingFeedbackBefore(LocalDateTime cutoff);
+
+    /**
+     * Queue the pending feedback again, if it is still pending since before the cutoff
+     * @return false if it was scored or claimed by another instance in the meantime
+     */
+    boolean requeuePendingFeedback(String sessionId, int questionIndex, LocalDateTime cutoff, LocalDateTime now);
+
+    /**
+     * Give up on the pending feedback, if it is still pending since before the cutoff
+     * @return false if it was scored or claimed by another instance in the meantime
+     */
+    boolean failPendingFeedback(String sessionId, int questionIndex, LocalDateTime cutoff);
+
+    void complete(String sessionId, LocalDateTime endTime);
+}
@@ -0,0 +1,96 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.repository;
+
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.InterviewSession;
+import in.connectwithsandeepan.interviewgenius.interviewservice.entity.QuestionAnswer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InterviewSessionRepositoryCustomImpl implements InterviewSessionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void recordAnswer(String sessionId, QuestionAnswer answered) {
+        Update update = new Update()
+                .set("questionAnswers.$.answer", answered.getAnswer())
+                .set("questionAnswers.$.audioFileUrl", answered.getAudioFileUrl())
+                .set("questionAnswers.$.answerTimestamp", answered.getAnswerTimestamp())
+                .set("questionAnswers.$.feedback", answered.getFeedback())
+                .set("questionAnswers.$.score", answered.getScore())
+                .set("questionAnswers.$.feedbackStatus", answered.getFeedbackStatus())
+                .set("questionAnswers.$.feedbackRequestedAt", answered.getFeedbackRequestedAt())
+                .set("questionAnswers.$.feedbackAttempts", answered.getFeedbackAttempts());
+        mongoTemplate.updateFirst(questionQuery(sessionId, answered.getQuestionIndex()), update, InterviewSession.class);
+    }
+
+    @Override
+    public void addQuestion(String sessionId, QuestionAnswer question) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(sessionId)),
+                new Update().push("questionAnswers", question), InterviewSession.class);
+    }
+
+    @Override
+    public boolean updateFeedback(String sessionId, int questionIndex, String feedback, Integer score,
+                                  QuestionAnswer.FeedbackStatus status) {
+        Update update = new Update()
+                .set("questionAnswers.$.feedback", feedback)
+                .set("questionAnswers.$.score", score)
+                .set("questionAnswers.$.feedbackStatus", status);
+        return mongoTemplate.updateFirst(questionQuery(sessionId, questionIndex), update, InterviewSession.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public List<InterviewSession> findWithPendingFeedbackBefore(LocalDateTime cutoff) {
+        return mongoTemplate.find(Query.query(Criteria.where("questionAnswers").elemMatch(pendingBefore(cutoff))),
+                InterviewSession.class);
+    }
+
+    @Override
+    public boolean requeuePendingFeedback(String sessionId, int questionIndex, LocalDateTime cutoff, LocalDateTime now) {
+        Update update = new Update()
+                .set("questionAnswers.$.feedbackRequestedAt", now)
+                .inc("questionAnswers.$.feedbackAttempts", 1);
+        return mongoTemplate.updateFirst(pendingQuery(sessionId, questionIndex, cutoff), update, InterviewSession.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean failPendingFeedback(String sessionId, int questionIndex, LocalDateTime cutoff) {
+        Update update = new Update().set("questionAnswers.$.feedbackStatus", QuestionAnswer.FeedbackStatus.FAILED);
+        return mongoTemplate.updateFirst(pendingQuery(sessionId, questionIndex, cutoff), update, InterviewSession.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public void complete(String sessionId, LocalDateTime endTime) {
+        Update update = new Update()
+                .set("endTime", endTime)
+                .set("status", InterviewSession.Status.COMPLETED);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(sessionId)), update, InterviewSession.class);
+    }
+
+    // Matches the one question, and only while it is pending since before the cutoff, so the claim is atomic
+    private Query pendingQuery(String sessionId, int questionIndex, LocalDateTime cutoff) {
+        return Query.query(Criteria.where("id").is(sessionId)
+                .and("questionAnswers").elemMatch(pendingBefore(cutoff).and("questionIndex").is(questionIndex)));
+    }
+
+    private Criteria pendingBefore(LocalDateTime cutoff) {
+        // Answers deferred before the request time was stored have none, and are always stale
+        return Criteria.where("feedbackStatus").is(QuestionAnswer.FeedbackStatus.PENDING)
+                .orOperator(Criteria.where("feedbackRequestedAt").lt(cutoff),
+                        Criteria.where("feedbackRequestedAt").is(null));
+    }
+
+    private Query questionQuery(String sessionId, int questionIndex) {
+        return Query.query(Criteria.where("id").is(sessionId).and("questionAnswers.questionIndex").is(questionIndex));
+    }
+}
@@ -1,18 +1,25 @@
 package in.connectwithsandeepan.interviewgenius.interviewservice.service;
 
+import feign.FeignException;
+import in.connectwithsandeepan.interviewgenius.interviewservice.client.AiAudioClient;
 import in.connectwithsandeepan.interviewgenius.interviewservice.client.AiClient;
 import in.connectwithsandeepan.interviewgenius.interviewservice.dto.*;
 import in.connectwithsandeepan.interviewgenius.interviewservice.entity.InterviewSession;
 import in.connectwithsandeepan.interviewgenius.interviewservice.entity.QuestionAnswer;
 import in.connectwithsandeepan.interviewgenius.interviewservice.exception.*;
 import in.connectwithsandeepan.interviewgenius.interviewservice.repository.InterviewSessionRepository;
+import in.connectwithsandeepan.interviewgenius.interviewservice.util.RequestDeadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,6 +38,20 @@ import java.util.stream.Collectors;
 public class InterviewService {
     private final InterviewSessionRepository repository;
     private final AiClient aiClient;
+    private final AiAudioClient aiAudioClient;
+    private final ThreadPoolTaskExecutor feedbackExecutor;
+
+    // Return the next question without waiting for feedback, which is scored in the background.
+    // Changes the submitAnswer response: its feedback is PENDING and has to be polled for
+    @Value("${interview.feedback.deferred:false}")
+    private boolean deferFeedback;
+
+    // Deferred feedback still pending after this long is assumed lost (e.g. on restart) and queued again
+    @Value("${interview.feedback.pending-timeout:PT5M}")
+    private Duration pendingTimeout;
+
+    @Value("${interview.feedback.max-attempts:3}")
+    private int maxFeedbackAttempts;
 
     public InterviewSession startSession(String userId, String experienceLevel, String language) {
         InterviewSession existingSession = repository.findByUserIdAndStatus(userId, InterviewSession.Status.ACTIVE);
@@ -88,8 +109,7 @@ public class InterviewService {
         qa.setQuestionIndex(1);
         qa.setQuestion(questionText);
         qa.setQuestionTimestamp(LocalDateTime.now());
-        session.getQuestionAnswers().add(qa);
-        repository.save(session);
+        repository.addQuestion(sessionId, qa);
 
         return QuestionDto.builder()
                 .question(questionText)
@@ -105,8 +125,15 @@ public class InterviewService {
             throw new InvalidSessionStateException(sessionId, session.getStatus(), "ACTIVE");
         }
 
-        // Transcribe audio using Whisper AI
-        String transcription = aiClient.transcribeAudio(audioFilePath);
+        // Transcribe audio using Whisper AI; the file is streamed, so ai-service needs no access to this disk.
+        // Each AI step is skipped once the gateway's deadline has passed, and ai-service stops at the same deadline.
+        RequestDeadline.check("transcription");
+        String transcription;
+        try {
+            transcription = aiAudioClient.transcribeAudio(Paths.get(audioFilePath));
+        } catch (HttpServerErrorException.GatewayTimeout e) {
+            throw new DeadlineExceededException("transcription", e);
+        }
 
         // Validate: Ensure there's a question to answer
         List<QuestionAnswer> qaList = session.getQuestionAnswers();
@@ -125,12 +152,17 @@ public class InterviewService {
         lastQa.setAudioFileUrl(audioFilePath);
         lastQa.setAnswerTimestamp(LocalDateTime.now());
 
-        // Get feedback and next question from interview chat client
-        InterviewResponseDto interviewResponse = aiClient.submitAnswer(sessionId, transcription);
+        // Get the next question (and, unless deferred, the feedback) from the interview chat client
+        RequestDeadline.check("next question");
+        InterviewResponseDto interviewResponse;
+        try {
+            interviewResponse = aiClient.submitAnswer(sessionId, transcription, deferFeedback);
+        } catch (FeignException.GatewayTimeout e) {
+            throw new DeadlineExceededException("next question", e);
+        }
 
-        TextToSpeechRequest request = new TextToSpeechRequest();
-        request.setText(interviewResponse.getQuestion());
-        TextToSpeechResponse textToSpeechResponse = aiClient.textToSpeech(userId, request);
+        // The turn is now in the interview's chat memory, so it is recorded even if the deadline passes
+        TextToSpeechResponse textToSpeechResponse = speakQuestion(sessionId, userId, interviewResponse.getQuestion());
 
         String audioBase64 = "";
         if (textToSpeechResponse != null && textToSpeechResponse.getFilePath() != null) {
@@ -146,11 +178,20 @@ public class InterviewService {
             }
         }
 
-        // Save feedback and score for the answered question
-        if (interviewResponse.getFeedback() != null) {
-            lastQa.setFeedback(interviewResponse.getFeedback().getFeedback());
-            lastQa.setScore(interviewResponse.getFeedback().getScore());
+        // Save feedback and score for the answered question, or mark them as still to come
+        FeedbackDto feedback = interviewResponse.getFeedback();
+        if (deferFeedback) {
+            lastQa.setFeedbackStatus(QuestionAnswer.FeedbackStatus.PENDING);
+            lastQa.setFeedbackRequestedAt(LocalDateTime.now());
+            lastQa.setFeedbackAttempts(1);
+            feedback = FeedbackDto.builder().status(QuestionAnswer.FeedbackStatus.PENDING).build();
+        } else if (feedback != null) {
+            lastQa.setFeedback(feedback.getFeedback());
+            lastQa.setScore(feedback.getScore());
+            lastQa.setFeedbackStatus(QuestionAnswer.FeedbackStatus.READY);
+            feedback.setStatus(QuestionAnswer.FeedbackStatus.READY);
         }
+        repository.recordAnswer(sessionId, lastQa);
 
         // Create QuestionAnswer entry for the next question from AI
         String nextQuestionText = interviewResponse.getQuestion();
@@ -160,10 +201,12 @@ public class InterviewService {
             nextQa.setQuestionIndex(nextIndex);
             nextQa.setQuestion(nextQuestionText);
             nextQa.setQuestionTimestamp(LocalDateTime.now());
-            session.getQuestionAnswers().add(nextQa);
+            repository.addQuestion(sessionId, nextQa);
         }
 
-        repository.save(session);
+        if (deferFeedback) {
+            scoreInBackground(sessionId, lastQa.getQuestionIndex(), lastQa.getQuestion(), transcription);
+        }
 
         // Count total answered questions
         long totalAnswered = qaList.stream()
@@ -177,12 +220,30 @@ public class InterviewService {
                 .question(lastQa.getQuestion())
                 .totalQuestionsAnswered((int) totalAnswered)
                 .sessionStatus(session.getStatus().name())
-                .feedback(interviewResponse.getFeedback())
+                .feedback(feedback)
                 .nextQuestion(nextQuestionText)
                 .audioBase64(audioBase64)
                 .build();
     }
 
+    /**
+     * Speech for the next question, or null when the request's deadline leaves no time for it
+     */
+    private TextToSpeechResponse speakQuestion(String sessionId, String userId, String question) {
+        if (RequestDeadline.expired()) {
+            log.warn("Skipping speech for session {}: request deadline passed", sessionId);
+            return null;
+        }
+        TextToSpeechRequest request = new TextToSpeechRequest();
+        request.setText(question);
+        try {
+            return aiClient.textToSpeech(userId, request);
+        } catch (FeignException.GatewayTimeout e) {
+            log.warn("Skipping speech for session {}: request deadline passed during synthesis", sessionId);
+            return null;
+        }
+    }
+
     public SessionDetailsDto getSessionDetails(String sessionId) {
         InterviewSession session = repository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException(sessionId, "Cannot retrieve session details"));
@@ -196,7 +257,8 @@ public class InterviewService {
                         qa.getQuestionTimestamp(),
                         qa.getAnswerTimestamp(),
                         qa.getFeedback(),
-                        qa.getScore()
+                        qa.getScore(),
+                        qa.getFeedbackStatus()
                 ))
                 .collect(Collectors.toList());
 
@@ -210,6 +272,81 @@ public class InterviewService {
         );
     }
 
+    /**
+     * Feedback for one answered question; status is PENDING until deferred scoring has finished
+     */
+    public FeedbackDto getFeedback(String sessionId, int questionIndex) {
+        InterviewSession session = repository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException(sessionId, "Cannot get feedback"));
+
+        QuestionAnswer qa = session.getQuestionAnswers().stream()
+                .filter(candidate -> candidate.getQuestionIndex() == questionIndex)
+                .findFirst()
+                .orElseThrow(() -> new InvalidSessionStateException("No question " + questionIndex + " in session " + sessionId));
+
+        QuestionAnswer.FeedbackStatus status = qa.getFeedbackStatus();
+        if (status == null && qa.getFeedback() != null) {
+            // Scored inline before feedback status was tracked
+            status = QuestionAnswer.FeedbackStatus.READY;
+        }
+        return FeedbackDto.builder()
+                .feedback(qa.getFeedback())
+                .score(qa.getScore())
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Score the answer off the request thread and write the result onto the matching question
+     */
+    private void scoreInBackground(String sessionId, int questionIndex, String question, String answer) {
+        feedbackExecutor.execute(() -> {
+            try {
+                FeedbackDto feedback = aiClient.scoreAnswer(FeedbackRequestDto.builder()
+                        .question(question)
+                        .answer(answer)
+                        .build());
+                repository.updateFeedback(sessionId, questionIndex,
+                        feedback == null ? null : feedback.getFeedback(),
+                        feedback == null ? null : feedback.getScore(),
+                        QuestionAnswer.FeedbackStatus.READY);
+                log.info("Stored deferred feedback for session {} question {}", sessionId, questionIndex);
+            } catch (Exception e) {
+                log.warn("Deferred feedback failed for session {} question {}: {}", sessionId, questionIndex, e.getMessage());
+                repository.updateFeedback(sessionId, questionIndex, null, null, QuestionAnswer.FeedbackStatus.FAILED);
+            }
+        });
+    }
+
+    /**
+     * Queue deferred feedback that has been pending for longer than the timeout again, since the in-memory
+     * task that would have scored it may have been lost; after the last attempt mark it FAILED instead
+     */
+    @Scheduled(fixedDelayString = "${interview.feedback.sweep-interval-ms:60000}")
+    public void sweepPendingFeedback() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(pendingTimeout);
+        for (InterviewSession session : repository.findWithPendingFeedbackBefore(cutoff)) {
+            for (QuestionAnswer qa : session.getQuestionAnswers()) {
+                if (qa.getFeedbackStatus() != QuestionAnswer.FeedbackStatus.PENDING
+                        || (qa.getFeedbackRequestedAt() != null && !qa.getFeedbackRequestedAt().isBefore(cutoff))) {
+                    continue;
+                }
+                int attempts = qa.getFeedbackAttempts() == null ? 1 : qa.getFeedbackAttempts();
+                if (attempts >= maxFeedbackAttempts) {
+                    if (repository.failPendingFeedback(session.getId(), qa.getQuestionIndex(), cutoff)) {
+                        log.warn("Deferred feedback for session {} question {} still pending after {} attempts; marked FAILED",
+                                session.getId(), qa.getQuestionIndex(), attempts);
+                    }
+                } else if (repository.requeuePendingFeedback(session.getId(), qa.getQuestionIndex(), cutoff, now)) {
+                    log.info("Requeueing stale deferred feedback for session {} question {} (attempt {})",
+                            session.getId(), qa.getQuestionIndex(), attempts + 1);
+                    scoreInBackground(session.getId(), qa.getQuestionIndex(), qa.getQuestion(), qa.getAnswer());
+                }
+            }
+        }
+    }
+
     public InterviewSession endSession(String sessionId, boolean force) {
         InterviewSession session = repository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException(sessionId, "Cannot end session"));
@@ -221,7 +358,8 @@ public class InterviewService {
         if (force) {
             session.setEndTime(LocalDateTime.now());
             session.setStatus(InterviewSession.Status.COMPLETED);
-            return repository.save(session);
+            repository.complete(sessionId, session.getEndTime());
+            return session;
         } else {
             LocalDateTime currentTime = LocalDateTime.now();
             LocalDateTime expectedEndTime = session.getStartTime().plusMinutes(30).plusSeconds(30);
@@ -229,7 +367,8 @@ public class InterviewService {
             if (currentTime.isAfter(expectedEndTime) || currentTime.isEqual(expectedEndTime)) {
                 session.setEndTime(currentTime);
                 session.setStatus(InterviewSession.Status.COMPLETED);
-                return repository.save(session);
+                repository.complete(sessionId, currentTime);
+                return session;
             } else {
                 long remainingMinutes = Duration.between(currentTime, expectedEndTime).toMinutes();
                 throw new SessionTimeNotCompletedException(remainingMinutes);
@@ -0,0 +1,63 @@
+package in.connectwithsandeepan.interviewgenius.interviewservice.util;
+
+import in.connectwithsandeepan.interviewgenius.interviewservice.exception.DeadlineExceededException;
+
+import java.time.Instant;
+
+/**
+ * Deadline of the request handled on the current thread, from the {@value #HEADER} header (epoch
+ * milliseconds) set at the gateway. Calls to ai-service forward it, so work is abandoned there too.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * @return null when the header is missing or malformed
+     */
+    public static Instant parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static void set(Instant deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return null when the current request has no deadline
+     */
+    public static Instant current() {
+        return CURRENT.get();
+    }
+
+    public static boolean expired() {
+        Instant deadline = CURRENT.get();
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * @param stage The step about to start, for the error
+     * @throws DeadlineExceededException if the current request's deadline has passed
+     */
+    public static void check(String stage) {
+        if (expired()) {
+            throw new DeadlineExceededException(stage);
+        }
+    }
+}
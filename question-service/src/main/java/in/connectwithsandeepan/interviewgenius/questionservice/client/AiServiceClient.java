@@ -3,10 +3,19 @@ package in.connectwithsandeepan.interviewgenius.questionservice.client;
 import in.connectwithsandeepan.interviewgenius.questionservice.entity.Question;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "ai-service", path = "api/v1/ai")
 public interface AiServiceClient {
 
     @GetMapping("/question")
     Question getQuestion();
+
+    @GetMapping("/questions/batch")
+    List<Question> getQuestions(@RequestParam("type") String type,
+                                @RequestParam("language") String language,
+                                @RequestParam("difficulty") String difficulty,
+                                @RequestParam("count") int count);
 }
\ No newline at end of file
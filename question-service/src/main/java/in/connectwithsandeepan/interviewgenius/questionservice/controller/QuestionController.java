@@ -25,6 +25,15 @@ public class QuestionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(question);
     }
 
+    @PostMapping("/generate/bulk")
+    public ResponseEntity<List<Question>> generateAndSaveQuestions(
+            @RequestParam(defaultValue = "Java") String language,
+            @RequestParam(defaultValue = "Intermediate") String difficulty,
+            @RequestParam(defaultValue = "10") int count) {
+        List<Question> questions = questionService.generateAndSaveQuestionsFromAi(language, difficulty, count);
+        return ResponseEntity.status(HttpStatus.CREATED).body(questions);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Question> getQuestionById(@PathVariable String id) {
         Question question = questionService.getQuestionById(id);
@@ -8,6 +8,7 @@ import java.util.List;
 
 public interface QuestionService {
     Question generateAndSaveQuestionFromAi();
+    List<Question> generateAndSaveQuestionsFromAi(String language, String difficulty, int count);
     List<Question> getAllQuestions();
     Page<Question> getAllQuestions(Pageable pageable);
     List<Question> getQuestionsByLanguage(String language);
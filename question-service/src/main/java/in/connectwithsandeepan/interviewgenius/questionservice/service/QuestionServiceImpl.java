@@ -23,6 +23,13 @@ public class QuestionServiceImpl implements QuestionService {
         return questionRepository.save(question);
     }
 
+    @Override
+    public List<Question> generateAndSaveQuestionsFromAi(String language, String difficulty, int count) {
+        List<Question> questions = aiServiceClient.getQuestions("MCQ", language, difficulty, count);
+        // Single insertMany instead of one save per question
+        return questionRepository.insert(questions);
+    }
+
     @Override
     public List<Question> getAllQuestions() {
         return questionRepository.findAll();
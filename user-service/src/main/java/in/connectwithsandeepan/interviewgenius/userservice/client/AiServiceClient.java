@@ -1,9 +1,13 @@
 package in.connectwithsandeepan.interviewgenius.userservice.client;
 
+import in.connectwithsandeepan.interviewgenius.userservice.dto.AiResumeJobResponse;
 import in.connectwithsandeepan.interviewgenius.userservice.dto.AiResumeResponse;
+import in.connectwithsandeepan.interviewgenius.userservice.dto.ResumeParseJobRequest;
 import in.connectwithsandeepan.interviewgenius.userservice.dto.ResumeParseRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
@@ -20,4 +24,18 @@ public interface AiServiceClient {
      */
     @PostMapping("/parse-resume")
     ResponseEntity<AiResumeResponse> parseResume(@RequestBody ResumeParseRequest request);
+
+    /**
+     * Queue resume text for parsing; returns as soon as the job is stored
+     * @param request Resume text and userId
+     * @return The queued job, whose jobId is polled with {@link #getResumeJob(String)}
+     */
+    @PostMapping("/resume-jobs")
+    ResponseEntity<AiResumeJobResponse> submitResumeJob(@RequestBody ResumeParseJobRequest request);
+
+    /**
+     * Status of a resume parse job, with the parsed resume once it has succeeded
+     */
+    @GetMapping("/resume-jobs/{jobId}")
+    ResponseEntity<AiResumeJobResponse> getResumeJob(@PathVariable("jobId") String jobId);
 }
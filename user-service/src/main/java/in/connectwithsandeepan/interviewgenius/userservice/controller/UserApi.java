@@ -214,4 +214,42 @@ public interface UserApi {
 
     @GetMapping("/{id}/resume")
     ResponseEntity<Resume> getResume(@PathVariable Long id);
+
+    @Operation(summary = "Upload a PDF resume for background parsing", description = "Extract text from a PDF resume and queue it for AI parsing. Returns a job id at once; poll the job, then apply it to save the parsed resume")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Resume queued for parsing",
+                    content = @Content(schema = @Schema(implementation = ResumeJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid file or file format",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+    })
+    @PostMapping(value = "/upload-pdf/async", consumes = "multipart/form-data")
+    ResponseEntity<ResumeJobResponse> uploadPdfAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("userId") Long userId);
+
+    @Operation(summary = "Get resume parse job status", description = "Status of a queued resume upload, and whether its resume has been applied to the user. Does not change the user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status",
+                    content = @Content(schema = @Schema(implementation = ResumeJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found for this user",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+    })
+    @GetMapping("/{id}/resume-jobs/{jobId}")
+    ResponseEntity<ResumeJobResponse> getResumeJob(
+            @PathVariable Long id,
+            @PathVariable String jobId);
+
+    @Operation(summary = "Apply a parsed resume", description = "Save the resume of a succeeded parse job to the user. A job can be applied once, so an old job cannot overwrite later edits")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resume saved",
+                    content = @Content(schema = @Schema(implementation = ResumeJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found for this user",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+            @ApiResponse(responseCode = "409", description = "Job has not succeeded, or has already been applied",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+    })
+    @PostMapping("/{id}/resume-jobs/{jobId}/apply")
+    ResponseEntity<ResumeJobResponse> applyResumeJob(
+            @PathVariable Long id,
+            @PathVariable String jobId);
 }
@@ -1,5 +1,6 @@
 package in.connectwithsandeepan.interviewgenius.userservice.controller;
 
+import feign.FeignException;
 import in.connectwithsandeepan.interviewgenius.userservice.client.AiServiceClient;
 import in.connectwithsandeepan.interviewgenius.userservice.dto.*;
 import in.connectwithsandeepan.interviewgenius.userservice.entity.User;
@@ -180,26 +181,9 @@ public class UserController implements UserApi {
             return ResponseEntity.badRequest().build();
         }
 
-        // Validate file
-        if (file.isEmpty()) {
-            log.error("Uploaded file is empty");
-            return ResponseEntity.badRequest().build();
-        }
-
-        // Validate file type
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.equals("application/pdf")) {
-            log.error("Invalid file type: {}", contentType);
-            return ResponseEntity.badRequest().build();
-        }
-
         try {
-            // Extract text from PDF
-            log.info("Extracting text from PDF: {}", file.getOriginalFilename());
-            String extractedText = pdfParserUtil.parsePdfAndPrint(file);
-
-            if (extractedText == null || extractedText.trim().isEmpty()) {
-                log.error("No text extracted from PDF");
+            String extractedText = extractPdfText(file);
+            if (extractedText == null) {
                 return ResponseEntity.badRequest().build();
             }
 
@@ -241,10 +225,133 @@ public class UserController implements UserApi {
         }
     }
 
+    // Public endpoint - upload a PDF resume and parse it in the background
+    @Override
+    public ResponseEntity<ResumeJobResponse> uploadPdfAsync(MultipartFile file, Long userId) {
+        log.info("Received PDF resume upload for background parsing: {}", file.getOriginalFilename());
+
+        if (userId == null) {
+            log.error("userId is required");
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            String extractedText = extractPdfText(file);
+            if (extractedText == null) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Returns once the job is queued; the resume is saved when the client applies the succeeded job
+            ResponseEntity<AiResumeJobResponse> aiResponse = aiServiceClient.submitResumeJob(ResumeParseJobRequest.builder()
+                    .resumeText(extractedText)
+                    .userId(userId)
+                    .build());
+            if (!aiResponse.getStatusCode().is2xxSuccessful() || aiResponse.getBody() == null) {
+                log.error("AI service did not queue the resume parse job");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+            AiResumeJobResponse job = aiResponse.getBody();
+            log.info("Resume parse job {} queued for userId: {}", job.getJobId(), userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ResumeJobResponse.builder()
+                    .jobId(job.getJobId())
+                    .status(job.getStatus())
+                    .attempts(job.getAttempts())
+                    .build());
+
+        } catch (IOException e) {
+            log.error("Error processing PDF: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (Exception e) {
+            log.error("Error calling AI service: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.userId")
+    public ResponseEntity<ResumeJobResponse> getResumeJob(Long id, String jobId) {
+        AiResumeJobResponse job = findResumeJob(id, jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toResumeJobResponse(job, userService.isResumeJobApplied(jobId)));
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.userId")
+    public ResponseEntity<ResumeJobResponse> applyResumeJob(Long id, String jobId) {
+        AiResumeJobResponse job = findResumeJob(id, jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!"SUCCEEDED".equals(job.getStatus()) || job.getResume() == null) {
+            log.warn("Resume parse job {} cannot be applied in status {}", jobId, job.getStatus());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toResumeJobResponse(job, false));
+        }
+
+        Resume userServiceResume = ResumeConverter.convertToUserServiceResume(job.getResume(), id);
+        ResumeJobResponse response = toResumeJobResponse(job, true);
+        response.setResume(userService.applyResumeJob(id, jobId, userServiceResume));
+        log.info("Resume from parse job {} saved for userId: {}", jobId, id);
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<Resume> getResume(Long id) {
         log.info("Getting resume for user: {}", id);
         Resume resume = userService.getResumeById(id);
         return ResponseEntity.ok(resume);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The job, or null when it does not exist or belongs to another user
+     */
+    private AiResumeJobResponse findResumeJob(Long userId, String jobId) {
+        AiResumeJobResponse job;
+        try {
+            job = aiServiceClient.getResumeJob(jobId).getBody();
+        } catch (FeignException.NotFound e) {
+            return null;
+        }
+        return job != null && userId.equals(job.getUserId()) ? job : null;
+    }
+
+    private ResumeJobResponse toResumeJobResponse(AiResumeJobResponse job, boolean applied) {
+        return ResumeJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .error(job.getError())
+                .applied(applied)
+                .build();
+    }
+
+    /**
+     * Validate an uploaded PDF resume and extract its text
+     * @return The extracted text, or null when the file is not a readable PDF
+     */
+    private String extractPdfText(MultipartFile file) throws IOException {
+        // Validate file
+        if (file.isEmpty()) {
+            log.error("Uploaded file is empty");
+            return null;
+        }
+
+        // Validate file type
+        String contentType = file.getContentType();
+        if (contentType == null || !contentType.equals("application/pdf")) {
+            log.error("Invalid file type: {}", contentType);
+            return null;
+        }
+
+        // Extract text from PDF
+        log.info("Extracting text from PDF: {}", file.getOriginalFilename());
+        String extractedText = pdfParserUtil.parsePdfAndPrint(file);
+
+        if (extractedText == null || extractedText.trim().isEmpty()) {
+            log.error("No text extracted from PDF");
+            return null;
+        }
+        return extractedText;
+    }
+}
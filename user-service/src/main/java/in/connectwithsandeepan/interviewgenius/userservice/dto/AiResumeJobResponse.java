@@ -0,0 +1,27 @@
+package in.connectwithsandeepan.interviewgenius.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO to receive a resume parse job's status from AI Service; resume is set once the job has succeeded
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiResumeJobResponse {
+    private String jobId;
+    private Long userId;
+    private String status; // QUEUED, RUNNING, SUCCEEDED or FAILED
+    private int attempts;
+    private String error;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private AiResumeResponse resume;
+}
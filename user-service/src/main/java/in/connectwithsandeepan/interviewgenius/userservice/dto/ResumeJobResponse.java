@@ -0,0 +1,24 @@
+package in.connectwithsandeepan.interviewgenius.userservice.dto;
+
+import in.connectwithsandeepan.interviewgenius.userservice.model.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of an asynchronous resume upload. Once parsing has succeeded the resume is saved to the user
+ * by applying the job, which sets applied; resume is the saved resume in the apply response.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumeJobResponse {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, SUCCEEDED or FAILED
+    private int attempts;
+    private String error;
+    private boolean applied;
+    private Resume resume;
+}
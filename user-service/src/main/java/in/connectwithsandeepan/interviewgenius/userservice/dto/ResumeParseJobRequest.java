@@ -0,0 +1,18 @@
+package in.connectwithsandeepan.interviewgenius.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for queueing a resume parse job in AI service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeParseJobRequest {
+    private String resumeText;
+    private Long userId;
+}
@@ -0,0 +1,36 @@
+package in.connectwithsandeepan.interviewgenius.userservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a background resume parse job whose result has been saved to the user, so it is applied only once
+ */
+@Entity
+@Table(name = "applied_resume_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppliedResumeJob {
+
+    @Id
+    @Column(length = 36)
+    private String jobId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime appliedAt;
+}
@@ -51,6 +51,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ResumeJobAlreadyAppliedException.class)
+    public ResponseEntity<ErrorResponseDto> handleResumeJobAlreadyAppliedException(
+            ResumeJobAlreadyAppliedException ex, WebRequest request) {
+        log.warn("Resume job already applied: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .error("Resume Job Already Applied")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InvalidPasswordException.class)
     public ResponseEntity<ErrorResponseDto> handleInvalidPasswordException(
             InvalidPasswordException ex, WebRequest request) {
@@ -0,0 +1,7 @@
+package in.connectwithsandeepan.interviewgenius.userservice.exception;
+
+public class ResumeJobAlreadyAppliedException extends RuntimeException {
+    public ResumeJobAlreadyAppliedException(String jobId) {
+        super("Resume from parse job " + jobId + " has already been applied");
+    }
+}
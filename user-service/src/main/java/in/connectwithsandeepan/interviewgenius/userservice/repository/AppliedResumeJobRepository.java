@@ -0,0 +1,9 @@
+package in.connectwithsandeepan.interviewgenius.userservice.repository;
+
+import in.connectwithsandeepan.interviewgenius.userservice.entity.AppliedResumeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppliedResumeJobRepository extends JpaRepository<AppliedResumeJob, String> {
+}
@@ -63,5 +63,14 @@ public interface UserService {
 
     Resume updateResume(Long userId, Resume resume);
 
+    /**
+     * Save the resume parsed by a background job, once per job
+     * @throws in.connectwithsandeepan.interviewgenius.userservice.exception.ResumeJobAlreadyAppliedException
+     *         if the job's resume has been saved before
+     */
+    Resume applyResumeJob(Long userId, String jobId, Resume resume);
+
+    boolean isResumeJobApplied(String jobId);
+
     Resume getResumeById(Long id);
 }
\ No newline at end of file
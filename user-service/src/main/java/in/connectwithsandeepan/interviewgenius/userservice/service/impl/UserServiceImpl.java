@@ -4,16 +4,20 @@ import in.connectwithsandeepan.interviewgenius.userservice.dto.CreateOAuthUserRe
 import in.connectwithsandeepan.interviewgenius.userservice.dto.UpdateUserRequest;
 import in.connectwithsandeepan.interviewgenius.userservice.dto.UserRequest;
 import in.connectwithsandeepan.interviewgenius.userservice.dto.UserResponse;
+import in.connectwithsandeepan.interviewgenius.userservice.entity.AppliedResumeJob;
 import in.connectwithsandeepan.interviewgenius.userservice.entity.User;
 import in.connectwithsandeepan.interviewgenius.userservice.exception.EmailAlreadyInUseException;
 import in.connectwithsandeepan.interviewgenius.userservice.exception.InvalidPasswordException;
+import in.connectwithsandeepan.interviewgenius.userservice.exception.ResumeJobAlreadyAppliedException;
 import in.connectwithsandeepan.interviewgenius.userservice.exception.UserAlreadyExistsException;
 import in.connectwithsandeepan.interviewgenius.userservice.exception.UserNotFoundException;
 import in.connectwithsandeepan.interviewgenius.userservice.model.Resume;
+import in.connectwithsandeepan.interviewgenius.userservice.repository.AppliedResumeJobRepository;
 import in.connectwithsandeepan.interviewgenius.userservice.repository.UserRepository;
 import in.connectwithsandeepan.interviewgenius.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +35,7 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final AppliedResumeJobRepository appliedResumeJobRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -353,6 +358,26 @@ public class UserServiceImpl implements UserService {
         return resume;
     }
 
+    @Override
+    public Resume applyResumeJob(Long userId, String jobId, Resume resume) {
+        if (appliedResumeJobRepository.existsById(jobId)) {
+            throw new ResumeJobAlreadyAppliedException(jobId);
+        }
+        try {
+            // Flushed now so a concurrent apply of the same job fails on the primary key before the resume is saved
+            appliedResumeJobRepository.saveAndFlush(AppliedResumeJob.builder().jobId(jobId).userId(userId).build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResumeJobAlreadyAppliedException(jobId);
+        }
+        return updateResume(userId, resume);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isResumeJobApplied(String jobId) {
+        return appliedResumeJobRepository.existsById(jobId);
+    }
+
     @Override
     public Resume getResumeById(Long id) {
         return userRepository.findById(id)
@@ -0,0 +1,72 @@
+package in.connectwithsandeepan.interviewgenius.userservice.service.impl;
+
+import in.connectwithsandeepan.interviewgenius.userservice.dto.ErrorResponseDto;
+import in.connectwithsandeepan.interviewgenius.userservice.entity.AppliedResumeJob;
+import in.connectwithsandeepan.interviewgenius.userservice.entity.User;
+import in.connectwithsandeepan.interviewgenius.userservice.exception.GlobalExceptionHandler;
+import in.connectwithsandeepan.interviewgenius.userservice.exception.ResumeJobAlreadyAppliedException;
+import in.connectwithsandeepan.interviewgenius.userservice.model.Resume;
+import in.connectwithsandeepan.interviewgenius.userservice.repository.AppliedResumeJobRepository;
+import in.connectwithsandeepan.interviewgenius.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AppliedResumeJobRepository appliedResumeJobRepository = mock(AppliedResumeJobRepository.class);
+    private final UserServiceImpl userService =
+            new UserServiceImpl(userRepository, appliedResumeJobRepository, mock(PasswordEncoder.class));
+
+    @Test
+    void applyingTheSameJobTwiceIsAConflict() {
+        Set<String> applied = new HashSet<>();
+        when(appliedResumeJobRepository.existsById(anyString()))
+                .thenAnswer(invocation -> applied.contains(invocation.<String>getArgument(0)));
+        when(appliedResumeJobRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            applied.add(invocation.<AppliedResumeJob>getArgument(0).getJobId());
+            return invocation.getArgument(0);
+        });
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).build()));
+
+        userService.applyResumeJob(7L, "job-1", new Resume());
+        ResumeJobAlreadyAppliedException e = assertThrows(ResumeJobAlreadyAppliedException.class,
+                () -> userService.applyResumeJob(7L, "job-1", new Resume()));
+
+        verify(userRepository, times(1)).save(any());
+        ResponseEntity<ErrorResponseDto> response = new GlobalExceptionHandler()
+                .handleResumeJobAlreadyAppliedException(e, new ServletWebRequest(new MockHttpServletRequest()));
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+    }
+
+    @Test
+    void applyLosingTheRaceForTheMarkerLeavesTheResumeAlone() {
+        when(appliedResumeJobRepository.existsById("job-1")).thenReturn(false);
+        when(appliedResumeJobRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'job-1' for key 'PRIMARY'"));
+
+        assertThrows(ResumeJobAlreadyAppliedException.class, () -> userService.applyResumeJob(7L, "job-1", new Resume()));
+
+        verify(userRepository, never()).save(any());
+    }
+}